@@ -19,6 +19,7 @@ package pl.wavesoftware.gasper;
 import com.google.common.base.Charsets;
 import com.google.common.io.CharStreams;
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.rules.TestRule;
@@ -26,20 +27,52 @@ import org.junit.runner.Description;
 import org.junit.runners.model.Statement;
 import pl.wavesoftware.eid.utils.EidPreconditions;
 import pl.wavesoftware.gasper.internal.Executor;
+import pl.wavesoftware.gasper.internal.HttpEndpoint;
 import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Processes;
 import pl.wavesoftware.gasper.internal.Settings;
+import pl.wavesoftware.gasper.internal.WarmUpRunner;
+import pl.wavesoftware.gasper.internal.daemon.DaemonRegistry;
+import pl.wavesoftware.gasper.internal.daemon.SharedServerRegistry;
+import pl.wavesoftware.gasper.internal.jvm.ClassHistogram;
+import pl.wavesoftware.gasper.internal.jvm.JavaHome;
+import pl.wavesoftware.gasper.internal.jvm.JvmTools;
+import pl.wavesoftware.gasper.internal.jvm.SlowTestDumps;
+import pl.wavesoftware.gasper.internal.jvm.ThreadDumps;
+import pl.wavesoftware.gasper.internal.maven.MainClassScanner;
 import pl.wavesoftware.gasper.internal.maven.MavenResolver;
+import pl.wavesoftware.gasper.internal.profiling.HotspotProfiler;
+import pl.wavesoftware.gasper.internal.resources.ActiveInstances;
+import pl.wavesoftware.gasper.internal.resources.BootAdmission;
+import pl.wavesoftware.gasper.internal.resources.CgroupLimits;
+import pl.wavesoftware.gasper.internal.resources.CpuAffinity;
+import pl.wavesoftware.gasper.internal.resources.HostResources;
+import pl.wavesoftware.gasper.internal.resources.JvmSizing;
+import pl.wavesoftware.gasper.internal.startup.StartupReport;
+import pl.wavesoftware.gasper.internal.tls.AlpnProbe;
+import pl.wavesoftware.gasper.internal.tls.TlsStores;
+import pl.wavesoftware.gasper.internal.traffic.RecordingProxy;
 
+import javax.net.ssl.SSLContext;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkState;
 import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
 
 /**
@@ -161,16 +194,56 @@ import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
  */
 @Slf4j
 @RequiredArgsConstructor(access = AccessLevel.PROTECTED)
-public final class Gasper implements TestRule {
+public final class Gasper implements TestRule, AutoCloseable {
 
     public static final int DEFAULT_PORT_AVAILABLE_MAX_SECONDS = 60;
     public static final int DEFAULT_DEPLOYMENT_MAX_SECONDS = 30;
     public static final String DEFAULT_CONTEXT = "/";
+    public static final int DEFAULT_DAEMON_MAX_IDLE_SECONDS = 1800;
+    public static final String DAEMON_PROPERTY = "gasper.daemon";
+    public static final String SHARED_PROPERTY = "gasper.shared";
+    public static final String BOOT_PERMITS_PROPERTY = "gasper.boot.permits";
+    public static final String JAVA_HOMES_PROPERTY = "gasper.java.homes";
+    public static final int DEFAULT_STARTUP_COMPONENTS = 10;
+    public static final int DEFAULT_HTTP_CLIENT_POOL_SIZE = 8;
+    public static final int DEFAULT_HOTSPOT_FRAMES = 10;
+    public static final String DEFAULT_TRAFFIC_FILE = "gasper-traffic.bin";
+    public static final double DEFAULT_THREAD_DUMP_STARTUP_FRACTION = 0.5d;
+    public static final int DEFAULT_SLOW_TEST_SECONDS = 60;
+    public static final int DEFAULT_HISTOGRAM_TYPES = 20;
+    private static final String BOOT_THREAD = "gasper-boot";
     private static final String FIGLET;
 
+    @Getter(AccessLevel.PACKAGE)
     private final Settings settings;
     private Path artifact;
+    private List<Path> dependencies;
+    private String mainClass;
     private Executor executor;
+    private DaemonRegistry daemon;
+    private SharedServerRegistry shared;
+    private ActiveInstances instances;
+    private BootAdmission admission;
+    private StartupReport startupReport;
+    private List<String> sizingOptions;
+    private CgroupLimits limits;
+    private List<String> limitOptions = Collections.emptyList();
+    private CpuAffinity affinity;
+    private TlsStores tlsStores;
+    private GasperMatrix.Measurement measurement;
+    private GasperClient client;
+    private WarmUp.Result warmUpResult;
+    private HotspotProfiler profiler;
+    private SlowTestDumps slowTestDumps;
+    private Path trafficFile;
+    private RecordingProxy proxy;
+    private GasperTelemetry telemetry;
+    private GasperTelemetry.Snapshot telemetryBaseline;
+    private ClassHistogram histogramBaseline;
+    private Path buildDirectory;
+    private volatile CompletableFuture<String> boot;
+    private String testName;
+    private final List<TestRule> methodRules = new ArrayList<>();
     private Logger logger;
 
     static {
@@ -200,29 +273,190 @@ public final class Gasper implements TestRule {
     }
 
     /**
-     * Use this method to get port on which Gasper runs your test application.
+     * Use this method to get port on which Gasper runs your test application. Fails fast if your
+     * test application died while testing.
      * @return a usually random port on which Gasper runs your application
      */
     public Integer getPort() {
-        return settings.getPort();
+        ensureAlive();
+        return endpoint().getPort();
     }
 
     /**
      * Use this method to get full address to your test application that Gasper runs. It usually
-     * contains a random port.
+     * contains a random port. Fails fast if your test application died while testing.
      * @return a full address to running application
      */
     public String getAddress() {
-        return settings.getEndpoint().fullAddress();
+        ensureAlive();
+        return endpoint().fullAddress();
+    }
+
+    /**
+     * Use this method to get a HTTP client bound to your test application. It holds a pool of
+     * keep-alive connections that are already opened when tests start, and it's closed together
+     * with your test application.
+     * @return a HTTP client for your running application
+     */
+    public GasperClient client() {
+        ensureAlive();
+        checkState(client != null, "20261019:140844", "Gasper client is available only while tests are running");
+        return client;
+    }
+
+    /**
+     * Use this method to get SSL context, that trusts certificate generated for your test application
+     * with {@link GasperBuilder#withTls()}. Use it to configure other clients, like HTTP/2 capable ones.
+     * @return a SSL context trusting your running application
+     */
+    public SSLContext sslContext() {
+        awaitStart();
+        checkState(settings.getSslContext() != null, "20261019:235849",
+            "TLS is not enabled, enable it with GasperBuilder#withTls()");
+        return settings.getSslContext();
+    }
+
+    /**
+     * Use this method to get a telemetry of JVM running your test application, configured with
+     * {@link GasperBuilder#withTelemetry()}
+     * @return a telemetry of running application
+     */
+    public GasperTelemetry telemetry() {
+        ensureAlive();
+        checkState(telemetry != null, "20261019:231533",
+            "Telemetry is not available, enable it with GasperBuilder#withTelemetry()");
+        return telemetry;
+    }
+
+    /**
+     * Use this method to get a result of warm-up stage, configured with {@link GasperBuilder#withWarmUp(WarmUp)}
+     * @return a result of warm-up, or null if warm-up wasn't configured
+     */
+    public WarmUp.Result getWarmUpResult() {
+        awaitStart();
+        return warmUpResult;
+    }
+
+    /**
+     * Use this method to get a JUnit rule for test methods, that is required by features working on
+     * test method level, like {@link GasperBuilder#withHotspotProfiling()}.
+     * <pre>
+     * &#064;Rule
+     * public TestRule methodRule = gasper.methodRule();
+     * </pre>
+     * @return a rule for test methods
+     */
+    public TestRule methodRule() {
+        return (base, description) -> {
+            Statement statement = base;
+            for (TestRule rule : methodRules) {
+                statement = rule.apply(statement, description);
+            }
+            return statement;
+        };
     }
 
     @Override
     public Statement apply(Statement base, Description description) {
-        return tryToExecute((EidPreconditions.UnsafeSupplier<Statement>) () -> {
-            setup();
-            before();
-            return new GasperStatement(base, this::after);
-        }, "20160305:004035");
+        testName = description.getDisplayName();
+        if (settings.isBackgroundStart()) {
+            startAsync();
+            return new GasperStatement(new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    base.evaluate();
+                    // fail test class, even if tests haven't used application
+                    awaitStart();
+                }
+            }, this::close);
+        }
+        start();
+        return new GasperStatement(base, this::close);
+    }
+
+    /**
+     * Starts your test application in background, so you can prepare other resources while it boots.
+     * Methods like {@link #getAddress()}, {@link #getPort()} and {@link #client()} block until it
+     * becomes ready. Use {@link #close()} to stop it.
+     * <pre>
+     * try (Gasper gasper = Gasper.configurations().springBoot().build()) {
+     *   CompletableFuture&lt;String&gt; started = gasper.startAsync();
+     *   [..] // prepare test data
+     *   String address = started.join();
+     * }
+     * </pre>
+     * <p>
+     * Future completes with the same full address, that {@link #start()} returns, instead of an endpoint,
+     * as endpoint is an internal type of Gasper. Use {@link #getPort()} or {@link #client()} for details.
+     * @return a future full address of running application, completed exceptionally if it fails to start
+     */
+    public CompletableFuture<String> startAsync() {
+        checkState(boot == null && executor == null, "20261019:235514", "Test application is already started");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        boot = future;
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(launch());
+            } catch (RuntimeException | Error ex) {
+                future.completeExceptionally(ex);
+            }
+        }, BOOT_THREAD);
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /**
+     * Starts your test application programmatically, outside of JUnit, for ex.: in JMH benchmarks. It
+     * blocks until application becomes ready. Use {@link #close()} to stop it.
+     * <pre>
+     * try (Gasper gasper = Gasper.configurations().springBoot().build()) {
+     *   String address = gasper.start();
+     *   [..]
+     * }
+     * </pre>
+     * Use {@link #getPort()} for a port of running application.
+     * @return a full address of running application
+     */
+    public String start() {
+        checkState(boot == null && executor == null, "20261019:032014",
+            "Test application is already started, close it first");
+        return launch();
+    }
+
+    private String launch() {
+        try {
+            return tryToExecute((EidPreconditions.UnsafeSupplier<String>) () -> {
+                setup();
+                before();
+                startRecording();
+                startTelemetry();
+                takeHistogram();
+                startMeasurement();
+                return endpoint().fullAddress();
+            }, "20160305:004035");
+        } catch (RuntimeException ex) {
+            stop();
+            throw ex;
+        }
+    }
+
+    /**
+     * Stops your test application started with {@link #start()} or {@link #startAsync()}. If it's still
+     * starting in background, it waits for it first.
+     */
+    @Override
+    public void close() {
+        CompletableFuture<String> starting = boot;
+        if (starting != null) {
+            try {
+                starting.join();
+            } catch (CompletionException ex) {
+                log.trace("Test application failed to start, already stopped", ex);
+            }
+            boot = null;
+        }
+        stop();
     }
 
     protected interface RunnerCreator {
@@ -234,21 +468,402 @@ public final class Gasper implements TestRule {
     private void setup() {
         log(FIGLET);
         MavenResolver resolver = new MavenResolver(settings.getPomfile());
-        artifact = resolver.getBuildArtifact(settings.getPackaging(), settings.getClassifier());
+        artifact = resolveArtifact(resolver);
         File workingDirectory = resolver.getBuildDirectory();
+        buildDirectory = workingDirectory.toPath();
+        setupTls();
+        setupProfiler(workingDirectory);
+        setupAffinity();
+        setupLimits();
+        setupSizing();
+        if (settings.getBootPermits() > 0) {
+            admission = new BootAdmission(settings, workingDirectory);
+        }
+        if (settings.getStartupBreakdownComponents() > 0) {
+            startupReport = new StartupReport(settings, workingDirectory, artifact);
+        }
+        if (settings.getTrafficRecording() != null) {
+            trafficFile = workingDirectory.toPath().resolve(settings.getTrafficRecording());
+        }
         List<String> command = buildCommand();
         log("Command to be executed: \"%s\"", command.stream().collect(Collectors.joining(" ")));
         executor = new Executor(command, workingDirectory, settings);
+        executor.setLimits(limits);
+        setupThreadDumps(workingDirectory);
+        if (settings.isDaemon()) {
+            daemon = new DaemonRegistry(settings, artifact, workingDirectory);
+        } else if (settings.isShared()) {
+            shared = new SharedServerRegistry(settings, workingDirectory);
+        }
+    }
+
+    private void setupTls() {
+        tlsStores = null;
+        if (!settings.isTls()) {
+            return;
+        }
+        tlsStores = TlsStores.ensure(buildDirectory, settings.getJavaHome());
+        settings.bindTls(tlsStores.getSslContext());
+        log("Serving TLS with keystore %s", tlsStores.getKeystore());
+    }
+
+    private void setupProfiler(File buildDirectory) {
+        methodRules.clear();
+        profiler = null;
+        if (settings.getHotspotProfilingFrames() <= 0) {
+            return;
+        }
+        if (!settings.getLaunchMode().isJvm() || settings.isDaemon() || settings.isShared()) {
+            warn("Hotspot profiling is not supported for native executables, in daemon and shared mode, skipping");
+            return;
+        }
+        profiler = new HotspotProfiler(settings, buildDirectory);
+        methodRules.add(profiler);
+    }
+
+    private void setupThreadDumps(File buildDirectory) {
+        slowTestDumps = null;
+        if (!settings.isThreadDumps()) {
+            return;
+        }
+        if (!settings.getLaunchMode().isJvm()) {
+            warn("Thread dumps are not supported for native executables, skipping");
+            return;
+        }
+        ThreadDumps dumps = new ThreadDumps(settings, buildDirectory, this::applicationPid);
+        executor.setThreadDumps(dumps);
+        if (settings.getSlowTestThreshold() > 0) {
+            slowTestDumps = new SlowTestDumps(dumps, settings.getSlowTestThreshold());
+            methodRules.add(slowTestDumps);
+        }
+    }
+
+    private void setupAffinity() {
+        affinity = null;
+        if (settings.getPinnedCpus().isEmpty()) {
+            return;
+        }
+        if (!CpuAffinity.isSupported()) {
+            warn("CPU pinning requires taskset command, available on Linux only, skipping");
+            return;
+        }
+        affinity = CpuAffinity.plan(settings.getPinnedCpus());
+        if (!affinity.confineTests()) {
+            warn("Tests can't be confined to other cpus than application, available cpus: %s, "
+                + "other Gasper instance may have confined this JVM already", affinity.getAvailable());
+        }
+        log("Pinning %s", affinity);
+    }
+
+    private void setupLimits() {
+        limits = null;
+        limitOptions = Collections.emptyList();
+        if (settings.getCpuLimit() <= 0d && settings.getMemoryLimit() <= 0L) {
+            return;
+        }
+        if (settings.isDaemon() || settings.isShared()) {
+            limitWithJvmOptions("cgroup would outlive this JVM together with application");
+            return;
+        }
+        try {
+            CgroupLimits prepared = CgroupLimits.prepare(settings.getCpuLimit(), settings.getMemoryLimit());
+            // cgroup is created again, when application starts, but failures are known now, while command is built
+            prepared.verify();
+            limits = prepared;
+            log("Limiting application to %s", limits);
+        } catch (RuntimeException ex) {
+            log.debug("Can't create cgroup for application", ex);
+            limitWithJvmOptions(ex.getLocalizedMessage());
+        }
+    }
+
+    private void limitWithJvmOptions(String reason) {
+        if (!settings.getLaunchMode().isJvm()) {
+            warn("Can't apply resource limits, application runs unconstrained: %s", reason);
+            return;
+        }
+        List<String> options = new ArrayList<>();
+        if (settings.getCpuLimit() > 0d) {
+            options.add(format("-XX:ActiveProcessorCount=%d", (int) Math.ceil(settings.getCpuLimit())));
+        }
+        if (settings.getMemoryLimit() > 0L) {
+            options.add(format("-XX:MaxRAM=%d", settings.getMemoryLimit()));
+        }
+        limitOptions = options;
+        warn("Can't apply resource limits, using %s without throttling instead: %s", options, reason);
+    }
+
+    private void setupSizing() {
+        sizingOptions = null;
+        if (!settings.isResourceAwareSizing() || !settings.getLaunchMode().isJvm()) {
+            return;
+        }
+        instances = ActiveInstances.reserve();
+        int count = settings.getExpectedInstances() > 0 ? settings.getExpectedInstances() : instances.count();
+        HostResources resources = HostResources.detect();
+        if (affinity != null) {
+            resources = new HostResources(
+                Math.min(resources.getCpus(), affinity.getServer().size()), resources.getMemory());
+        }
+        if (settings.getCpuLimit() > 0d || settings.getMemoryLimit() > 0L) {
+            resources = new HostResources(
+                settings.getCpuLimit() > 0d
+                    ? Math.min(resources.getCpus(), (int) Math.ceil(settings.getCpuLimit())) : resources.getCpus(),
+                settings.getMemoryLimit() > 0L
+                    ? Math.min(resources.getMemory(), settings.getMemoryLimit()) : resources.getMemory());
+        }
+        sizingOptions = JvmSizing.options(resources, count);
+        log("Sizing for 1 of %d instances on host with %s: %s", count, resources, sizingOptions);
     }
 
     private void before() throws IOException {
-        executor.start();
+        if (daemon != null && daemon.attach()) {
+            executor.attach(daemon.getPid(), daemon.getStartTime());
+            startClient();
+            log("Reusing running daemon, running tests...");
+            return;
+        }
+        if (shared != null && shared.acquire()) {
+            executor.attach(shared.getServerPid(), shared.getServerStartTime());
+            startClient();
+            log("Reusing server shared with other forks, running tests...");
+            return;
+        }
+        boot();
+        long booted = System.currentTimeMillis();
+        if (startupReport != null) {
+            startupReport.write(executor.getLogFile(), executor.getStartTime(), booted);
+        }
+        if (measurement != null) {
+            measurement.setStartupMillis(booted - executor.getStartTime());
+        }
+        verifyHttp2();
+        if (daemon != null) {
+            daemon.register(executor.getPid());
+        }
+        if (shared != null) {
+            shared.register(executor.getPid());
+        }
+        startClient();
+        warmUp();
         log("All looks ready, running tests...");
     }
 
+    private void boot() throws IOException {
+        if (admission == null) {
+            executor.start();
+            return;
+        }
+        admission.acquire();
+        boolean succeeded = false;
+        try {
+            executor.start();
+            succeeded = true;
+        } finally {
+            admission.release(succeeded);
+        }
+    }
+
+    private void verifyHttp2() {
+        if (!settings.isHttp2()) {
+            return;
+        }
+        HttpEndpoint endpoint = settings.getEndpoint();
+        String protocol = AlpnProbe.negotiate(endpoint, Arrays.asList(AlpnProbe.HTTP_2, AlpnProbe.HTTP_1_1));
+        if (protocol == null) {
+            warn("Can't verify HTTP/2 support, Java %s running tests doesn't support ALPN",
+                System.getProperty("java.version"));
+            return;
+        }
+        checkState(AlpnProbe.HTTP_2.equals(protocol), "20261019:235828",
+            "Application at %s negotiated %s instead of HTTP/2 (h2), check if it enables HTTP/2",
+            endpoint.fullAddress(), protocol.isEmpty() ? "no protocol" : protocol);
+        log("Application negotiates HTTP/2 (h2) with ALPN");
+    }
+
+    private void startClient() {
+        client = new GasperClient(settings.getEndpoint(), settings.getHttpClientPoolSize());
+        client.warmUp();
+        log("Opened %d HTTP connections to %s", settings.getHttpClientPoolSize(), settings.getEndpoint().fullAddress());
+    }
+
+    private void startRecording() {
+        if (trafficFile == null) {
+            return;
+        }
+        proxy = new RecordingProxy(settings.getEndpoint(), trafficFile, settings.getHttpClientPoolSize(), tlsStores);
+        closeClient();
+        client = new GasperClient(proxy.getEndpoint(), settings.getHttpClientPoolSize());
+        log("Recording traffic through %s into %s", proxy.getEndpoint().fullAddress(), trafficFile);
+    }
+
+    private void startTelemetry() {
+        if (!settings.isTelemetry()) {
+            return;
+        }
+        if (!settings.getLaunchMode().isJvm() || !executor.isStarted()) {
+            warn("Telemetry is available only for JVM application started by this Gasper, skipping");
+            return;
+        }
+        if (!JvmTools.isAvailable(executor.getPid())) {
+            warn("Telemetry requires jcmd tool of JDK running application, skipping");
+            return;
+        }
+        telemetry = new GasperTelemetry(executor.getPid());
+        telemetryBaseline = telemetry.snapshot();
+        log("Connected to JVM of application: %s", telemetryBaseline);
+    }
+
+    private void takeHistogram() {
+        histogramBaseline = null;
+        if (settings.getHeapHistogramTypes() <= 0) {
+            return;
+        }
+        if (applicationPid() == Processes.UNKNOWN_PID || !JvmTools.isAvailable(applicationPid())) {
+            warn("Heap histogram requires JVM application started by this Gasper and jcmd tool of JDK, skipping");
+            return;
+        }
+        histogramBaseline = ClassHistogram.take(applicationPid());
+        log("Heap histogram taken: %d bytes retained in %d instances",
+            histogramBaseline.getBytes(), histogramBaseline.getInstances());
+    }
+
+    private ClassHistogram.Diff diffHistogram() {
+        if (histogramBaseline == null || applicationPid() == Processes.UNKNOWN_PID) {
+            return null;
+        }
+        ClassHistogram.Diff diff;
+        try {
+            diff = ClassHistogram.take(applicationPid()).since(histogramBaseline);
+        } catch (RuntimeException ex) {
+            log.debug("Can't take heap histogram", ex);
+            warn("Can't take heap histogram of application: %s", ex.getLocalizedMessage());
+            return null;
+        } finally {
+            histogramBaseline = null;
+        }
+        String name = testName();
+        Path report = buildDirectory.resolve(
+            format("gasper-histogram-%s.txt", name.replaceAll("[^A-Za-z0-9._-]+", "-")));
+        String rendered = diff.render(settings.getHeapHistogramTypes());
+        tryToExecute((EidPreconditions.UnsafeSupplier<Path>) () ->
+            Files.write(report, rendered.getBytes(StandardCharsets.UTF_8)), "20261019:234802");
+        log("Objects retained by %s (written to %s):%n%s", name, report, rendered);
+        return diff;
+    }
+
+    /**
+     * Runs test application on given Java installation, measuring it, until called with nulls
+     * @param javaHome a Java installation, or null for configured one
+     * @param measurement a measurement to fill in, or null
+     */
+    void useJavaHome(JavaHome javaHome, GasperMatrix.Measurement measurement) {
+        settings.bindJavaHome(javaHome == null ? null : javaHome.getPath());
+        this.measurement = measurement;
+    }
+
+    private void startMeasurement() {
+        if (measurement == null) {
+            return;
+        }
+        client.recordLatencies(measurement.getLatencies());
+    }
+
+    private void finishMeasurement() {
+        if (measurement == null || applicationPid() == Processes.UNKNOWN_PID) {
+            return;
+        }
+        measurement.setResidentMemory(Processes.residentMemory(applicationPid()));
+        measurement.setPeakResidentMemory(Processes.peakResidentMemory(applicationPid()));
+    }
+
+    private String testName() {
+        return testName == null ? artifact.getFileName().toString() : testName;
+    }
+
+    private HttpEndpoint endpoint() {
+        return proxy == null ? settings.getEndpoint() : proxy.getEndpoint();
+    }
+
+    private void warmUp() {
+        if (settings.getWarmUp() != null) {
+            log("Warming up...");
+            warmUpResult = new WarmUpRunner(settings.getWarmUp(), client).run();
+            log("Warm-up %s", warmUpResult);
+        }
+    }
+
     private void after() {
         log("Testing on server completed.");
-        executor.stop();
+        closeClient();
+        closeProxy();
+        closeTelemetry();
+        if (slowTestDumps != null) {
+            slowTestDumps.close();
+            slowTestDumps = null;
+        }
+        ClassHistogram.Diff retained = diffHistogram();
+        finishMeasurement();
+        if (instances != null) {
+            instances.release();
+            instances = null;
+        }
+        if (affinity != null) {
+            affinity.restoreTests();
+        }
+        if (daemon != null) {
+            executor.detach();
+            daemon.release();
+        } else if (shared != null) {
+            executor.detach();
+            if (shared.release()) {
+                executor.stop();
+            }
+        } else {
+            executor.stop();
+            if (profiler != null) {
+                profiler.report();
+            }
+        }
+        // checked only once application is stopped and everything is cleaned up
+        if (retained != null && settings.getMaxRetainedGrowth() > 0L) {
+            checkState(retained.getBytes() <= settings.getMaxRetainedGrowth(), "20261019:234837",
+                "Application retained %d bytes during tests of %s, more than allowed %d bytes",
+                retained.getBytes(), testName(), settings.getMaxRetainedGrowth());
+        }
+    }
+
+    private void closeClient() {
+        if (client != null) {
+            tryToExecute((EidPreconditions.UnsafeSupplier<GasperClient>) () -> {
+                client.close();
+                return client;
+            }, "20261019:141002");
+            client = null;
+        }
+    }
+
+    private void closeTelemetry() {
+        if (telemetry == null) {
+            return;
+        }
+        try {
+            log("JVM usage of application across tests: %s", telemetry.snapshot().since(telemetryBaseline));
+            telemetry.close();
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Can't read telemetry of application", ex);
+        }
+        telemetry = null;
+    }
+
+    private void closeProxy() {
+        if (proxy != null) {
+            tryToExecute((EidPreconditions.UnsafeSupplier<RecordingProxy>) () -> {
+                proxy.close();
+                return proxy;
+            }, "20261019:214630");
+            proxy = null;
+        }
     }
 
     @RequiredArgsConstructor
@@ -260,9 +875,16 @@ public final class Gasper implements TestRule {
         public void evaluate() throws Throwable {
             try {
                 base.evaluate();
-            } finally {
-                procedure.execute();
+            } catch (Throwable failure) {
+                // don't let a failing clean up, like a retained growth check, hide the test failure
+                try {
+                    procedure.execute();
+                } catch (RuntimeException ex) {
+                    failure.addSuppressed(ex);
+                }
+                throw failure;
             }
+            procedure.execute();
         }
     }
 
@@ -271,18 +893,149 @@ public final class Gasper implements TestRule {
         void execute();
     }
 
+    long getServerPid() {
+        long pid = applicationPid();
+        checkState(pid != Processes.UNKNOWN_PID, "20261019:224315",
+            "Test application wasn't started by this Gasper, it can't be attached in daemon and shared mode");
+        return pid;
+    }
+
+    private void awaitStart() {
+        CompletableFuture<String> starting = boot;
+        if (starting == null) {
+            return;
+        }
+        try {
+            starting.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private void stop() {
+        if (executor != null) {
+            try {
+                after();
+            } finally {
+                executor = null;
+            }
+        }
+    }
+
+    private long applicationPid() {
+        return executor != null && executor.isStarted() ? executor.getPid() : Processes.UNKNOWN_PID;
+    }
+
+    void ensureAlive() {
+        awaitStart();
+        if (executor != null) {
+            executor.checkAlive();
+        }
+    }
+
+    private Path resolveArtifact(MavenResolver resolver) {
+        switch (settings.getLaunchMode()) {
+            case NATIVE:
+                return resolver.getNativeExecutable(settings.getExecutable());
+            case CLASSPATH:
+                dependencies = resolver.getDependencyClasspath(settings);
+                mainClass = resolveMainClass(resolver);
+                return resolver.getClassesDirectory();
+            default:
+                if (!settings.getArtifactVersion().isEmpty()) {
+                    return resolver.getRepositoryArtifact(
+                        settings.getArtifactVersion(), settings.getPackaging(), settings.getClassifier());
+                }
+                return resolver.getBuildArtifact(settings.getPackaging(), settings.getClassifier());
+        }
+    }
+
+    private String resolveMainClass(MavenResolver resolver) {
+        String main = settings.getMainClass();
+        if (main.isEmpty()) {
+            main = resolver.getMainClass();
+        }
+        if (main.isEmpty()) {
+            main = new MainClassScanner(resolver.getClassesDirectory(), dependencies).scan();
+            log("Detected main class: %s", main);
+        }
+        return main;
+    }
+
     private List<String> buildCommand() {
         List<String> command = new ArrayList<>();
-        command.add("java");
-        buildJavaOptions(command);
-        command.add("-jar");
-        command.add(artifact.toAbsolutePath().toString());
+        if (limits != null) {
+            command.addAll(limits.getCommand());
+        }
+        if (affinity != null) {
+            command.addAll(affinity.getServerCommand());
+        }
+        switch (settings.getLaunchMode()) {
+            case NATIVE:
+                command.add(artifact.toAbsolutePath().toString());
+                buildNativeOptions(command);
+                break;
+            case CLASSPATH:
+                command.add(javaExecutable());
+                buildJavaOptions(command);
+                command.add("-cp");
+                command.add(buildClasspath());
+                command.add(mainClass);
+                break;
+            default:
+                command.add(javaExecutable());
+                buildJavaOptions(command);
+                command.add("-jar");
+                command.add(artifact.toAbsolutePath().toString());
+                break;
+        }
         return command;
     }
 
+    private String javaExecutable() {
+        Path javaHome = settings.getJavaHome();
+        if (javaHome == null) {
+            return "java";
+        }
+        JavaHome java = JavaHome.of(javaHome);
+        log("Running on Java %s from %s", java, java.getPath());
+        return java.getExecutable().toString();
+    }
+
+    private String buildClasspath() {
+        List<String> classpath = new ArrayList<>();
+        classpath.add(artifact.toAbsolutePath().toString());
+        dependencies.forEach(dependency -> classpath.add(dependency.toAbsolutePath().toString()));
+        return String.join(File.pathSeparator, classpath);
+    }
+
     private void buildJavaOptions(List<String> command) {
-        command.addAll(settings.getJvmOptions());
-        command.addAll(settings.getSystemProperties().entrySet().stream()
+        List<String> computed = JvmSizing.merge(
+            sizingOptions == null ? Collections.emptyList() : sizingOptions, limitOptions);
+        command.addAll(JvmSizing.merge(computed, settings.getJvmOptions()));
+        if (profiler != null) {
+            command.addAll(profiler.getJvmOptions());
+        }
+        buildSystemProperties(command);
+    }
+
+    private void buildNativeOptions(List<String> command) {
+        if (!settings.getJvmOptions().isEmpty()) {
+            warn("JVM options are ignored for native executable: %s", settings.getJvmOptions());
+        }
+        buildSystemProperties(command);
+    }
+
+    private void buildSystemProperties(List<String> command) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        if (tlsStores != null) {
+            properties.putAll(settings.getTlsPreset().getProperties(tlsStores, settings.isHttp2()));
+        }
+        properties.putAll(settings.getSystemProperties());
+        command.addAll(properties.entrySet().stream()
             .map(entry -> format("-D%s=%s", entry.getKey(), entry.getValue()))
             .collect(Collectors.toList())
         );
@@ -293,6 +1046,11 @@ public final class Gasper implements TestRule {
         logger.info(format(frmt, args));
     }
 
+    private void warn(String frmt, Object... args) {
+        ensureLogger();
+        logger.warn(format(frmt, args));
+    }
+
     private void ensureLogger() {
         if (logger == null) {
             logger = new Logger(log, settings);
@@ -20,18 +20,26 @@ import org.slf4j.event.Level;
 import pl.wavesoftware.eid.utils.EidPreconditions;
 import pl.wavesoftware.gasper.internal.Executor;
 import pl.wavesoftware.gasper.internal.HttpEndpoint;
+import pl.wavesoftware.gasper.internal.resources.CpuAffinity;
+import pl.wavesoftware.gasper.internal.LaunchMode;
 import pl.wavesoftware.gasper.internal.Settings;
+import pl.wavesoftware.gasper.internal.jvm.JavaHome;
 import pl.wavesoftware.gasper.internal.maven.MavenResolver;
+import pl.wavesoftware.gasper.internal.tls.TlsPreset;
 
+import java.io.File;
 import java.net.ServerSocket;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
 
@@ -71,8 +79,11 @@ import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
  */
 public final class GasperBuilder implements Gasper.RunnerCreator {
 
+    private LaunchMode launchMode = LaunchMode.JAR;
     private String packaging = MavenResolver.DEFAULT_PACKAGING;
     private String classifier = MavenResolver.DEFAULT_CLASSIFIER;
+    private String executable = MavenResolver.DEFAULT_EXECUTABLE;
+    private String mainClass = MavenResolver.DEFAULT_MAIN_CLASS;
     private Map<String, String> systemProperties = new LinkedHashMap<>();
     private List<String> jvmOptions = new ArrayList<>();
     private Map<String, String> environment = new LinkedHashMap<>();
@@ -85,6 +96,32 @@ public final class GasperBuilder implements Gasper.RunnerCreator {
     private Function<HttpEndpoint, Boolean> contextChecker = Executor.DEFAULT_CONTEXT_CHECKER;
     private Path pomfile = Paths.get(MavenResolver.DEFAULT_POM);
     private Level level = Level.INFO;
+    private boolean daemon = Boolean.getBoolean(Gasper.DAEMON_PROPERTY);
+    private int daemonMaxIdleTime = Gasper.DEFAULT_DAEMON_MAX_IDLE_SECONDS;
+    private int httpClientPoolSize = Gasper.DEFAULT_HTTP_CLIENT_POOL_SIZE;
+    private WarmUp warmUp;
+    private int hotspotProfilingFrames;
+    private Pattern portLogPattern;
+    private boolean shared = Boolean.getBoolean(Gasper.SHARED_PROPERTY);
+    private boolean resourceAwareSizing;
+    private int expectedInstances;
+    private int bootPermits = Integer.getInteger(Gasper.BOOT_PERMITS_PROPERTY, 0);
+    private int startupBreakdownComponents;
+    private String artifactVersion = "";
+    private Path trafficRecording;
+    private String pinnedCpus = "";
+    private boolean telemetry;
+    private boolean threadDumps;
+    private double threadDumpStartupFraction;
+    private int slowTestThreshold;
+    private int heapHistogramTypes;
+    private long maxRetainedGrowth;
+    private boolean backgroundStart;
+    private boolean tls;
+    private boolean http2;
+    private List<Path> javaHomes = javaHomesFromProperty();
+    private double cpuLimit;
+    private long memoryLimit;
 
     protected GasperBuilder() {}
 
@@ -112,6 +149,60 @@ public final class GasperBuilder implements Gasper.RunnerCreator {
         return this;
     }
 
+    /**
+     * Runs your test application as a native executable (for ex.: GraalVM native image) instead of
+     * <code>java -jar</code>. The executable is looked up in Maven build directory and by default it's named
+     * after <code>artifactId</code> from your <code>pom.xml</code> file, like <code>target/my-service</code>.
+     * <p>
+     * System properties are still passed as <code>-Dkey=value</code> arguments, while JVM options are ignored.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder usingNativeExecutable() {
+        return usingNativeExecutable(MavenResolver.DEFAULT_EXECUTABLE);
+    }
+
+    /**
+     * Runs your test application as a native executable with given name, located in Maven build
+     * directory. See {@link #usingNativeExecutable()} for details.
+     *
+     * @param executable a name of native executable file in Maven build directory
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder usingNativeExecutable(String executable) {
+        this.launchMode = LaunchMode.NATIVE;
+        this.executable = executable;
+        return this;
+    }
+
+    /**
+     * Runs your test application directly from Maven classes directory (<code>target/classes</code>),
+     * so it doesn't need to be packaged before testing. Runtime dependencies are resolved offline
+     * from local Maven repository and cached in <code>target/gasper.classpath</code> file.
+     * <p>
+     * Main class is read from <code>start-class</code> or <code>mainClass</code> properties or plugin
+     * configuration in your <code>pom.xml</code> file. If not found it's detected by scanning classes
+     * directory. Use {@link #usingMainClass(String)} to set it explicitly.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder usingClassesDirectory() {
+        this.launchMode = LaunchMode.CLASSPATH;
+        return this;
+    }
+
+    /**
+     * Runs your test application directly from Maven classes directory with given main class. See
+     * {@link #usingClassesDirectory()} for details.
+     *
+     * @param mainClass a fully qualified name of main class of your test application
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder usingMainClass(String mainClass) {
+        this.mainClass = mainClass;
+        return usingClassesDirectory();
+    }
+
     /**
      * Sets a environment variable to be set for your test application
      *
@@ -161,6 +252,34 @@ public final class GasperBuilder implements Gasper.RunnerCreator {
         return this;
     }
 
+    /**
+     * Starts your test application on port <code>0</code>, so it binds to any free port by itself. Port
+     * actually bound by your application is discovered from it's listening sockets (on Linux) or
+     * from it's log. This removes a race of automatic port lookup, in which other process can take
+     * a port between it was found free and your application binds to it.
+     * <p>
+     * Port is passed with system property set by {@link #usingSystemPropertyForPort(String)}. Log
+     * messages of Spring Boot and WildFly Swarm are recognized. Use {@link #withPortLogPattern(String)}
+     * for other applications.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder usingEphemeralPort() {
+        return withPort(0);
+    }
+
+    /**
+     * Sets a regular expression, which matches a log message of your test application that contains a
+     * port it listens on, as first group. It's used with {@link #usingEphemeralPort()}.
+     *
+     * @param regex a regular expression with port as first group
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withPortLogPattern(String regex) {
+        this.portLogPattern = Pattern.compile(regex);
+        return this;
+    }
+
     /**
      * Configures what system property use to set port in your test application. For WildFly Swarm
      * and Sprint Boot this is already configured in {@link GasperConfigurations} methods
@@ -176,6 +295,19 @@ public final class GasperBuilder implements Gasper.RunnerCreator {
         return this;
     }
 
+    /**
+     * Runs given version of your test application, resolved from local Maven repository, instead of
+     * one packaged in Maven build directory. It's useful to compare your application with a released
+     * version, see {@link GasperComparison}.
+     *
+     * @param version a version of artifact in local Maven repository
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder usingArtifactVersion(String version) {
+        this.artifactVersion = version;
+        return this;
+    }
+
     /**
      * Change the <code>pom.xml</code> to be used. Gasper will read your project settings from it,
      * like <code>artifactId</code>, <code>packaging</code>, <code>classifier</code>, <code>version</code>
@@ -191,6 +323,7 @@ public final class GasperBuilder implements Gasper.RunnerCreator {
 
     /**
      * Configures your test application to logs it's messages on console instead of log file.
+     * Daemon and shared applications always log to file, as they outlive console of JVM starting them.
      *
      * @return fluent interface returning self for chaining
      */
@@ -203,7 +336,9 @@ public final class GasperBuilder implements Gasper.RunnerCreator {
      * of log file or not.
      *
      * @param inheritIO if true, the test application will logs it's messages on console,
-     *                  if not messages will be forwarder to <code>[system-temp]/gasper.log</code>
+     *                  if not messages will be forwarder to <code>gasper-&lt;pid&gt;-&lt;n&gt;.log</code> in
+     *                  Maven build directory. Ignored in daemon and shared mode, as application outlives
+     *                  console of JVM starting it
      * @return fluent interface returning self for chaining
      */
     public GasperBuilder withTestApplicationLoggingOnConsole(boolean inheritIO) {
@@ -281,27 +416,493 @@ public final class GasperBuilder implements Gasper.RunnerCreator {
         return this;
     }
 
+    /**
+     * Sets a number of keep-alive connections held by {@link Gasper#client()}. All of them are opened
+     * while waiting for your test application to become ready.
+     *
+     * @param poolSize a number of pooled HTTP connections
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withHttpClientPoolSize(int poolSize) {
+        this.httpClientPoolSize = poolSize;
+        return this;
+    }
+
+    /**
+     * Configures a warm-up stage, executed after your test application becomes ready and before tests
+     * start. Requests are replayed until latency stabilizes, so measurements in tests reflect a steady,
+     * JIT compiled, state of your application. See {@link WarmUp} for details.
+     *
+     * @param warmUp a warm-up to execute
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withWarmUp(WarmUp warmUp) {
+        this.warmUp = warmUp;
+        return this;
+    }
+
+    /**
+     * Profiles CPU usage of your test application with Java Flight Recorder, and reports
+     * {@link Gasper#DEFAULT_HOTSPOT_FRAMES} hottest methods for each of test methods. To profile test
+     * methods, register {@link Gasper#methodRule()} as a JUnit <code>&#064;Rule</code>.
+     * See {@link #withHotspotProfiling(int)} for details.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withHotspotProfiling() {
+        return withHotspotProfiling(Gasper.DEFAULT_HOTSPOT_FRAMES);
+    }
+
+    /**
+     * Profiles CPU usage of your test application with Java Flight Recorder. Samples taken while
+     * a test method was running are attributed to that method, and counted for the first frame of
+     * application code. A report of hottest methods is logged and written to
+     * <code>gasper-hotspots.txt</code> in Maven build directory, after your test application stops.
+     * <p>
+     * Test application needs to run on JVM that supports flight recording, and tests needs to run
+     * on JDK 11 or newer, to read the recording. Profiling is not supported for native executables
+     * and in daemon mode.
+     *
+     * @param topFrames a number of hottest methods reported for each test method
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withHotspotProfiling(int topFrames) {
+        this.hotspotProfilingFrames = topFrames;
+        return this;
+    }
+
+    /**
+     * Keeps your test application running as a daemon between test executions, which is useful
+     * for local development. First execution leaves the application running and registers it in
+     * a state file in Maven build directory. Following executions with the same artifact and
+     * settings attach to it, instead of starting it again. Daemon is restarted if artifact changes,
+     * and stops itself after {@link Gasper#DEFAULT_DAEMON_MAX_IDLE_SECONDS} seconds of inactivity.
+     * <p>
+     * Daemon mode can also be turned on without changing code with <code>-Dgasper.daemon=true</code>.
+     * Daemon always logs it's messages to log file. When attached to running daemon, its pid is polled
+     * every second, so tests fail fast if it dies, but without a tail of its log.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder runningAsDaemon() {
+        return runningAsDaemon(daemonMaxIdleTime);
+    }
+
+    /**
+     * Keeps your test application running as a daemon between test executions. See
+     * {@link #runningAsDaemon()} for details.
+     *
+     * @param maxIdleSeconds a time in seconds of inactivity after which daemon stops
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder runningAsDaemon(int maxIdleSeconds) {
+        this.daemon = true;
+        this.daemonMaxIdleTime = maxIdleSeconds;
+        return this;
+    }
+
+    /**
+     * Sizes heap, GC and JIT compiler threads of your test application for its share of host
+     * resources, instead of whole host. Processors and memory are read from <code>/proc</code> and
+     * cgroup limits, and divided by a number of test applications, that Gasper runs on this host at
+     * once, in all JVMs. Computed <code>-Xmx</code>, <code>-XX:ActiveProcessorCount</code>,
+     * <code>-XX:ParallelGCThreads</code>, <code>-XX:ConcGCThreads</code> and <code>-XX:CICompilerCount</code>
+     * are used, unless given with {@link #withJVMOptions(String...)}.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withResourceAwareSizing() {
+        return withResourceAwareSizing(0);
+    }
+
+    /**
+     * Sizes your test application for its share of host resources, given a number of test
+     * applications expected to run at once. See {@link #withResourceAwareSizing()} for details.
+     *
+     * @param instances a number of test applications running at once, or <code>0</code> to count
+     *                  running ones
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withResourceAwareSizing(int instances) {
+        this.resourceAwareSizing = true;
+        this.expectedInstances = instances;
+        return this;
+    }
+
+    /**
+     * Limits processor time of your test application, like a container CPU limit. On Linux with cgroup v2
+     * subtree delegated to user running tests, application is started in a fresh cgroup with
+     * <code>cpu.max</code> set, and its throttling is reported when it stops. Elsewhere only
+     * <code>-XX:ActiveProcessorCount</code> is set for JVM applications, so they size themselves as if
+     * limited, but aren't throttled. Daemon and application shared between forks outlive this JVM, so
+     * they are limited the latter way too.
+     *
+     * @param cores a number of processors, like <code>1.5</code>
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withCpuLimit(double cores) {
+        this.cpuLimit = cores;
+        return this;
+    }
+
+    /**
+     * Limits memory of your test application, like a container memory limit. On Linux with cgroup v2
+     * subtree delegated to user running tests, application is started in a fresh cgroup with
+     * <code>memory.max</code> set and swap disabled, and times it hit the limit and OOM kills are
+     * reported when it stops. Elsewhere only <code>-XX:MaxRAM</code> is set for JVM applications, so they
+     * size heap as if limited. Daemon and application shared between forks are limited the latter way too.
+     *
+     * @param bytes a memory limit in bytes
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withMemoryLimit(long bytes) {
+        this.memoryLimit = bytes;
+        return this;
+    }
+
+    /**
+     * Runs your test application on given Java installations, instead of <code>java</code> from
+     * <code>PATH</code>. Test class run with {@link GasperMatrix} runner is executed once for each of
+     * them, otherwise first one is used. They can also be given with
+     * <code>-Dgasper.java.homes=/opt/jdk8:/opt/jdk17</code>.
+     *
+     * @param javaHomes directories of Java installations, like <code>JAVA_HOME</code>
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withJavaHomes(Path... javaHomes) {
+        this.javaHomes = new ArrayList<>(Arrays.asList(javaHomes));
+        return this;
+    }
+
+    /**
+     * Runs your test application on all Java installations found in well known directories, like
+     * <code>/usr/lib/jvm</code>, <code>/Library/Java/JavaVirtualMachines</code> or
+     * <code>~/.sdkman/candidates/java</code>, ordered by version. See {@link #withJavaHomes(Path...)}.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withDiscoveredJavaHomes() {
+        this.javaHomes = JavaHome.discover().stream()
+            .map(JavaHome::getPath)
+            .collect(Collectors.toList());
+        return this;
+    }
+
+    /**
+     * Serves your test application over TLS, with a keystore holding self-signed certificate for
+     * <code>localhost</code>, generated with <code>keytool</code> in build directory. Application is
+     * accessed with <code>https</code> scheme, and {@link Gasper#client()} and readiness checks trust
+     * the certificate. Use {@link Gasper#sslContext()} for other clients.
+     * <p>
+     * Keystore is passed to Spring Boot and WildFly Swarm configured with {@link Gasper#configurations()}
+     * as their SSL properties. For other applications read <code>gasper.tls.keystore</code>,
+     * <code>gasper.tls.password</code> and <code>gasper.tls.alias</code> system properties.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withTls() {
+        this.tls = true;
+        return this;
+    }
+
+    /**
+     * Serves your test application over TLS with HTTP/2 enabled. See {@link #withTls()} for details.
+     * Gasper checks that application negotiates <code>h2</code> protocol with ALPN before tests start,
+     * if JVM running tests supports ALPN. {@link Gasper#client()} still uses HTTP/1.1, use
+     * {@link Gasper#sslContext()} with a HTTP/2 client to measure multiplexing.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withHttp2() {
+        this.http2 = true;
+        return withTls();
+    }
+
+    /**
+     * Starts your test application in background, when used as JUnit rule, so <code>&#064;BeforeClass</code>
+     * methods, like preparing test data, run while it boots. First call to {@link Gasper#getAddress()},
+     * {@link Gasper#getPort()} or {@link Gasper#client()} blocks until application becomes ready, and
+     * fails if it failed to start. See also {@link Gasper#startAsync()}.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder startingInBackground() {
+        this.backgroundStart = true;
+        return this;
+    }
+
+    /**
+     * Reports {@link Gasper#DEFAULT_HISTOGRAM_TYPES} types of objects, that your test application
+     * retained during tests. See {@link #withHeapHistogramDiff(int, long)} for details.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withHeapHistogramDiff() {
+        return withHeapHistogramDiff(Gasper.DEFAULT_HISTOGRAM_TYPES, 0L);
+    }
+
+    /**
+     * Reports types of objects, that your test application retained during tests of a test class, like
+     * caches and sessions that never expire. A class histogram of live objects is taken with
+     * <code>jcmd GC.class_histogram</code>, which forces full garbage collection, when tests start and
+     * when they complete. Types that grew most are logged and written to
+     * <code>gasper-histogram-&lt;test class&gt;.txt</code> in Maven build directory. Requires JDK tools
+     * in JDK running tests.
+     *
+     * @param topTypes a number of types to report
+     * @param maxRetainedBytes a maximum growth of retained heap in bytes, that fails test class when
+     *                         exceeded, or <code>0</code> to only report it
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withHeapHistogramDiff(int topTypes, long maxRetainedBytes) {
+        this.heapHistogramTypes = topTypes;
+        this.maxRetainedGrowth = maxRetainedBytes;
+        return this;
+    }
+
+    /**
+     * Captures thread dumps of your test application, when its startup passes
+     * {@link Gasper#DEFAULT_THREAD_DUMP_STARTUP_FRACTION} of maximum time, and when test method runs
+     * longer than {@link Gasper#DEFAULT_SLOW_TEST_SECONDS} seconds. See
+     * {@link #withThreadDumps(double, int)} for details.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withThreadDumps() {
+        return withThreadDumps(Gasper.DEFAULT_THREAD_DUMP_STARTUP_FRACTION, Gasper.DEFAULT_SLOW_TEST_SECONDS);
+    }
+
+    /**
+     * Captures thread dumps of your test application with <code>jcmd Thread.print</code>, to find out
+     * why it's stuck:
+     * <ul>
+     *     <li>when waiting for port or context passes given fraction of its maximum time,</li>
+     *     <li>when application doesn't become ready in maximum time,</li>
+     *     <li>when test method runs longer than given threshold, requires {@link Gasper#methodRule()}.</li>
+     * </ul>
+     * Thread dumps are saved in <code>gasper-dumps</code> in Maven build directory, and attached to
+     * failure of startup or slow test method. Requires JDK tools in JDK running tests.
+     *
+     * @param startupFraction a fraction of maximum startup time, like <code>0.5</code>, or <code>0</code>
+     *                        to capture thread dump only when application doesn't become ready
+     * @param slowTestSeconds a time in seconds after which test method is slow, or <code>0</code> to
+     *                        skip test methods
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withThreadDumps(double startupFraction, int slowTestSeconds) {
+        this.threadDumps = true;
+        this.threadDumpStartupFraction = startupFraction;
+        this.slowTestThreshold = slowTestSeconds;
+        return this;
+    }
+
+    /**
+     * Connects to JVM running your test application, through local JMX connector that accepts
+     * connections only from loopback interface, so tests can read its telemetry with
+     * {@link Gasper#telemetry()}: heap and non-heap usage, garbage collections, threads, loaded classes,
+     * allocated bytes and safepoints. Usage of JVM across all tests is logged when application stops.
+     * Requires JDK tools in JDK running tests.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withTelemetry() {
+        this.telemetry = true;
+        return this;
+    }
+
+    /**
+     * Pins your test application to first half of processors available to tests, and tests to the
+     * other half. See {@link #pinToCpus(String)} for details.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder pinToCpus() {
+        return pinToCpus(CpuAffinity.AUTO);
+    }
+
+    /**
+     * Pins your test application to given processors, and threads of tests, like load generators, to
+     * remaining processors available to tests, so they don't compete for the same cores. Processors
+     * available are those allowed by cgroup cpuset and affinity of tests. Your application is started
+     * with <code>taskset</code>, so it works on Linux only. Affinity of tests is restored after your
+     * application stops.
+     *
+     * @param cpus a Linux cpu list, like <code>0-3,8</code>
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder pinToCpus(String cpus) {
+        this.pinnedCpus = cpus;
+        return this;
+    }
+
+    /**
+     * Reports where startup time of your test application goes, with
+     * {@link Gasper#DEFAULT_STARTUP_COMPONENTS} slowest components. See {@link #withStartupBreakdown(int)}
+     * for details.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withStartupBreakdown() {
+        return withStartupBreakdown(Gasper.DEFAULT_STARTUP_COMPONENTS);
+    }
+
+    /**
+     * Reports where startup time of your test application goes. Timestamped log messages are parsed
+     * into startup phases of Spring Boot or WildFly Swarm, and time until next message is summed up for
+     * components that logged them. Report is logged and written to
+     * <code>gasper-startup-&lt;artifact&gt;.txt</code> in Maven build directory on each run. Requires
+     * application log to be written to a file, which is default.
+     *
+     * @param topComponents a number of slowest components to report
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withStartupBreakdown(int topComponents) {
+        this.startupBreakdownComponents = topComponents;
+        return this;
+    }
+
+    /**
+     * Limits a number of test applications booting at once on this host, by all JVMs, for ex.: many
+     * Maven Failsafe forks. Boots that exceed the limit wait in queue, in order they were requested.
+     * Maximum startup time counts from when boot is admitted. Boot metrics are written to
+     * <code>gasper-boot-metrics.csv</code> in Maven build directory.
+     * <p>
+     * Limit can also be set without changing code with <code>-Dgasper.boot.permits=n</code>.
+     *
+     * @param permits a number of test applications allowed to boot at once
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withBootAdmissionLimit(int permits) {
+        this.bootPermits = permits;
+        return this;
+    }
+
+    /**
+     * Records HTTP traffic of your tests into {@link Gasper#DEFAULT_TRAFFIC_FILE} in Maven build
+     * directory. See {@link #withTrafficRecording(Path)} for details.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withTrafficRecording() {
+        return withTrafficRecording(Paths.get(Gasper.DEFAULT_TRAFFIC_FILE));
+    }
+
+    /**
+     * Records HTTP traffic of your tests, so it can be replayed later as a load test with
+     * {@link GasperReplay}. A recording proxy is started in front of your test application, and
+     * {@link Gasper#getAddress()}, {@link Gasper#getPort()} and {@link Gasper#client()} point to it.
+     * Each request with its method, URI, headers, body, status and timing is appended to a compact binary
+     * file, so many test classes can record into the same file. Warm-up traffic is not recorded.
+     *
+     * @param file a file to append traffic to, relative paths are resolved against Maven build directory
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder withTrafficRecording(Path file) {
+        this.trafficRecording = file;
+        return this;
+    }
+
+    /**
+     * Shares your test application between JVM forks running tests at the same time, for ex.: with
+     * Maven Failsafe <code>forkCount</code> greater than one. First fork starts your application and
+     * publishes it in a registry file in Maven build directory, other forks with the same settings
+     * attach to it. Your application is stopped when last fork, that uses it, completes or exits.
+     * Forks attached to it poll its pid every second, so tests fail fast if it dies.
+     * <p>
+     * Sharing can also be turned on without changing code with <code>-Dgasper.shared=true</code>. It's
+     * ignored in daemon mode.
+     *
+     * @return fluent interface returning self for chaining
+     */
+    public GasperBuilder sharedBetweenForks() {
+        this.shared = true;
+        return this;
+    }
+
     /**
      * Builds final Gasper instance with all given variables
      * @return a Gasper {@link org.junit.rules.TestRule}
      */
     public Gasper build() {
+        if (warmUp != null) {
+            warmUp.validate();
+        }
         if (port == null) {
             port = findNotBindedPort();
         }
-        if (systemPropertyForPort != null) {
-            withSystemProperty(systemPropertyForPort, port.toString());
+        String portProperty = systemPropertyForPort;
+        TlsPreset tlsPreset = null;
+        if (tls) {
+            tlsPreset = TlsPreset.forPortProperty(portProperty);
+            String tlsPortProperty = tlsPreset.getPortProperty(portProperty);
+            if (portProperty != null && !portProperty.equals(tlsPortProperty)) {
+                // plain HTTP listener starts too, so it can't take a default port of other instances
+                systemProperties.putIfAbsent(portProperty, findNotBindedPort().toString());
+                portProperty = tlsPortProperty;
+            }
+        }
+        if (portProperty != null) {
+            withSystemProperty(portProperty, port.toString());
         }
-        Settings settings = new Settings(
-            packaging, classifier, port,
-            systemProperties, jvmOptions, environment,
-            inheritIO, context, contextChecker,
-            portAvailableMaxTime, deploymentMaxTime,
-            pomfile, level
-        );
+        Settings settings = Settings.builder()
+            .launchMode(launchMode)
+            .packaging(packaging)
+            .classifier(classifier)
+            .executable(executable)
+            .mainClass(mainClass)
+            .port(port)
+            .systemPropertyForPort(portProperty)
+            .systemProperties(systemProperties)
+            .jvmOptions(jvmOptions)
+            .environment(environment)
+            .inheritIO(inheritIO)
+            .context(context)
+            .contextChecker(contextChecker)
+            .portAvailableMaxTime(portAvailableMaxTime)
+            .deploymentMaxTime(deploymentMaxTime)
+            .pomfile(pomfile)
+            .level(level)
+            .daemon(daemon)
+            .daemonMaxIdleTime(daemonMaxIdleTime)
+            .httpClientPoolSize(httpClientPoolSize)
+            .warmUp(warmUp)
+            .hotspotProfilingFrames(hotspotProfilingFrames)
+            .portLogPattern(portLogPattern)
+            .shared(shared)
+            .resourceAwareSizing(resourceAwareSizing)
+            .expectedInstances(expectedInstances)
+            .bootPermits(bootPermits)
+            .startupBreakdownComponents(startupBreakdownComponents)
+            .artifactVersion(artifactVersion)
+            .trafficRecording(trafficRecording)
+            .pinnedCpus(pinnedCpus)
+            .telemetry(telemetry)
+            .threadDumps(threadDumps)
+            .threadDumpStartupFraction(threadDumpStartupFraction)
+            .slowTestThreshold(slowTestThreshold)
+            .heapHistogramTypes(heapHistogramTypes)
+            .maxRetainedGrowth(maxRetainedGrowth)
+            .backgroundStart(backgroundStart)
+            .tlsPreset(tlsPreset)
+            .http2(http2)
+            .javaHomes(javaHomes)
+            .cpuLimit(cpuLimit)
+            .memoryLimit(memoryLimit)
+            .build();
         return create(settings);
     }
 
+    private static List<Path> javaHomesFromProperty() {
+        String property = System.getProperty(Gasper.JAVA_HOMES_PROPERTY, "");
+        List<Path> homes = new ArrayList<>();
+        for (String home : property.split(Pattern.quote(File.pathSeparator))) {
+            if (!home.trim().isEmpty()) {
+                homes.add(Paths.get(home.trim()));
+            }
+        }
+        return homes;
+    }
+
     private static Integer findNotBindedPort() {
         return tryToExecute((EidPreconditions.UnsafeSupplier<Integer>) () -> {
             try (ServerSocket socket = new ServerSocket(0)) {
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.HttpEndpoint;
+import pl.wavesoftware.gasper.internal.stats.LatencySamples;
+import pl.wavesoftware.gasper.internal.tls.TlsStores;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * A HTTP client bound to test application started by {@link Gasper}. It holds a pool of keep-alive
+ * connections, that are opened while Gasper waits for your application to become ready, so test
+ * requests reuse already warm connections. Client is closed together with test application.
+ * <p>
+ * Paths given to client methods are resolved against {@link Gasper#getAddress()}.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * &#064;Test
+ * public void testGetRoot() {
+ *   // when
+ *   GasperClient.Response response = gasper.client().get("/");
+ *   // then
+ *   assertThat(response.getStatus()).isEqualTo(200);
+ * }
+ * </pre>
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class GasperClient implements Closeable {
+    private static final char SLASH = '/';
+
+    private final String address;
+    private final int poolSize;
+    private final CloseableHttpClient httpClient;
+    private volatile LatencySamples latencies;
+
+    GasperClient(HttpEndpoint endpoint, int poolSize) {
+        this.address = endpoint.fullAddress();
+        this.poolSize = poolSize;
+        PoolingHttpClientConnectionManager manager = TlsStores.connectionManager(endpoint.getSslContext());
+        manager.setMaxTotal(poolSize);
+        manager.setDefaultMaxPerRoute(poolSize);
+        this.httpClient = HttpClients.custom()
+            .setConnectionManager(manager)
+            .build();
+    }
+
+    /**
+     * Resolves a path against address of test application
+     * @param path a path relative to address of test application
+     * @return a full URI to given path
+     */
+    public String uri(String path) {
+        if (address.charAt(address.length() - 1) == SLASH && !path.isEmpty() && path.charAt(0) == SLASH) {
+            return address + path.substring(1);
+        }
+        return address + path;
+    }
+
+    /**
+     * Executes a <code>GET</code> request
+     * @param path a path relative to address of test application
+     * @return a response
+     */
+    public Response get(String path) {
+        return execute(new HttpGet(uri(path)));
+    }
+
+    /**
+     * Executes a <code>HEAD</code> request
+     * @param path a path relative to address of test application
+     * @return a response
+     */
+    public Response head(String path) {
+        return execute(new HttpHead(uri(path)));
+    }
+
+    /**
+     * Executes a <code>DELETE</code> request
+     * @param path a path relative to address of test application
+     * @return a response
+     */
+    public Response delete(String path) {
+        return execute(new HttpDelete(uri(path)));
+    }
+
+    /**
+     * Executes a <code>POST</code> request
+     * @param path a path relative to address of test application
+     * @param body a body of request
+     * @param contentType a content type of body, like <code>application/json</code>
+     * @return a response
+     */
+    public Response post(String path, String body, String contentType) {
+        HttpPost request = new HttpPost(uri(path));
+        request.setEntity(new StringEntity(body, ContentType.create(contentType, StandardCharsets.UTF_8)));
+        return execute(request);
+    }
+
+    /**
+     * Executes a <code>PUT</code> request
+     * @param path a path relative to address of test application
+     * @param body a body of request
+     * @param contentType a content type of body, like <code>application/json</code>
+     * @return a response
+     */
+    public Response put(String path, String body, String contentType) {
+        HttpPut request = new HttpPut(uri(path));
+        request.setEntity(new StringEntity(body, ContentType.create(contentType, StandardCharsets.UTF_8)));
+        return execute(request);
+    }
+
+    /**
+     * Executes any request, reading whole response
+     * @param request a request to execute
+     * @return a response
+     */
+    public Response execute(HttpUriRequest request) {
+        return tryToExecute((UnsafeSupplier<Response>) () -> {
+            long start = System.nanoTime();
+            try (CloseableHttpResponse response = httpClient.execute(request)) {
+                return Response.of(response);
+            } finally {
+                LatencySamples recorded = latencies;
+                if (recorded != null) {
+                    recorded.record(System.nanoTime() - start);
+                }
+            }
+        }, "20261019:140120");
+    }
+
+    /**
+     * Retrieves underlying Apache HTTP client, for cases not covered by this class. Responses must be
+     * consumed or closed to return connections to the pool.
+     * @return an underlying HTTP client
+     */
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    /**
+     * Records latencies of following requests
+     * @param latencies samples to record latencies into
+     */
+    void recordLatencies(LatencySamples latencies) {
+        this.latencies = latencies;
+    }
+
+    /**
+     * Opens pool of connections at once, by executing concurrent <code>HEAD</code> requests
+     */
+    void warmUp() {
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Future<Response>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                futures.add(executor.submit(() -> {
+                    gate.await();
+                    return head("");
+                }));
+            }
+            gate.countDown();
+            for (Future<Response> future : futures) {
+                tryToExecute((UnsafeSupplier<Response>) future::get, "20261019:140307");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A fully read HTTP response
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Response {
+        private final int status;
+        private final Map<String, String> headers;
+        private final String body;
+
+        private static Response of(HttpResponse response) throws IOException {
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (Header header : response.getAllHeaders()) {
+                headers.put(header.getName(), header.getValue());
+            }
+            HttpEntity entity = response.getEntity();
+            String body = entity == null ? "" : EntityUtils.toString(entity, StandardCharsets.UTF_8);
+            return new Response(
+                response.getStatusLine().getStatusCode(),
+                Collections.unmodifiableMap(headers),
+                body
+            );
+        }
+    }
+}
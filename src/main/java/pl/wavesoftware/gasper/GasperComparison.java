@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Settings;
+import pl.wavesoftware.gasper.internal.maven.MavenResolver;
+import pl.wavesoftware.gasper.internal.stats.LatencySamples;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkArgument;
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkState;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * A performance comparison of your application with its released version. Both are started with
+ * identical configuration, on separate ports, and the same workload is executed against them
+ * interleaved, so both are measured under the same conditions. Released version is resolved from local
+ * Maven repository.
+ * <p>
+ * Difference of mean latency is reported with 95% confidence interval, together with latency
+ * percentiles and throughput of sequential workload. Report is written to
+ * <code>gasper-comparison-&lt;version&gt;.txt</code> in Maven build directory.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * &#064;Test
+ * public void testNoRegression() {
+ *   GasperComparison.Result result = GasperComparison
+ *     .against("1.2.0", () -&gt; Gasper.configurations().springBoot())
+ *     .withPaths("/", "/api/users")
+ *     .withIterations(5000)
+ *     .run();
+ *   assertThat(result.isRegression()).isFalse();
+ * }
+ * </pre>
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@Getter
+public final class GasperComparison {
+    public static final int DEFAULT_ITERATIONS = 1000;
+    public static final int DEFAULT_WARM_UP_ITERATIONS = 200;
+    private static final String REPORT_FORMAT = "gasper-comparison-%s.txt";
+    private static final double MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String baselineVersion;
+    private final Supplier<GasperBuilder> configuration;
+    private final List<Consumer<GasperClient>> requests = new ArrayList<>();
+    private int iterations = DEFAULT_ITERATIONS;
+    private int warmUpIterations = DEFAULT_WARM_UP_ITERATIONS;
+
+    private GasperComparison(String baselineVersion, Supplier<GasperBuilder> configuration) {
+        this.baselineVersion = baselineVersion;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Creates a comparison of your application with its released version
+     * @param baselineVersion a released version of your application, to compare with
+     * @param configuration a supplier of configuration, called once for each of compared applications
+     * @return a comparison to be further configured
+     */
+    public static GasperComparison against(String baselineVersion, Supplier<GasperBuilder> configuration) {
+        return new GasperComparison(baselineVersion, configuration);
+    }
+
+    /**
+     * Adds <code>GET</code> requests to given paths to workload
+     * @param paths paths relative to address of test application
+     * @return fluent interface returning self for chaining
+     */
+    public GasperComparison withPaths(String... paths) {
+        for (String path : paths) {
+            withRequest(client -> client.get(path));
+        }
+        return this;
+    }
+
+    /**
+     * Adds a custom request to workload
+     * @param request a request executed with Gasper client
+     * @return fluent interface returning self for chaining
+     */
+    public GasperComparison withRequest(Consumer<GasperClient> request) {
+        requests.add(request);
+        return this;
+    }
+
+    /**
+     * Sets number of measured workload executions, against each of applications
+     * @param iterations a number of workload executions, at least 2 to estimate variance
+     * @return fluent interface returning self for chaining
+     */
+    public GasperComparison withIterations(int iterations) {
+        checkArgument(iterations > 1, "20261019:034233");
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * Sets number of not measured workload executions, against each of applications, before measurement
+     * @param iterations a number of workload executions
+     * @return fluent interface returning self for chaining
+     */
+    public GasperComparison withWarmUpIterations(int iterations) {
+        checkArgument(iterations >= 0, "20261019:034247");
+        this.warmUpIterations = iterations;
+        return this;
+    }
+
+    /**
+     * @return requests executed in each workload execution
+     */
+    public List<Consumer<GasperClient>> getRequests() {
+        return Collections.unmodifiableList(requests);
+    }
+
+    /**
+     * Starts both applications, executes workload and stops them
+     * @return a result of comparison
+     */
+    public Result run() {
+        checkState(!requests.isEmpty(), "20261019:211203", "Workload is empty, add requests to compare");
+        try (Gasper baseline = configuration.get().usingArtifactVersion(baselineVersion).build()) {
+            baseline.start();
+            try (Gasper candidate = configuration.get().build()) {
+                candidate.start();
+                Result result = compare(baseline, candidate);
+                report(candidate.getSettings(), result);
+                return result;
+            }
+        }
+    }
+
+    private Result compare(Gasper baseline, Gasper candidate) {
+        for (int i = 0; i < warmUpIterations; i++) {
+            execute(baseline.client());
+            execute(candidate.client());
+        }
+        LatencySamples baselineSamples = new LatencySamples();
+        LatencySamples candidateSamples = new LatencySamples();
+        for (int i = 0; i < iterations; i++) {
+            // alternate order, so none of applications is favored
+            if (i % 2 == 0) {
+                baselineSamples.record(execute(baseline.client()));
+                candidateSamples.record(execute(candidate.client()));
+            } else {
+                candidateSamples.record(execute(candidate.client()));
+                baselineSamples.record(execute(baseline.client()));
+            }
+        }
+        double[] interval = baselineSamples.meanDifferenceInterval(candidateSamples);
+        return new Result(
+            baselineVersion, iterations,
+            new Statistics(baselineSamples), new Statistics(candidateSamples),
+            (candidateSamples.getMean() - baselineSamples.getMean()) / MILLIS,
+            interval[0] / MILLIS, interval[1] / MILLIS
+        );
+    }
+
+    private long execute(GasperClient client) {
+        long start = System.nanoTime();
+        for (Consumer<GasperClient> request : requests) {
+            request.accept(client);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void report(Settings settings, Result result) {
+        Path report = new MavenResolver(settings.getPomfile()).getBuildDirectory().toPath()
+            .resolve(format(REPORT_FORMAT, baselineVersion));
+        String rendered = result.toString();
+        tryToExecute((UnsafeSupplier<Path>) () -> Files.write(report, rendered.getBytes(StandardCharsets.UTF_8)),
+            "20261019:211347");
+        new Logger(log, settings).info(format("%s(written to %s)", rendered, report));
+    }
+
+    /**
+     * A result of comparison. Latencies are given in milliseconds, for one workload execution.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Result {
+        private final String baselineVersion;
+        private final int iterations;
+        private final Statistics baseline;
+        private final Statistics candidate;
+        private final double difference;
+        private final double differenceLowerBound;
+        private final double differenceUpperBound;
+
+        /**
+         * @return a relative change of mean latency, like <code>0.05</code> for 5% slower candidate
+         */
+        public double getRelativeChange() {
+            return baseline.getMean() == 0d ? 0d : difference / baseline.getMean();
+        }
+
+        /**
+         * @return true if mean latency differs with 95% confidence
+         */
+        public boolean isSignificant() {
+            return differenceLowerBound > 0d || differenceUpperBound < 0d;
+        }
+
+        /**
+         * @return true if candidate is slower than baseline with 95% confidence
+         */
+        public boolean isRegression() {
+            return differenceLowerBound > 0d;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(format("Comparison of candidate with baseline %s, %d iterations%n", baselineVersion, iterations));
+            sb.append(format("  %-10s %10s %10s %10s %14s%n", "", "mean ms", "p50 ms", "p99 ms", "throughput/s"));
+            sb.append(format("  %-10s %s%n", "baseline", baseline));
+            sb.append(format("  %-10s %s%n", "candidate", candidate));
+            sb.append(format("  Mean latency difference: %+.3fms (%+.1f%%), 95%% CI [%+.3fms, %+.3fms], %s%n",
+                difference, getRelativeChange() * 100d, differenceLowerBound, differenceUpperBound,
+                isSignificant() ? (isRegression() ? "candidate is slower" : "candidate is faster")
+                    : "no significant difference"));
+            sb.append(format("  Throughput difference: %+.1f%%%n", baseline.getThroughput() == 0d ? 0d
+                : (candidate.getThroughput() / baseline.getThroughput() - 1d) * 100d));
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Latency statistics of one of compared applications, in milliseconds
+     */
+    @Getter
+    public static final class Statistics {
+        private final double mean;
+        private final double median;
+        private final double p99;
+        private final double throughput;
+
+        Statistics(LatencySamples samples) {
+            this.mean = samples.getMean() / MILLIS;
+            this.median = samples.getPercentile(50d) / MILLIS;
+            this.p99 = samples.getPercentile(99d) / MILLIS;
+            this.throughput = samples.getTotal() == 0L ? 0d
+                : samples.getCount() * TimeUnit.SECONDS.toNanos(1) / (double) samples.getTotal();
+        }
+
+        @Override
+        public String toString() {
+            return format("%10.3f %10.3f %10.3f %14.1f", mean, median, p99, throughput);
+        }
+    }
+}
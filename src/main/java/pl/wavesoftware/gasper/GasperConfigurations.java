@@ -68,4 +68,19 @@ public final class GasperConfigurations {
             .withArtifactPackaging("jar")
             .usingSystemPropertyForPort(GasperConfigurations.SPRING_BOOT);
     }
+
+    /**
+     * This method returns pre-configured Gasper configure to use with Spring Boot application compiled
+     * to native executable (GraalVM native image), located in Maven build directory.
+     * <p>
+     * It uses the same port settings as {@link #springBoot()}, so the same integration tests can be
+     * executed for both JVM and native builds.
+     * <p>
+     * To use it in JUnit execute method {@link GasperBuilder#build()}
+     * @return pre-configured {@link GasperBuilder} to use with Spring Boot native image.
+     */
+    public GasperBuilder springBootNative() {
+        return springBoot()
+            .usingNativeExecutable();
+    }
 }
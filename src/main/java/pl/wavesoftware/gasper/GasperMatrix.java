@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.ClassRule;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.Suite;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+import org.junit.runners.model.TestClass;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.jvm.JavaHome;
+import pl.wavesoftware.gasper.internal.maven.MavenResolver;
+import pl.wavesoftware.gasper.internal.stats.LatencySamples;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * A JUnit 4 runner that executes a test class once for each Java installation configured with
+ * {@link GasperBuilder#withJavaHomes(java.nio.file.Path...)}, or discovered on this host if none were
+ * configured. Test application is started by {@link Gasper} class rule on each of them in turn, and test
+ * names are labeled with Java version, like <code>testGetRoot[17.0.9]</code>.
+ * <p>
+ * Startup time, resident memory of application and latencies of requests made with {@link Gasper#client()}
+ * are collected for each Java installation into one comparison report, written to
+ * <code>gasper-matrix-&lt;test class&gt;.txt</code> in Maven build directory.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * &#064;RunWith(GasperMatrix.class)
+ * public class HelloIT {
+ *   &#064;ClassRule
+ *   public static Gasper gasper = Gasper.configurations()
+ *     .springBoot()
+ *     .withJavaHomes(Paths.get("/usr/lib/jvm/java-8"), Paths.get("/usr/lib/jvm/java-17"))
+ *     .build();
+ *   [..]
+ * }
+ * </pre>
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public class GasperMatrix extends Suite {
+    private static final String REPORT_FORMAT = "gasper-matrix-%s.txt";
+    private static final double MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double MEBIBYTE = 1024d * 1024d;
+    private static final String UNKNOWN = "unknown";
+
+    private final Gasper gasper;
+    private final List<Measurement> measurements = new ArrayList<>();
+    private final List<Runner> runners = new ArrayList<>();
+
+    /**
+     * Creates a runner, that executes given test class on each of Java installations
+     *
+     * @param testClass a test class
+     * @throws InitializationError if test class is malformed, or there are no Java installations
+     */
+    public GasperMatrix(Class<?> testClass) throws InitializationError {
+        super(testClass, Collections.emptyList());
+        gasper = findGasper(getTestClass());
+        List<JavaHome> homes = javaHomes(gasper);
+        Set<String> versions = new HashSet<>();
+        boolean ambiguous = !homes.stream().map(JavaHome::getVersion).allMatch(versions::add);
+        for (JavaHome home : homes) {
+            String label = ambiguous
+                ? format("%s %s", home.getVersion(), home.getPath().getFileName())
+                : home.getVersion();
+            Measurement measurement = new Measurement(label, home);
+            measurements.add(measurement);
+            runners.add(new JavaHomeRunner(testClass, gasper, measurement));
+        }
+    }
+
+    @Override
+    protected List<Runner> getChildren() {
+        return runners;
+    }
+
+    @Override
+    protected Statement classBlock(RunNotifier notifier) {
+        // class rules and fixtures run for each of Java installations
+        Statement children = childrenInvoker(notifier);
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    children.evaluate();
+                } finally {
+                    report();
+                }
+            }
+        };
+    }
+
+    private void report() {
+        String rendered = render(getTestClass().getJavaClass().getSimpleName(), measurements);
+        Path report = new MavenResolver(gasper.getSettings().getPomfile()).getBuildDirectory().toPath()
+            .resolve(format(REPORT_FORMAT, getTestClass().getJavaClass().getName()));
+        tryToExecute((UnsafeSupplier<Path>) () -> Files.write(report, rendered.getBytes(StandardCharsets.UTF_8)),
+            "20261019:235933");
+        new Logger(log, gasper.getSettings()).info(format("%s(written to %s)", rendered, report));
+    }
+
+    static String render(String testClass, List<Measurement> measurements) {
+        int width = Math.max(4, measurements.stream().mapToInt(m -> m.getLabel().length()).max().orElse(0));
+        StringBuilder sb = new StringBuilder();
+        sb.append(format("Java matrix of %s%n", testClass));
+        sb.append(format("  %-" + width + "s %11s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+            "java", "startup ms", "RSS MiB", "peak MiB", "requests", "mean ms", "p50 ms", "p99 ms",
+            "tests s", "failed"));
+        for (Measurement measurement : measurements) {
+            LatencySamples latencies = measurement.getLatencies();
+            long startup = measurement.getStartupMillis();
+            sb.append(format("  %-" + width + "s %11s %9.1f %9.1f %9d %9.3f %9.3f %9.3f %9.1f %7d%n",
+                measurement.getLabel(), startup < 0L ? UNKNOWN : String.valueOf(startup),
+                megabytes(measurement.getResidentMemory()), megabytes(measurement.getPeakResidentMemory()),
+                latencies.getCount(), latencies.getMean() / MILLIS,
+                latencies.getPercentile(50d) / MILLIS, latencies.getPercentile(99d) / MILLIS,
+                measurement.getTestsMillis() / 1000d, measurement.getFailures()));
+        }
+        return sb.toString();
+    }
+
+    private static double megabytes(long bytes) {
+        return bytes < 0L ? Double.NaN : bytes / MEBIBYTE;
+    }
+
+    private static Gasper findGasper(TestClass testClass) throws InitializationError {
+        List<Gasper> rules = testClass.getAnnotatedFieldValues(null, ClassRule.class, Gasper.class);
+        if (rules.size() != 1) {
+            throw new InitializationError(format(
+                "%s should have exactly one static Gasper field annotated with @ClassRule, found %d",
+                testClass.getName(), rules.size()));
+        }
+        return rules.get(0);
+    }
+
+    private static List<JavaHome> javaHomes(Gasper gasper) throws InitializationError {
+        List<Path> configured = gasper.getSettings().getJavaHomes();
+        List<JavaHome> homes = configured.isEmpty()
+            ? JavaHome.discover()
+            : configured.stream().map(JavaHome::of).collect(Collectors.toList());
+        if (homes.isEmpty()) {
+            throw new InitializationError("No Java installations found, configure them with "
+                + "GasperBuilder#withJavaHomes(..) or -D" + Gasper.JAVA_HOMES_PROPERTY);
+        }
+        return homes;
+    }
+
+    /**
+     * Measurement of test application running on one of Java installations
+     */
+    @Getter
+    @Setter
+    static final class Measurement {
+        private final String label;
+        private final JavaHome javaHome;
+        private final LatencySamples latencies = new LatencySamples();
+        // unknown if attached to daemon or shared server
+        private long startupMillis = -1L;
+        private long residentMemory = -1L;
+        private long peakResidentMemory = -1L;
+        private long testsMillis;
+        private int failures;
+
+        Measurement(String label, JavaHome javaHome) {
+            this.label = label;
+            this.javaHome = javaHome;
+        }
+    }
+
+    private static final class JavaHomeRunner extends BlockJUnit4ClassRunner {
+        private final Gasper gasper;
+        private final Measurement measurement;
+
+        private JavaHomeRunner(Class<?> testClass, Gasper gasper, Measurement measurement)
+            throws InitializationError {
+            super(testClass);
+            this.gasper = gasper;
+            this.measurement = measurement;
+        }
+
+        @Override
+        protected String getName() {
+            return format("[%s]", measurement.getLabel());
+        }
+
+        @Override
+        protected String testName(FrameworkMethod method) {
+            return format("%s[%s]", method.getName(), measurement.getLabel());
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            RunListener failures = new RunListener() {
+                @Override
+                public void testFailure(Failure failure) {
+                    measurement.setFailures(measurement.getFailures() + 1);
+                }
+            };
+            // Gasper class rule starts application as soon as it's applied
+            gasper.useJavaHome(measurement.getJavaHome(), measurement);
+            notifier.addListener(failures);
+            long start = System.currentTimeMillis();
+            try {
+                super.run(notifier);
+            } finally {
+                measurement.setTestsMillis(System.currentTimeMillis() - start);
+                notifier.removeListener(failures);
+                gasper.useJavaHome(null, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A JUnit 4 runner that executes test methods of a test class in parallel, sharing one test application
+ * started by {@link Gasper} class rule. Test methods are scheduled on a bounded thread pool, while class rules
+ * keep their usual lifecycle, so test application is started once before and stopped after all test methods.
+ * <p>
+ * Test methods must be independent of each other. By default number of parallel test methods is equal to
+ * number of available processors. It can be changed with {@link Parallelism} annotation or
+ * <code>-Dgasper.parallelism=N</code> system property, which takes precedence.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * &#064;RunWith(GasperParallel.class)
+ * &#064;GasperParallel.Parallelism(8)
+ * public class HelloIT {
+ *   &#064;ClassRule
+ *   public static Gasper gasper = Gasper.configurations()
+ *     .springBoot()
+ *     .build();
+ *
+ *   &#064;Test
+ *   public void testGetRoot() throws UnirestException {
+ *     [..]
+ *   }
+ * }
+ * </pre>
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class GasperParallel extends BlockJUnit4ClassRunner {
+    public static final String PARALLELISM_PROPERTY = "gasper.parallelism";
+
+    /**
+     * Sets a maximum number of test methods to be executed at the same time.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface Parallelism {
+        /**
+         * @return a maximum number of parallel test methods
+         */
+        int value();
+    }
+
+    /**
+     * Creates a parallel runner for given test class
+     *
+     * @param testClass a test class
+     * @throws InitializationError if test class is malformed
+     */
+    public GasperParallel(Class<?> testClass) throws InitializationError {
+        super(testClass);
+        setScheduler(new BoundedScheduler(testClass.getSimpleName(), parallelism(testClass)));
+    }
+
+    private static int parallelism(Class<?> testClass) {
+        Integer parallelism = Integer.getInteger(PARALLELISM_PROPERTY);
+        if (parallelism == null) {
+            Parallelism annotation = testClass.getAnnotation(Parallelism.class);
+            parallelism = annotation == null
+                ? Runtime.getRuntime().availableProcessors()
+                : annotation.value();
+        }
+        return Math.max(1, parallelism);
+    }
+
+    @Slf4j
+    private static final class BoundedScheduler implements RunnerScheduler {
+        private final ExecutorService executor;
+
+        private BoundedScheduler(String name, int parallelism) {
+            executor = Executors.newFixedThreadPool(parallelism, new NamedThreadFactory(name));
+        }
+
+        @Override
+        public void schedule(Runnable childStatement) {
+            executor.execute(childStatement);
+        }
+
+        @Override
+        public void finished() {
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.debug("Still waiting for test methods to complete...");
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String name;
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "gasper-" + name + "-" + counter.incrementAndGet());
+        }
+    }
+}
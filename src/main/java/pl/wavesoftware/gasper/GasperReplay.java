@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.HttpEndpoint;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Settings;
+import pl.wavesoftware.gasper.internal.maven.MavenResolver;
+import pl.wavesoftware.gasper.internal.stats.LatencySamples;
+import pl.wavesoftware.gasper.internal.tls.TlsStores;
+import pl.wavesoftware.gasper.internal.traffic.TrafficFile;
+import pl.wavesoftware.gasper.internal.traffic.TrafficRecord;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkArgument;
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkState;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * A replay of HTTP traffic recorded with {@link GasperBuilder#withTrafficRecording()}, against your
+ * test application started by Gasper. Requests are sent concurrently, at the same pace as they were
+ * recorded, or faster with {@link #withRateMultiplier(double)}. Idle gaps in recording longer than a
+ * second are shortened to a second.
+ * <p>
+ * Latency is measured from the moment request was scheduled to be sent, so it includes time request
+ * waits for free connection when test application can't keep up. Latency percentiles are reported for
+ * each endpoint, that is method and path with identifiers like numbers and UUIDs replaced with
+ * <code>{id}</code>. Report is written to <code>gasper-replay.txt</code> in Maven build directory.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * &#064;Test
+ * public void testReplayAtDoubleRate() {
+ *   GasperReplay.Result result = GasperReplay
+ *     .of(Paths.get("target", "gasper-traffic.bin"))
+ *     .withRateMultiplier(2)
+ *     .run(gasper);
+ *   assertThat(result.getMismatches()).isZero();
+ * }
+ * </pre>
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@Getter
+public final class GasperReplay {
+    public static final double DEFAULT_RATE_MULTIPLIER = 1d;
+    public static final int DEFAULT_CONCURRENCY = 16;
+    private static final String REPORT = "gasper-replay.txt";
+    private static final long MAX_IDLE_MICROS = TimeUnit.SECONDS.toMicros(1);
+    private static final long MAX_REPLAY_MINUTES = 60;
+    private static final double MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Path recording;
+    private double rateMultiplier = DEFAULT_RATE_MULTIPLIER;
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    private GasperReplay(Path recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Creates a replay of recorded traffic
+     * @param recording a file with recorded traffic
+     * @return a replay to be further configured
+     */
+    public static GasperReplay of(Path recording) {
+        checkArgument(recording.toFile().isFile(), "20261019:214012");
+        return new GasperReplay(recording);
+    }
+
+    /**
+     * Sets how many times faster than recorded, traffic is replayed
+     * @param rateMultiplier a multiplier of recorded request rate, like <code>2</code> for twice as fast
+     * @return fluent interface returning self for chaining
+     */
+    public GasperReplay withRateMultiplier(double rateMultiplier) {
+        checkArgument(rateMultiplier > 0d, "20261019:214034");
+        this.rateMultiplier = rateMultiplier;
+        return this;
+    }
+
+    /**
+     * Sets a maximum number of requests sent at once
+     * @param concurrency a number of concurrent connections to test application
+     * @return fluent interface returning self for chaining
+     */
+    public GasperReplay withConcurrency(int concurrency) {
+        checkArgument(concurrency > 0, "20261019:214051");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Replays recorded traffic against running test application
+     * @param gasper a started Gasper
+     * @return a result of replay
+     */
+    public Result run(Gasper gasper) {
+        gasper.ensureAlive();
+        Settings settings = gasper.getSettings();
+        ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long started = System.nanoTime();
+        try (CloseableHttpClient httpClient = createHttpClient(settings)) {
+            Scheduler scheduler = new Scheduler(settings.getEndpoint(), httpClient, workers, endpoints, started);
+            tryToExecute((UnsafeSupplier<Path>) () -> {
+                TrafficFile.read(recording, scheduler);
+                return recording;
+            }, "20261019:214132");
+            workers.shutdown();
+            boolean completed = tryToExecute((UnsafeSupplier<Boolean>) () ->
+                workers.awaitTermination(MAX_REPLAY_MINUTES, TimeUnit.MINUTES), "20261019:214157");
+            checkState(completed, "20261019:214218", "Replay didn't complete in %d minutes", MAX_REPLAY_MINUTES);
+        } catch (IOException ex) {
+            log.debug("Can't close HTTP client", ex);
+        } finally {
+            workers.shutdownNow();
+        }
+        Map<String, Statistics> statistics = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> statistics.put(name, new Statistics(endpoint)));
+        Result result = new Result(rateMultiplier, (System.nanoTime() - started) / MILLIS,
+            Collections.unmodifiableMap(statistics));
+        report(settings, result);
+        return result;
+    }
+
+    private CloseableHttpClient createHttpClient(Settings settings) {
+        PoolingHttpClientConnectionManager manager = TlsStores.connectionManager(settings.getSslContext());
+        manager.setMaxTotal(concurrency);
+        manager.setDefaultMaxPerRoute(concurrency);
+        return HttpClients.custom()
+            .setConnectionManager(manager)
+            .disableRedirectHandling()
+            .disableCookieManagement()
+            .build();
+    }
+
+    private void report(Settings settings, Result result) {
+        Path report = new MavenResolver(settings.getPomfile()).getBuildDirectory().toPath().resolve(REPORT);
+        String rendered = result.toString();
+        tryToExecute((UnsafeSupplier<Path>) () -> Files.write(report, rendered.getBytes(StandardCharsets.UTF_8)),
+            "20261019:214245");
+        new Logger(log, settings).info(format("%s(written to %s)", rendered, report));
+    }
+
+    @RequiredArgsConstructor
+    private final class Scheduler implements Consumer<TrafficRecord> {
+        private final HttpEndpoint target;
+        private final CloseableHttpClient httpClient;
+        private final ExecutorService workers;
+        private final ConcurrentMap<String, Endpoint> endpoints;
+        private final long started;
+        private long previous = Long.MIN_VALUE;
+        private double offset;
+
+        @Override
+        public void accept(TrafficRecord record) {
+            if (previous != Long.MIN_VALUE) {
+                long gap = Math.max(0L, Math.min(record.getTime() - previous, MAX_IDLE_MICROS));
+                offset += gap / rateMultiplier;
+            }
+            previous = record.getTime();
+            long scheduled = started + TimeUnit.MICROSECONDS.toNanos((long) offset);
+            long delay;
+            while ((delay = scheduled - System.nanoTime()) > 0L) {
+                LockSupport.parkNanos(delay);
+            }
+            Endpoint endpoint = endpoints.computeIfAbsent(record.getEndpoint(), name -> new Endpoint());
+            workers.execute(() -> send(record, scheduled, endpoint));
+        }
+
+        private void send(TrafficRecord record, long scheduled, Endpoint endpoint) {
+            RequestBuilder builder = RequestBuilder.create(record.getMethod())
+                .setUri(format("%s://%s:%d%s", target.getScheme(), target.getDomain(), target.getPort(),
+                    record.getUri()));
+            record.getHeaders().forEach(header -> builder.addHeader(header.getKey(), header.getValue()));
+            if (record.getBody().length > 0) {
+                builder.setEntity(new ByteArrayEntity(record.getBody()));
+            }
+            try (CloseableHttpResponse response = httpClient.execute(builder.build())) {
+                EntityUtils.consume(response.getEntity());
+                endpoint.latencies.record(System.nanoTime() - scheduled);
+                if (response.getStatusLine().getStatusCode() != record.getStatus()) {
+                    endpoint.mismatches.incrementAndGet();
+                }
+            } catch (IOException ex) {
+                log.debug("Replayed request failed: " + record.getMethod() + " " + record.getUri(), ex);
+                endpoint.errors.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Endpoint {
+        private final LatencySamples latencies = new LatencySamples();
+        private final AtomicInteger mismatches = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+    }
+
+    /**
+     * A result of replay. Times are given in milliseconds.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Result {
+        private final double rateMultiplier;
+        private final double duration;
+        private final Map<String, Statistics> endpoints;
+
+        /**
+         * @return a number of replayed requests, that received a response
+         */
+        public int getCount() {
+            return endpoints.values().stream().mapToInt(Statistics::getCount).sum();
+        }
+
+        /**
+         * @return a number of responses with other status than recorded
+         */
+        public int getMismatches() {
+            return endpoints.values().stream().mapToInt(Statistics::getMismatches).sum();
+        }
+
+        /**
+         * @return a number of requests that failed without response
+         */
+        public int getErrors() {
+            return endpoints.values().stream().mapToInt(Statistics::getErrors).sum();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(format("Replay at %.2fx recorded rate: %d requests in %.0fms, %d status mismatches, %d errors%n",
+                rateMultiplier, getCount(), duration, getMismatches(), getErrors()));
+            sb.append(format("  %8s %10s %10s %10s %10s %10s %10s  %s%n",
+                "count", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms", "mismatch", "endpoint"));
+            endpoints.forEach((name, statistics) -> sb.append(format("  %s  %s%n", statistics, name)));
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Latency statistics of one endpoint, in milliseconds
+     */
+    @Getter
+    public static final class Statistics {
+        private final int count;
+        private final double mean;
+        private final double p50;
+        private final double p90;
+        private final double p99;
+        private final double max;
+        private final int mismatches;
+        private final int errors;
+
+        private Statistics(Endpoint endpoint) {
+            LatencySamples samples = endpoint.latencies;
+            this.count = samples.getCount();
+            this.mean = samples.getMean() / MILLIS;
+            this.p50 = samples.getPercentile(50d) / MILLIS;
+            this.p90 = samples.getPercentile(90d) / MILLIS;
+            this.p99 = samples.getPercentile(99d) / MILLIS;
+            this.max = samples.getPercentile(100d) / MILLIS;
+            this.mismatches = endpoint.mismatches.get();
+            this.errors = endpoint.errors.get();
+        }
+
+        @Override
+        public String toString() {
+            return format("%8d %10.3f %10.3f %10.3f %10.3f %10.3f %10d", count, mean, p50, p90, p99, max, mismatches);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Settings;
+import pl.wavesoftware.gasper.internal.jvm.JvmTools;
+import pl.wavesoftware.gasper.internal.maven.MavenResolver;
+import pl.wavesoftware.gasper.internal.stats.LinearTrend;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkArgument;
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkState;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * A soak test, that runs a workload against your test application for a long time, to find memory
+ * leaks. Workload is executed concurrently, until given duration elapses. Meanwhile, occupancy of old
+ * generation is regularly sampled, right after full garbage collection is requested with
+ * <code>jcmd GC.run</code>, so it shows retained heap only.
+ * <p>
+ * A line is fitted to samples, skipping first 20% of duration when caches and pools fill up. Soak test
+ * fails when retained heap grows faster than allowed and growth is steady. Samples are written to
+ * <code>gasper-soak.csv</code> in Maven build directory. Requires JDK tools, <code>jcmd</code> and
+ * <code>jstat</code>, in JDK running tests.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * &#064;Test
+ * public void testNoLeaks() {
+ *   GasperSoak
+ *     .running(client -&gt; client.post("/api/orders", order, "application/json"))
+ *     .forDuration(2, TimeUnit.HOURS)
+ *     .withMaxHeapGrowth(16)
+ *     .run(gasper);
+ * }
+ * </pre>
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@Getter
+public final class GasperSoak {
+    public static final long DEFAULT_DURATION_MINUTES = 30;
+    public static final long DEFAULT_SAMPLING_SECONDS = 30;
+    public static final long DEFAULT_MAX_HEAP_GROWTH_MB_PER_HOUR = 64;
+    public static final int DEFAULT_CONCURRENCY = 4;
+    private static final String REPORT = "gasper-soak.csv";
+    private static final String OLD_GEN_USED = "OU";
+    private static final double WARM_UP_FRACTION = 0.2d;
+    private static final double MIN_R_SQUARED = 0.5d;
+    private static final int MIN_SAMPLES = 3;
+    private static final double KILOBYTE = 1024d;
+    private static final double MEGABYTE = KILOBYTE * KILOBYTE;
+    private static final double MILLIS_IN_HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private final Consumer<GasperClient> workload;
+    private long duration = TimeUnit.MINUTES.toMillis(DEFAULT_DURATION_MINUTES);
+    private long samplingInterval = TimeUnit.SECONDS.toMillis(DEFAULT_SAMPLING_SECONDS);
+    private long maxHeapGrowth = DEFAULT_MAX_HEAP_GROWTH_MB_PER_HOUR;
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    private GasperSoak(Consumer<GasperClient> workload) {
+        this.workload = workload;
+    }
+
+    /**
+     * Creates a soak test running given workload
+     * @param workload a workload executed repeatedly with Gasper client, its exceptions and assertion
+     *                 errors are counted as failures and don't stop soak test
+     * @return a soak test to be further configured
+     */
+    public static GasperSoak running(Consumer<GasperClient> workload) {
+        return new GasperSoak(workload);
+    }
+
+    /**
+     * Sets for how long workload is executed
+     * @param duration a duration
+     * @param unit a unit of duration
+     * @return fluent interface returning self for chaining
+     */
+    public GasperSoak forDuration(long duration, TimeUnit unit) {
+        checkArgument(duration > 0, "20261019:034205");
+        this.duration = unit.toMillis(duration);
+        return this;
+    }
+
+    /**
+     * Sets how often retained heap is sampled. Each sample requests full garbage collection, so it
+     * shouldn't be too frequent.
+     * @param interval an interval between samples
+     * @param unit a unit of interval
+     * @return fluent interface returning self for chaining
+     */
+    public GasperSoak withSamplingInterval(long interval, TimeUnit unit) {
+        checkArgument(interval > 0, "20261019:034219");
+        this.samplingInterval = unit.toMillis(interval);
+        return this;
+    }
+
+    /**
+     * Sets how fast retained heap may grow, before soak test fails
+     * @param megabytesPerHour a maximum growth in megabytes per hour
+     * @return fluent interface returning self for chaining
+     */
+    public GasperSoak withMaxHeapGrowth(long megabytesPerHour) {
+        this.maxHeapGrowth = megabytesPerHour;
+        return this;
+    }
+
+    /**
+     * Sets a number of threads executing workload at once
+     * @param concurrency a number of threads
+     * @return fluent interface returning self for chaining
+     */
+    public GasperSoak withConcurrency(int concurrency) {
+        checkArgument(concurrency > 0, "20261019:224017");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Runs workload against running test application, and fails if retained heap keeps growing
+     * @param gasper a started Gasper
+     * @return a result of soak test
+     */
+    public Result run(Gasper gasper) {
+        long pid = gasper.getServerPid();
+        checkState(JvmTools.isAvailable(pid), "20261019:224043",
+            "Soak test requires jcmd and jstat tools of JDK running application with pid %d", pid);
+        GasperClient client = gasper.client();
+        AtomicLong iterations = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        List<Sample> samples = new ArrayList<>();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long started = System.currentTimeMillis();
+        long deadline = started + duration;
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                workers.execute(() -> {
+                    while (System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+                        execute(client, iterations, failures);
+                    }
+                });
+            }
+            samples.add(sample(pid, started, iterations));
+            while (System.currentTimeMillis() < deadline) {
+                gasper.ensureAlive();
+                long wait = Math.min(samplingInterval, deadline - System.currentTimeMillis());
+                tryToExecute((UnsafeSupplier<Boolean>) () -> workers.awaitTermination(wait, TimeUnit.MILLISECONDS),
+                    "20261019:224112");
+                samples.add(sample(pid, started, iterations));
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        Result result = new Result(Collections.unmodifiableList(samples), iterations.get(), failures.get(),
+            trend(samples), maxHeapGrowth);
+        Path report = report(gasper.getSettings(), result);
+        checkState(!result.isLeaking(), "20261019:224137",
+            "Retained heap grows %.1fMiB/h, more than allowed %dMiB/h, samples written to: %s",
+            result.getHeapGrowth(), maxHeapGrowth, report);
+        return result;
+    }
+
+    private void execute(GasperClient client, AtomicLong iterations, AtomicLong failures) {
+        try {
+            workload.accept(client);
+        } catch (RuntimeException | AssertionError ex) {
+            if (failures.getAndIncrement() == 0) {
+                log.warn("Soak workload failed, following failures are only counted", ex);
+            }
+        }
+        iterations.incrementAndGet();
+    }
+
+    private static Sample sample(long pid, long started, AtomicLong iterations) {
+        JvmTools.jcmd(pid, "GC.run");
+        double oldGen = JvmTools.jstat("-gc", pid).get(OLD_GEN_USED);
+        return new Sample(System.currentTimeMillis() - started, (long) (oldGen * KILOBYTE), iterations.get());
+    }
+
+    private LinearTrend trend(List<Sample> samples) {
+        long warmUp = (long) (duration * WARM_UP_FRACTION);
+        List<Sample> steady = new ArrayList<>();
+        for (Sample sample : samples) {
+            if (sample.getElapsed() >= warmUp) {
+                steady.add(sample);
+            }
+        }
+        if (steady.size() < MIN_SAMPLES) {
+            return null;
+        }
+        double[] x = new double[steady.size()];
+        double[] y = new double[steady.size()];
+        for (int i = 0; i < steady.size(); i++) {
+            x[i] = steady.get(i).getElapsed();
+            y[i] = steady.get(i).getOldGeneration();
+        }
+        return LinearTrend.fit(x, y);
+    }
+
+    private static Path report(Settings settings, Result result) {
+        Path report = new MavenResolver(settings.getPomfile()).getBuildDirectory().toPath().resolve(REPORT);
+        StringBuilder csv = new StringBuilder("elapsed_ms,old_gen_bytes,iterations\n");
+        for (Sample sample : result.getSamples()) {
+            csv.append(format("%d,%d,%d%n", sample.getElapsed(), sample.getOldGeneration(), sample.getIterations()));
+        }
+        tryToExecute((UnsafeSupplier<Path>) () -> Files.write(report, csv.toString().getBytes(StandardCharsets.UTF_8)),
+            "20261019:224204");
+        new Logger(log, settings).info(format("%s (samples written to %s)", result, report));
+        return report;
+    }
+
+    /**
+     * A sample of retained heap
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Sample {
+        /**
+         * Milliseconds since soak test started
+         */
+        private final long elapsed;
+        /**
+         * Bytes used in old generation, after full garbage collection
+         */
+        private final long oldGeneration;
+        /**
+         * Workload executions until sample was taken
+         */
+        private final long iterations;
+    }
+
+    /**
+     * A result of soak test
+     */
+    @Getter
+    public static final class Result {
+        private final List<Sample> samples;
+        private final long iterations;
+        private final long failures;
+        /**
+         * Growth of retained heap in megabytes per hour, after warm-up
+         */
+        private final double heapGrowth;
+        /**
+         * How steady is growth, from <code>0</code> to <code>1</code>
+         */
+        private final double steadiness;
+        private final boolean leaking;
+
+        private Result(List<Sample> samples, long iterations, long failures, LinearTrend trend, long maxHeapGrowth) {
+            this.samples = samples;
+            this.iterations = iterations;
+            this.failures = failures;
+            this.heapGrowth = trend == null ? 0d : trend.getSlope() * MILLIS_IN_HOUR / MEGABYTE;
+            this.steadiness = trend == null ? 0d : trend.getRSquared();
+            this.leaking = heapGrowth > maxHeapGrowth && steadiness >= MIN_R_SQUARED;
+        }
+
+        @Override
+        public String toString() {
+            return format("Soak test: %d iterations, %d failures, %d samples, retained heap grows %.1fMiB/h"
+                + " (steadiness %.2f)%s", iterations, failures, samples.size(), heapGrowth, steadiness,
+                leaking ? ", LEAKING" : "");
+        }
+    }
+}
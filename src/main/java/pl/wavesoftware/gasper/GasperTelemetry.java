@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.jvm.LocalJmxConnection;
+import pl.wavesoftware.gasper.internal.jvm.PerfCounters;
+import pl.wavesoftware.gasper.internal.jvm.PerfDataFile;
+
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * A telemetry of JVM running your test application, read over local JMX connection and HotSpot
+ * performance counters. Enable it with {@link GasperBuilder#withTelemetry()}.
+ * <p>
+ * Take a {@link Snapshot} at any time, and compute {@link Usage} since other snapshot, or measure
+ * usage of code executed by tests with {@link #measure(Runnable)}.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * &#064;Test
+ * public void testUsersAllocation() {
+ *   // when
+ *   GasperTelemetry.Usage usage = gasper.telemetry().measure(() -&gt; {
+ *     for (int i = 0; i &lt; 1000; i++) {
+ *       gasper.client().get("/api/users");
+ *     }
+ *   });
+ *   // then
+ *   assertThat(usage.getAllocationRate()).isLessThan(50d * 1024 * 1024);
+ * }
+ * </pre>
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class GasperTelemetry implements Closeable {
+    private static final String TOTAL_ALLOCATED = "TotalThreadAllocatedBytes";
+    private static final double NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LocalJmxConnection jmx;
+    private final MemoryMXBean memory;
+    private final ThreadMXBean threads;
+    private final ClassLoadingMXBean classes;
+    private final List<GarbageCollectorMXBean> collectors;
+    private final ObjectName threading;
+    private final PerfDataFile perfData;
+
+    GasperTelemetry(long pid) {
+        this.jmx = LocalJmxConnection.attach(pid);
+        MBeanServerConnection connection = jmx.getConnection();
+        this.memory = proxy(connection, ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+        this.threads = proxy(connection, ManagementFactory.THREAD_MXBEAN_NAME, com.sun.management.ThreadMXBean.class);
+        this.classes = proxy(connection, ManagementFactory.CLASS_LOADING_MXBEAN_NAME, ClassLoadingMXBean.class);
+        this.collectors = tryToExecute((UnsafeSupplier<List<GarbageCollectorMXBean>>) () ->
+            ManagementFactory.getPlatformMXBeans(connection, GarbageCollectorMXBean.class), "20261019:231004");
+        this.threading = tryToExecute((UnsafeSupplier<ObjectName>) () ->
+            new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME), "20261019:231022");
+        this.perfData = PerfDataFile.find(pid);
+        if (perfData == null) {
+            log.debug("No shared performance counters of JVM {}, jcmd will read them", pid);
+        }
+    }
+
+    /**
+     * Reads current state of JVM running your test application
+     * @return a snapshot
+     */
+    public Snapshot snapshot() {
+        PerfCounters counters = perfData != null ? perfData.read() : PerfCounters.read(jmx.getPid());
+        long time = System.nanoTime();
+        long gcCount = 0L;
+        long gcTime = 0L;
+        for (GarbageCollectorMXBean collector : collectors) {
+            gcCount += Math.max(0L, collector.getCollectionCount());
+            gcTime += Math.max(0L, collector.getCollectionTime());
+        }
+        return new Snapshot(
+            time,
+            memory.getHeapMemoryUsage().getUsed(),
+            memory.getHeapMemoryUsage().getCommitted(),
+            memory.getNonHeapMemoryUsage().getUsed(),
+            gcCount, gcTime,
+            threads.getThreadCount(),
+            threads.getPeakThreadCount(),
+            classes.getLoadedClassCount(),
+            classes.getTotalLoadedClassCount(),
+            classes.getUnloadedClassCount(),
+            allocatedBytes(),
+            counters.getLong(PerfCounters.SAFEPOINTS),
+            counters.getMillis(PerfCounters.SAFEPOINT_TIME),
+            counters.getMillis(PerfCounters.SAFEPOINT_SYNC_TIME)
+        );
+    }
+
+    /**
+     * Measures usage of JVM running your test application, while given code executes
+     * @param code a code to measure, like requests to application
+     * @return a usage
+     */
+    public Usage measure(Runnable code) {
+        Snapshot before = snapshot();
+        long start = System.nanoTime();
+        code.run();
+        long elapsed = System.nanoTime() - start;
+        return snapshot().since(before, elapsed);
+    }
+
+    @Override
+    public void close() throws IOException {
+        jmx.close();
+    }
+
+    /**
+     * Reads bytes allocated by all threads. Before Java 14 it sums up allocations of live threads
+     * only, so allocations of threads that ended are not counted.
+     */
+    private long allocatedBytes() {
+        try {
+            return (Long) jmx.getConnection().getAttribute(threading, TOTAL_ALLOCATED);
+        } catch (AttributeNotFoundException ex) {
+            log.trace("No " + TOTAL_ALLOCATED + ", Java 8?", ex);
+        } catch (Exception ex) {
+            log.debug("Can't read " + TOTAL_ALLOCATED, ex);
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        long total = 0L;
+        for (long allocated : allocations.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0L, allocated);
+        }
+        return total;
+    }
+
+    private static <T> T proxy(MBeanServerConnection connection, String name, Class<T> type) {
+        return tryToExecute((UnsafeSupplier<T>) () ->
+            ManagementFactory.newPlatformMXBeanProxy(connection, name, type), "20261019:231047");
+    }
+
+    /**
+     * A state of JVM at some moment. Times are given in milliseconds, sizes in bytes.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Snapshot {
+        /**
+         * A {@link System#nanoTime()} when snapshot was taken
+         */
+        private final long time;
+        private final long heapUsed;
+        private final long heapCommitted;
+        private final long nonHeapUsed;
+        private final long gcCount;
+        private final long gcTime;
+        private final int threads;
+        private final int peakThreads;
+        private final int loadedClasses;
+        private final long totalLoadedClasses;
+        private final long unloadedClasses;
+        private final long allocatedBytes;
+        private final long safepoints;
+        private final double safepointTime;
+        private final double safepointSyncTime;
+
+        /**
+         * Computes usage of JVM between other, earlier snapshot and this one
+         * @param earlier an earlier snapshot
+         * @return a usage
+         */
+        public Usage since(Snapshot earlier) {
+            return since(earlier, time - earlier.time);
+        }
+
+        private Usage since(Snapshot earlier, long elapsed) {
+            return new Usage(
+                elapsed / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                gcCount - earlier.gcCount,
+                gcTime - earlier.gcTime,
+                allocatedBytes - earlier.allocatedBytes,
+                elapsed <= 0L ? 0d : (allocatedBytes - earlier.allocatedBytes) * NANOS_IN_SECOND / elapsed,
+                heapUsed - earlier.heapUsed,
+                threads - earlier.threads,
+                totalLoadedClasses - earlier.totalLoadedClasses,
+                safepoints - earlier.safepoints,
+                safepointTime - earlier.safepointTime,
+                safepointSyncTime - earlier.safepointSyncTime
+            );
+        }
+
+        @Override
+        public String toString() {
+            return format("heap %dKiB used of %dKiB, non-heap %dKiB, %d GCs in %dms, %d threads (peak %d),"
+                    + " %d classes loaded, %dKiB allocated, %d safepoints in %.1fms",
+                heapUsed / 1024, heapCommitted / 1024, nonHeapUsed / 1024, gcCount, gcTime, threads,
+                peakThreads, loadedClasses, allocatedBytes / 1024, safepoints, safepointTime);
+        }
+    }
+
+    /**
+     * A usage of JVM between two snapshots. Times are given in milliseconds, sizes in bytes.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Usage {
+        private final double elapsed;
+        private final long gcCount;
+        private final long gcTime;
+        private final long allocatedBytes;
+        /**
+         * Allocated bytes per second
+         */
+        private final double allocationRate;
+        private final long heapGrowth;
+        private final int threadGrowth;
+        private final long loadedClasses;
+        private final long safepoints;
+        private final double safepointTime;
+        private final double safepointSyncTime;
+
+        @Override
+        public String toString() {
+            return format("%.0fms: %dKiB allocated (%.1fMiB/s), %d GCs in %dms, heap %+dKiB, threads %+d,"
+                    + " %d classes loaded, %d safepoints in %.1fms (%.1fms to reach)",
+                elapsed, allocatedBytes / 1024, allocationRate / 1024 / 1024, gcCount, gcTime,
+                heapGrowth / 1024, threadGrowth, loadedClasses, safepoints, safepointTime, safepointSyncTime);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkArgument;
+
+/**
+ * A warm-up stage executed after your test application becomes ready and before tests start. Given
+ * requests are replayed concurrently until latency stabilizes, so JIT compiler has already compiled hot
+ * code paths and measurements in tests reflect a steady state.
+ * <p>
+ * Latency is considered stable when medians of last 3 windows of requests differ by no more then
+ * given tolerance. Warm-up ends anyway after maximum warm-up time.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * &#064;ClassRule
+ * public static Gasper gasper = Gasper.configurations()
+ *   .springBoot()
+ *   .withWarmUp(WarmUp.of("/", "/api/users")
+ *     .withConcurrency(8)
+ *     .withTolerance(0.05)
+ *     .withMaxTime(120)
+ *   )
+ *   .build();
+ * </pre>
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Getter
+public final class WarmUp {
+    public static final int DEFAULT_CONCURRENCY = 4;
+    public static final int DEFAULT_WINDOW_SIZE = 200;
+    public static final double DEFAULT_TOLERANCE = 0.1;
+    public static final int DEFAULT_MAX_SECONDS = 60;
+
+    private final List<Consumer<GasperClient>> requests = new ArrayList<>();
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private double tolerance = DEFAULT_TOLERANCE;
+    private int maxTime = DEFAULT_MAX_SECONDS;
+
+    private WarmUp() {}
+
+    /**
+     * Creates a warm-up that executes <code>GET</code> requests to given paths
+     * @param paths paths relative to address of test application
+     * @return a warm-up to be further configured
+     */
+    public static WarmUp of(String... paths) {
+        WarmUp warmUp = new WarmUp();
+        for (String path : paths) {
+            warmUp.withRequest(client -> client.get(path));
+        }
+        return warmUp;
+    }
+
+    /**
+     * Adds a custom request to be replayed while warming up
+     * @param request a request executed with Gasper client
+     * @return fluent interface returning self for chaining
+     */
+    public WarmUp withRequest(Consumer<GasperClient> request) {
+        requests.add(request);
+        return this;
+    }
+
+    /**
+     * Sets number of threads replaying requests
+     * @param concurrency a number of concurrent requests
+     * @return fluent interface returning self for chaining
+     */
+    public WarmUp withConcurrency(int concurrency) {
+        checkArgument(concurrency > 0, "20261019:031501");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Sets number of requests in sliding window, for which median latency is compared
+     * @param windowSize a number of requests in window
+     * @return fluent interface returning self for chaining
+     */
+    public WarmUp withWindowSize(int windowSize) {
+        checkArgument(windowSize > 0, "20261019:031517");
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    /**
+     * Sets maximum relative difference of window latencies, for which latency is considered stable
+     * @param tolerance a relative tolerance like <code>0.1</code> for 10%
+     * @return fluent interface returning self for chaining
+     */
+    public WarmUp withTolerance(double tolerance) {
+        checkArgument(tolerance >= 0d, "20261019:031529");
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * Sets maximum warm-up time, after which tests start even if latency isn't stable
+     * @param seconds a maximum warm-up time in seconds
+     * @return fluent interface returning self for chaining
+     */
+    public WarmUp withMaxTime(int seconds) {
+        checkArgument(seconds > 0, "20261019:031543");
+        this.maxTime = seconds;
+        return this;
+    }
+
+    /**
+     * Checks that warm-up has requests to replay, when Gasper is built
+     */
+    void validate() {
+        checkArgument(!requests.isEmpty(), "20261019:031556", "Warm-up needs at least one request to replay");
+    }
+
+    /**
+     * @return requests to be replayed while warming up
+     */
+    public List<Consumer<GasperClient>> getRequests() {
+        return Collections.unmodifiableList(requests);
+    }
+
+    /**
+     * A result of warm-up stage
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Result {
+        private final boolean converged;
+        private final long duration;
+        private final long requests;
+        private final long medianLatency;
+
+        @Override
+        public String toString() {
+            return String.format("%s after %dms and %d requests, median latency: %.3fms",
+                converged ? "converged" : "not converged", duration, requests, medianLatency / 1e6d);
+        }
+    }
+}
@@ -19,18 +19,25 @@ package pl.wavesoftware.gasper.internal;
 import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.Unirest;
 import com.mashape.unirest.http.exceptions.UnirestException;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import pl.wavesoftware.eid.exceptions.Eid;
 import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.gasper.internal.jvm.ThreadDumps;
+import pl.wavesoftware.gasper.internal.resources.CgroupLimits;
 
+import javax.net.ssl.HttpsURLConnection;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.ServerSocket;
+import java.net.URL;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static java.lang.String.format;
@@ -44,19 +51,31 @@ import static java.lang.String.format;
 public class Executor {
     public static final int WAIT_STEP = 125;
     public static final int WAIT_STEPS_IN_SECOND = 8;
+    public static final int STOP_MAX_SECONDS = 30;
     public static final Function<HttpEndpoint, Boolean> DEFAULT_CONTEXT_CHECKER = Executor::check;
     private static final int HTTP_OK = 200;
     private static final int HTTP_BAD_REQUEST = 400;
+    private static final String LOG_FILE_FORMAT = "gasper-%d-%d.log";
+    private static final AtomicInteger LOG_SEQUENCE = new AtomicInteger();
     private final List<String> command;
     private final File workingDirectory;
     private final Settings settings;
     private Process process;
+    private ProcessSupervisor supervisor;
+    @Getter
+    private Path logFile;
+    @Getter
+    private long startTime;
+    @Setter
+    private ThreadDumps threadDumps;
+    @Setter
+    private CgroupLimits limits;
     private Logger logger;
 
     public void start() throws IOException {
         ProcessBuilder pb = new ProcessBuilder(command);
         pb.directory(workingDirectory);
-        if (settings.isInheritIO()) {
+        if (settings.isInheritIO() && !settings.isDaemon() && !settings.isShared()) {
             pb.inheritIO();
         } else {
             logToFile(pb);
@@ -64,16 +83,93 @@ public class Executor {
         if (!settings.getEnvironment().isEmpty()) {
             pb.environment().putAll(settings.getEnvironment());
         }
+        if (limits != null) {
+            limits.apply();
+        }
         log("Starting server process");
-        process = pb.start();
+        startTime = System.currentTimeMillis();
+        try {
+            process = pb.start();
+        } catch (IOException ex) {
+            removeLimits();
+            throw ex;
+        }
+        supervisor = new ProcessSupervisor(process, logFile, settings);
 
         startAndWaitForPort();
         waitForHttpContext();
     }
 
+    public boolean isStarted() {
+        return process != null;
+    }
+
+    public long getPid() {
+        return Processes.pid(process);
+    }
+
     public void stop() {
+        if (process == null) {
+            return;
+        }
         log("Stopping server process");
+        supervisor.stopping();
         process.destroy();
+        try {
+            if (!supervisor.awaitExit(STOP_MAX_SECONDS, TimeUnit.SECONDS)) {
+                log("Server process didn't stop in %d seconds, killing it", STOP_MAX_SECONDS);
+                process.destroyForcibly();
+                supervisor.awaitExit(STOP_MAX_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            log.error("Tried to wait for server process to stop, failed: " + e.getLocalizedMessage(), e);
+            Thread.currentThread().interrupt();
+        } finally {
+            removeLimits();
+        }
+    }
+
+    private void removeLimits() {
+        if (limits == null) {
+            return;
+        }
+        CgroupLimits.Usage usage = limits.usage();
+        if (usage.getOomKills() > 0L) {
+            ensureLogger();
+            logger.warn(format("Application was killed %d times for running out of %dMiB memory limit",
+                usage.getOomKills(), usage.getMemory() / 1024L / 1024L));
+        }
+        log("Application usage under limits: %s", usage);
+        limits.remove();
+        limits = null;
+    }
+
+    /**
+     * Supervises server process started by other JVM, like daemon or server shared between forks,
+     * so tests fail fast if it dies
+     * @param pid a pid of server process
+     * @param startTime a start time of server process, as returned by {@link Processes#startTime(long)}
+     */
+    public void attach(long pid, String startTime) {
+        supervisor = ProcessSupervisor.attached(pid, startTime, settings);
+    }
+
+    /**
+     * Stops supervising server process, leaving it running
+     */
+    public void detach() {
+        if (supervisor != null) {
+            supervisor.stopping();
+        }
+    }
+
+    /**
+     * Ensures that server process is still running, failing fast if it died
+     */
+    public void checkAlive() {
+        if (supervisor != null) {
+            supervisor.checkAlive();
+        }
     }
 
     private void waitForHttpContext() {
@@ -82,17 +178,16 @@ public class Executor {
         log("Waiting for deployment for context: \"%s\" to happen...", context);
         boolean ok = waitForContextToBecomeAvailable(context, maxWait);
         if (!ok) {
-            throw new EidIllegalStateException(new Eid("20160305:123206"),
+            throw withThreadDump(new EidIllegalStateException(new Eid("20160305:123206"),
                 "Context %s in not available after waiting %s seconds, aborting!",
                 context, maxWait
-            );
+            ));
         }
     }
 
     private boolean waitForContextToBecomeAvailable(String context, int maxSeconds) {
-        return waitOnProcess(maxSeconds, (step) -> {
+        return waitOnProcess(maxSeconds, (waited) -> {
             if (isContextAvailable()) {
-                int waited = WAIT_STEP * step;
                 log("Context \"%s\" became available after ~%dms!", context, waited);
                 return true;
             }
@@ -101,9 +196,8 @@ public class Executor {
     }
 
     private boolean waitForPortToBecomeAvailable(int port, int maxSeconds) {
-        return waitOnProcess(maxSeconds, (step) -> {
+        return waitOnProcess(maxSeconds, (waited) -> {
             if (isPortTaken(port)) {
-                int waited = WAIT_STEP * step;
                 log("Port %d became available after ~%dms!", port, waited);
                 return true;
             }
@@ -111,11 +205,24 @@ public class Executor {
         });
     }
 
-    private boolean waitOnProcess(int maxSeconds, Function<Integer, Boolean> supplier) {
-        for (int i = 1; i <= maxSeconds * WAIT_STEPS_IN_SECOND; i++) {
+    /**
+     * Waits on process until supplier, given milliseconds waited so far, returns true. Wait time is
+     * measured by clock, so slow checks and thread dumps don't extend it.
+     */
+    private boolean waitOnProcess(int maxSeconds, Function<Long, Boolean> supplier) {
+        long start = System.nanoTime();
+        long max = TimeUnit.SECONDS.toNanos(maxSeconds);
+        long dumpAfter = threadDumps == null || settings.getThreadDumpStartupFraction() <= 0d
+            ? Long.MAX_VALUE : (long) (max * settings.getThreadDumpStartupFraction());
+        for (long elapsed = 0L; elapsed < max; elapsed = System.nanoTime() - start) {
+            if (elapsed >= dumpAfter) {
+                dumpAfter = Long.MAX_VALUE;
+                threadDumps.capture(format("slow-startup-after-%dms", TimeUnit.NANOSECONDS.toMillis(elapsed)));
+            }
             try {
-                process.waitFor(WAIT_STEP, TimeUnit.MILLISECONDS);
-                if (supplier.apply(i)) {
+                supervisor.awaitExit(WAIT_STEP, TimeUnit.MILLISECONDS);
+                supervisor.checkAlive();
+                if (supplier.apply(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))) {
                     return true;
                 }
             } catch (InterruptedException e) {
@@ -127,6 +234,9 @@ public class Executor {
     }
 
     private static Boolean check(HttpEndpoint endpoint) {
+        if (endpoint.getSslContext() != null) {
+            return checkTls(endpoint);
+        }
         String address = endpoint.fullAddress();
         try {
             HttpResponse<InputStream> response = Unirest.head(address).asBinary();
@@ -139,26 +249,79 @@ public class Executor {
         }
     }
 
+    private static Boolean checkTls(HttpEndpoint endpoint) {
+        try {
+            HttpsURLConnection connection = (HttpsURLConnection) new URL(endpoint.fullAddress()).openConnection();
+            connection.setSSLSocketFactory(endpoint.getSslContext().getSocketFactory());
+            connection.setRequestMethod("HEAD");
+            try {
+                int status = connection.getResponseCode();
+                return status >= HTTP_OK && status < HTTP_BAD_REQUEST;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            EidIllegalStateException ex = new EidIllegalStateException(new Eid("20261019:235807"), e);
+            log.error(ex.getEid().makeLogMessage("Can't make https request - %s", e.getLocalizedMessage()), ex);
+            return false;
+        }
+    }
+
     private boolean isContextAvailable() {
         HttpEndpoint endpoint = settings.getEndpoint();
         return settings.getContextChecker().apply(endpoint);
     }
 
     private void startAndWaitForPort() {
+        if (settings.isEphemeralPort()) {
+            discoverPort();
+            return;
+        }
         Integer port = settings.getPort();
         log("Waiting for port: %d to became active...", port);
         boolean ok = waitForPortToBecomeAvailable(port, settings.getPortAvailableMaxTime());
         if (!ok) {
-            throw new EidIllegalStateException(new Eid("20160305:003452"),
+            throw withThreadDump(new EidIllegalStateException(new Eid("20160305:003452"),
                 "Process %s probably didn't started well after maximum wait time is reached: %s",
                 command.toString(), settings.getPortAvailableMaxTime()
-            );
+            ));
+        }
+    }
+
+    private void discoverPort() {
+        PortDiscovery discovery = new PortDiscovery(getPid(), logFile, settings.getPortLogPattern());
+        log("Waiting for application to bind a port...");
+        boolean ok = waitOnProcess(settings.getPortAvailableMaxTime(), (waited) -> {
+            List<Integer> ports = discovery.discover();
+            for (Integer port : ports) {
+                settings.bindPort(port);
+                // many listening sockets, choose the one serving the context
+                if (ports.size() == 1 || isContextAvailable()) {
+                    log("Application listens on port %d, discovered after ~%dms!", port, waited);
+                    return true;
+                }
+            }
+            return false;
+        });
+        if (!ok) {
+            throw withThreadDump(new EidIllegalStateException(new Eid("20261019:160212"),
+                "Can't discover a port of process %s after maximum wait time is reached: %s",
+                command.toString(), settings.getPortAvailableMaxTime()
+            ));
+        }
+    }
+
+    private EidIllegalStateException withThreadDump(EidIllegalStateException failure) {
+        if (threadDumps != null) {
+            ThreadDumps.attach(failure, threadDumps.capture("readiness-timeout"));
         }
+        return failure;
     }
 
     private void logToFile(ProcessBuilder pb) {
-        File tempDir = new File(System.getProperty("java.io.tmpdir"));
-        Path logFile = tempDir.toPath().resolve("gasper.log");
+        // each instance has its own log, as many of them may run at once
+        logFile = workingDirectory.toPath().resolve(
+            format(LOG_FILE_FORMAT, Processes.currentPid(), LOG_SEQUENCE.incrementAndGet()));
         pb.redirectErrorStream(true);
         pb.redirectOutput(logFile.toFile());
         log("Logging server messages to: %s", logFile);
@@ -16,10 +16,13 @@
 
 package pl.wavesoftware.gasper.internal;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
+import javax.net.ssl.SSLContext;
+
 import static java.lang.String.format;
 
 /**
@@ -31,6 +34,7 @@ import static java.lang.String.format;
 @RequiredArgsConstructor
 public class HttpEndpoint {
     public static final String DEFAULT_SCHEME = "http";
+    public static final String TLS_SCHEME = "https";
     public static final String DEFAULT_DOMAIN = "localhost";
     public static final String DEFAULT_QUERY = null;
 
@@ -39,17 +43,28 @@ public class HttpEndpoint {
     private final int port;
     private final String context;
     private final String query;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String address;
+    private SSLContext sslContext;
 
     public String fullAddress() {
-        String address = format("%s://%s:%s%s",
+        if (address == null) {
+            address = buildAddress();
+        }
+        return address;
+    }
+
+    private String buildAddress() {
+        String built = format("%s://%s:%s%s",
             getScheme(),
             getDomain(),
             getPort(),
             getContext()
         );
         if (getQuery() != null) {
-            address += "?" + getQuery();
+            built += "?" + getQuery();
         }
-        return address;
+        return built;
     }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal;
+
+/**
+ * A way in which Gasper launches your test application.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public enum LaunchMode {
+    /**
+     * Application is launched as <code>java [jvm options] -jar [artifact]</code>
+     */
+    JAR,
+    /**
+     * Application is launched from Maven classes directory, without packaging, as
+     * <code>java [jvm options] -cp [classes]:[dependencies] [main class]</code>
+     */
+    CLASSPATH,
+    /**
+     * Application is a native executable (for ex.: GraalVM native image) launched directly
+     * from Maven build directory as <code>[executable] [-Dsystem.properties]</code>
+     */
+    NATIVE;
+
+    /**
+     * Checks if given launch mode runs your test application on JVM
+     * @return true if application runs on JVM and accepts JVM options
+     */
+    public boolean isJvm() {
+        return this != NATIVE;
+    }
+}
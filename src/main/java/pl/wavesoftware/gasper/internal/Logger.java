@@ -33,4 +33,10 @@ public class Logger {
             slf.info(message);
         }
     }
+
+    public void warn(String message) {
+        if (settings.getLevel().toInt() <= Level.WARN.toInt()) {
+            slf.warn(message);
+        }
+    }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+
+/**
+ * Discovers a port that test application, started on port <code>0</code>, actually listens on.
+ * <p>
+ * On Linux, listening sockets of the process are found by matching socket inodes of its open file
+ * descriptors with entries of <code>/proc/net/tcp</code> and <code>/proc/net/tcp6</code>. As a fallback, and
+ * to choose between many listening sockets, application log is scanned with port patterns.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public class PortDiscovery {
+    public static final List<Pattern> DEFAULT_LOG_PATTERNS = Collections.unmodifiableList(Arrays.asList(
+        // Spring Boot: Tomcat, Jetty, Undertow, Netty
+        Pattern.compile("started on port(?:\\(s\\))?:? (\\d+)"),
+        // WildFly Swarm: Undertow
+        Pattern.compile("Undertow HTTP listener \\S+ listening on \\S*:(\\d+)")
+    ));
+    private static final Path PROC = Paths.get("/proc");
+    private static final List<String> PROC_NET_TCP = Arrays.asList("net/tcp", "net/tcp6");
+    private static final String SOCKET_PREFIX = "socket:[";
+    private static final String LISTEN_STATE = "0A";
+    private static final int LOCAL_ADDRESS_COLUMN = 1;
+    private static final int STATE_COLUMN = 3;
+    private static final int INODE_COLUMN = 9;
+    private static final int HEX = 16;
+
+    private final long pid;
+    private final Path logFile;
+    private final List<Pattern> logPatterns;
+    private final StringBuilder partialLine = new StringBuilder();
+    private long logOffset;
+    private Integer loggedPort;
+
+    /**
+     * Creates a port discovery for a process
+     * @param pid a pid of test application process
+     * @param logFile a log file of test application, or null if it logs to console
+     * @param logPattern a custom log pattern with port as first group, or null to use defaults
+     */
+    public PortDiscovery(long pid, Path logFile, Pattern logPattern) {
+        this.pid = pid;
+        this.logFile = logFile;
+        this.logPatterns = logPattern == null ? DEFAULT_LOG_PATTERNS : Collections.singletonList(logPattern);
+    }
+
+    /**
+     * Lists ports, that test application could be listening on. A port reported in application log
+     * takes precedence over listening sockets.
+     * @return a list of candidate ports, empty if none was found yet
+     */
+    public List<Integer> discover() {
+        scanLog();
+        if (loggedPort != null) {
+            return Collections.singletonList(loggedPort);
+        }
+        Set<Long> inodes = socketInodes();
+        if (inodes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Integer> ports = new TreeSet<>();
+        for (String table : PROC_NET_TCP) {
+            Path path = PROC.resolve(String.valueOf(pid)).resolve(table);
+            try {
+                ports.addAll(listeningPorts(Files.readAllLines(path, StandardCharsets.US_ASCII), inodes));
+            } catch (IOException ex) {
+                log.trace(format("Can't read %s", path), ex);
+            }
+        }
+        return new ArrayList<>(ports);
+    }
+
+    static Set<Integer> listeningPorts(List<String> table, Set<Long> inodes) {
+        Set<Integer> ports = new TreeSet<>();
+        for (String line : table) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length <= INODE_COLUMN || !LISTEN_STATE.equals(columns[STATE_COLUMN])) {
+                continue;
+            }
+            try {
+                if (inodes.contains(Long.parseLong(columns[INODE_COLUMN]))) {
+                    String address = columns[LOCAL_ADDRESS_COLUMN];
+                    ports.add(Integer.parseInt(address.substring(address.lastIndexOf(':') + 1), HEX));
+                }
+            } catch (NumberFormatException ex) {
+                log.trace(format("Skipping line: %s", line), ex);
+            }
+        }
+        return ports;
+    }
+
+    static Integer portFromLog(String line, List<Pattern> patterns) {
+        for (Pattern pattern : patterns) {
+            Matcher matcher = pattern.matcher(line);
+            if (matcher.find()) {
+                int port = Integer.parseInt(matcher.group(1));
+                if (port > 0) {
+                    return port;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Set<Long> socketInodes() {
+        Set<Long> inodes = new HashSet<>();
+        Path fds = PROC.resolve(String.valueOf(pid)).resolve("fd");
+        if (!Files.isDirectory(fds)) {
+            return inodes;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(fds)) {
+            for (Path fd : stream) {
+                addSocketInode(fd, inodes);
+            }
+        } catch (IOException ex) {
+            log.trace(format("Can't list %s", fds), ex);
+        }
+        return inodes;
+    }
+
+    private static void addSocketInode(Path fd, Set<Long> inodes) {
+        try {
+            String target = Files.readSymbolicLink(fd).toString();
+            if (target.startsWith(SOCKET_PREFIX)) {
+                inodes.add(Long.parseLong(target.substring(SOCKET_PREFIX.length(), target.length() - 1)));
+            }
+        } catch (IOException ex) {
+            // descriptor was closed in the meantime
+            log.trace(format("Can't read %s", fd), ex);
+        }
+    }
+
+    private void scanLog() {
+        if (loggedPort != null || logFile == null || !Files.isRegularFile(logFile)) {
+            return;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(logFile.toFile(), "r")) {
+            if (file.length() <= logOffset) {
+                return;
+            }
+            byte[] bytes = new byte[(int) (file.length() - logOffset)];
+            file.seek(logOffset);
+            file.readFully(bytes);
+            logOffset += bytes.length;
+            partialLine.append(new String(bytes, StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            log.trace(format("Can't read %s", logFile), ex);
+            return;
+        }
+        int end;
+        while (loggedPort == null && (end = partialLine.indexOf("\n")) >= 0) {
+            loggedPort = portFromLog(partialLine.substring(0, end), logPatterns);
+            partialLine.delete(0, end + 1);
+        }
+    }
+}
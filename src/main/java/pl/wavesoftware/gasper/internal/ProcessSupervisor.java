@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Supervises liveness of test application process. A watcher thread waits for process exit, so
+ * startup can be aborted as soon as process dies, and tests fail fast if it dies while testing.
+ * Process started by other JVM, like daemon or shared server, is supervised by polling its pid.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public class ProcessSupervisor {
+    private static final int TAIL_LINES = 40;
+    private static final int TAIL_BYTES = 16 * 1024;
+    private static final long POLL_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    private static final int UNKNOWN_EXIT_CODE = -1;
+
+    private final ExitWaiter waiter;
+    private final Path logFile;
+    private final Logger logger;
+    private final CountDownLatch exited = new CountDownLatch(1);
+    private volatile Integer exitCode;
+    private volatile boolean stopping;
+
+    /**
+     * Creates a supervisor for given process
+     * @param process a test application process
+     * @param logFile a log file of test application, or null if it logs on console
+     * @param settings a Gasper settings
+     */
+    public ProcessSupervisor(Process process, Path logFile, Settings settings) {
+        this(supervisor -> process.waitFor(), logFile, settings);
+    }
+
+    private ProcessSupervisor(ExitWaiter waiter, Path logFile, Settings settings) {
+        this.waiter = waiter;
+        this.logFile = logFile;
+        this.logger = new Logger(log, settings);
+        Thread watcher = new Thread(this::watch, "gasper-process-supervisor");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Creates a supervisor for process started by other JVM, that polls if it's still running
+     * @param pid a pid of test application
+     * @param startTime a start time of test application, as returned by {@link Processes#startTime(long)}
+     * @param settings a Gasper settings
+     * @return a supervisor of given process
+     */
+    public static ProcessSupervisor attached(long pid, String startTime, Settings settings) {
+        return new ProcessSupervisor(supervisor -> {
+            while (Processes.isSameProcess(pid, startTime)) {
+                Thread.sleep(POLL_INTERVAL);
+                if (supervisor.stopping) {
+                    throw new InterruptedException("Supervision of process " + pid + " has ended");
+                }
+            }
+            return UNKNOWN_EXIT_CODE;
+        }, null, settings);
+    }
+
+    /**
+     * Marks that process is being stopped, so it's exit is expected
+     */
+    public void stopping() {
+        stopping = true;
+    }
+
+    /**
+     * Checks if process exited while it wasn't expected
+     * @return true if process died
+     */
+    public boolean hasDied() {
+        return exitCode != null && !stopping;
+    }
+
+    /**
+     * Waits for process to exit
+     * @param timeout a maximum time to wait
+     * @param unit a unit of timeout
+     * @return true if process exited
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitExit(long timeout, TimeUnit unit) throws InterruptedException {
+        return exited.await(timeout, unit);
+    }
+
+    /**
+     * Ensures that process is still alive
+     * @throws EidIllegalStateException if process died
+     */
+    public void checkAlive() {
+        if (hasDied()) {
+            throw new EidIllegalStateException(new Eid("20261019:131005"),
+                "Server process died with %s%s", describeExitCode(), describeLogTail()
+            );
+        }
+    }
+
+    private void watch() {
+        try {
+            exitCode = waiter.waitFor(this);
+            exited.countDown();
+            if (!stopping) {
+                logger.warn(format("Server process died unexpectedly with %s", describeExitCode()));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String describeExitCode() {
+        return exitCode == UNKNOWN_EXIT_CODE ? "unknown exit code" : format("exit code %d", exitCode);
+    }
+
+    private String describeLogTail() {
+        if (logFile == null) {
+            return ", see its console output or log file for details.";
+        }
+        List<String> lines = tail();
+        return format(", last %d lines of %s:%n%s", lines.size(), logFile, String.join(format("%n"), lines));
+    }
+
+    private List<String> tail() {
+        try (RandomAccessFile file = new RandomAccessFile(logFile.toFile(), "r")) {
+            long length = file.length();
+            int size = (int) Math.min(length, TAIL_BYTES);
+            byte[] bytes = new byte[size];
+            file.seek(length - size);
+            file.readFully(bytes);
+            List<String> lines = Arrays.asList(new String(bytes, StandardCharsets.UTF_8).split("\\r?\\n"));
+            return lines.subList(Math.max(0, lines.size() - TAIL_LINES), lines.size());
+        } catch (IOException ex) {
+            log.debug("Can't read log file: " + logFile, ex);
+            return Arrays.asList("<can't read log file: " + ex.getLocalizedMessage() + ">");
+        }
+    }
+
+    @FunctionalInterface
+    private interface ExitWaiter {
+        int waitFor(ProcessSupervisor supervisor) throws InterruptedException;
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkState;
+
+/**
+ * Operating system process utilities that work on Java 8 as well as on newer Java versions.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Processes {
+    public static final long UNKNOWN_PID = -1L;
+    private static final File PROC = new File("/proc");
+    private static final int KILL_WAIT_SECONDS = 10;
+    private static final String RESIDENT = "VmRSS:";
+    private static final String PEAK_RESIDENT = "VmHWM:";
+    private static final long KILOBYTE = 1024L;
+    private static final long UNKNOWN_MEMORY = -1L;
+    private static final int STAT_START_TIME = 19;
+    private static final String ZOMBIE = "Z";
+
+    /**
+     * Retrieves OS process identifier of given process
+     * @param process a process started by this JVM
+     * @return a pid of given process
+     */
+    public static long pid(Process process) {
+        long pid = tryPidMethod(process);
+        if (pid == UNKNOWN_PID) {
+            pid = tryPidField(process);
+        }
+        checkState(pid != UNKNOWN_PID, "20261019:110203",
+            "Can't read pid of process %s", process);
+        return pid;
+    }
+
+    /**
+     * Retrieves OS process identifier of currently running JVM
+     * @return a pid of current JVM
+     */
+    public static long currentPid() {
+        String name = ManagementFactory.getRuntimeMXBean().getName();
+        return Long.parseLong(name.substring(0, name.indexOf('@')));
+    }
+
+    /**
+     * Checks if process with given pid is still running
+     * @param pid a pid of process to check
+     * @return true if process is running
+     */
+    public static boolean isAlive(long pid) {
+        if (PROC.isDirectory()) {
+            return new File(PROC, String.valueOf(pid)).isDirectory();
+        }
+        return execute("kill", "-0", String.valueOf(pid)) == 0;
+    }
+
+    /**
+     * Reads start time of process with given pid, that identifies it together with pid, as pids are
+     * reused by OS. It's the same value, that is recorded by Gasper daemon and shared server registries.
+     * @param pid a pid of process
+     * @return an opaque start time of process, or null if process isn't running or it can't be read
+     */
+    public static String startTime(long pid) {
+        if (PROC.isDirectory()) {
+            Path stat = PROC.toPath().resolve(String.valueOf(pid)).resolve("stat");
+            try {
+                String content = new String(Files.readAllBytes(stat), StandardCharsets.US_ASCII);
+                // process name in parentheses may contain spaces
+                String[] fields = content.substring(content.lastIndexOf(')') + 1).trim().split(" ");
+                boolean running = fields.length > STAT_START_TIME && !ZOMBIE.equals(fields[0]);
+                return running ? fields[STAT_START_TIME] : null;
+            } catch (IOException ex) {
+                log.trace("Can't read start time of process " + pid, ex);
+                return null;
+            }
+        }
+        String start = output("ps", "-o", "lstart=", "-p", String.valueOf(pid)).trim();
+        return start.isEmpty() ? null : start;
+    }
+
+    /**
+     * Checks if process with given pid is still the one, that was started at given time
+     * @param pid a pid of process
+     * @param startTime a start time of process, as returned by {@link #startTime(long)}
+     * @return true if it's the same process, false if it has exited or its pid was reused
+     */
+    public static boolean isSameProcess(long pid, String startTime) {
+        return startTime != null && startTime.equals(startTime(pid));
+    }
+
+    /**
+     * Resolves an executable file of process with given pid
+     * @param pid a pid of process
+     * @return a path to executable of process, or null if it can't be resolved
+     */
+    public static Path executable(long pid) {
+        if (PROC.isDirectory()) {
+            try {
+                return PROC.toPath().resolve(String.valueOf(pid)).resolve("exe").toRealPath();
+            } catch (IOException ex) {
+                log.trace("Can't resolve executable of process " + pid, ex);
+                return null;
+            }
+        }
+        // prints full path of executable on macOS and BSDs
+        Path executable = Paths.get(output("ps", "-o", "comm=", "-p", String.valueOf(pid)).trim());
+        return executable.isAbsolute() ? executable : null;
+    }
+
+    /**
+     * Terminates process with given pid, and waits for it to exit
+     * @param pid a pid of process to terminate
+     */
+    public static void kill(long pid) {
+        if (!isAlive(pid)) {
+            return;
+        }
+        execute("kill", String.valueOf(pid));
+        for (int i = 0; i < KILL_WAIT_SECONDS * Executor.WAIT_STEPS_IN_SECOND && isAlive(pid); i++) {
+            sleep(Executor.WAIT_STEP);
+        }
+        if (isAlive(pid)) {
+            execute("kill", "-9", String.valueOf(pid));
+        }
+    }
+
+    /**
+     * Reads resident set size of process with given pid, from <code>/proc</code> on Linux
+     * @param pid a pid of process
+     * @return a resident memory in bytes, or <code>-1</code> if it can't be read
+     */
+    public static long residentMemory(long pid) {
+        return readStatusMemory(pid, RESIDENT);
+    }
+
+    /**
+     * Reads peak resident set size of process with given pid, from <code>/proc</code> on Linux
+     * @param pid a pid of process
+     * @return a peak resident memory in bytes, or <code>-1</code> if it can't be read
+     */
+    public static long peakResidentMemory(long pid) {
+        return readStatusMemory(pid, PEAK_RESIDENT);
+    }
+
+    private static long readStatusMemory(long pid, String field) {
+        Path status = PROC.toPath().resolve(String.valueOf(pid)).resolve("status");
+        try {
+            for (String line : Files.readAllLines(status, StandardCharsets.US_ASCII)) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.substring(field.length()).replace("kB", "").trim()) * KILOBYTE;
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            log.debug("Can't read " + field + " of process " + pid, ex);
+        }
+        return UNKNOWN_MEMORY;
+    }
+
+    private static long tryPidMethod(Process process) {
+        try {
+            Method method = Process.class.getMethod("pid");
+            return (Long) method.invoke(process);
+        } catch (ReflectiveOperationException ex) {
+            log.trace("No Process.pid() method, Java 8?", ex);
+            return UNKNOWN_PID;
+        }
+    }
+
+    private static long tryPidField(Process process) {
+        try {
+            Field field = process.getClass().getDeclaredField("pid");
+            field.setAccessible(true);
+            return field.getLong(process);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.trace("No pid field in " + process.getClass(), ex);
+            return UNKNOWN_PID;
+        }
+    }
+
+    /**
+     * Executes a command, discarding its output
+     * @param command a command with arguments
+     * @return an exit code of command, or <code>-1</code> if it couldn't be executed in time
+     */
+    public static int execute(String... command) {
+        try {
+            Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+            process.getInputStream().close();
+            if (!process.waitFor(KILL_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroy();
+                return -1;
+            }
+            return process.exitValue();
+        } catch (IOException ex) {
+            log.debug("Can't execute " + String.join(" ", command), ex);
+            return -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static String output(String... command) {
+        try {
+            Process process = new ProcessBuilder(command).start();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (InputStream is = process.getInputStream()) {
+                byte[] buffer = new byte[(int) KILOBYTE];
+                for (int read = is.read(buffer); read >= 0; read = is.read(buffer)) {
+                    output.write(buffer, 0, read);
+                }
+            }
+            return process.waitFor() == 0 ? new String(output.toByteArray(), StandardCharsets.UTF_8) : "";
+        } catch (IOException ex) {
+            log.debug("Can't execute " + String.join(" ", command), ex);
+            return "";
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
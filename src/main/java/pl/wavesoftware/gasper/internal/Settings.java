@@ -18,20 +18,33 @@ package pl.wavesoftware.gasper.internal;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.event.Level;
 import pl.wavesoftware.gasper.Gasper;
+import pl.wavesoftware.gasper.WarmUp;
+import pl.wavesoftware.gasper.internal.tls.TlsPreset;
 
+import javax.net.ssl.SSLContext;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
 import java.util.function.Function;
 
 /**
  * This class represents a set of settings for Gasper. It is used as a POJO with settings.
  * <p>
  * <strong>CAUTION!</strong> It is internal class of Gasper, and shouldn't be used directly. Use gasper configure interface {@link Gasper#configure()} or {@link Gasper#configurations()} to set those settings.
+ * <p>
+ * Settings are created with {@link #builder()}. Bound port, TLS context, Java home and endpoint are
+ * bound while test application starts, so they are left unset when building.
  *
  * @author Krzysztof Suszyński
  * @since 2016-03-05
@@ -39,11 +52,16 @@ import java.util.function.Function;
  * @see Gasper#configurations()
  */
 @Getter
-@RequiredArgsConstructor
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class Settings {
+    private final LaunchMode launchMode;
     private final String packaging;
     private final String classifier;
+    private final String executable;
+    private final String mainClass;
     private final int port;
+    private final String systemPropertyForPort;
     private final Map<String, String> systemProperties;
     private final List<String> jvmOptions;
     private final Map<String, String> environment;
@@ -54,8 +72,94 @@ public class Settings {
     private final int deploymentMaxTime;
     private final Path pomfile;
     private final Level level;
+    private final boolean daemon;
+    private final int daemonMaxIdleTime;
+    private final int httpClientPoolSize;
+    private final WarmUp warmUp;
+    private final int hotspotProfilingFrames;
+    private final Pattern portLogPattern;
+    private final boolean shared;
+    private final boolean resourceAwareSizing;
+    private final int expectedInstances;
+    private final int bootPermits;
+    private final int startupBreakdownComponents;
+    private final String artifactVersion;
+    private final Path trafficRecording;
+    private final String pinnedCpus;
+    private final boolean telemetry;
+    private final boolean threadDumps;
+    private final double threadDumpStartupFraction;
+    private final int slowTestThreshold;
+    private final int heapHistogramTypes;
+    private final long maxRetainedGrowth;
+    private final boolean backgroundStart;
+    private final TlsPreset tlsPreset;
+    private final boolean http2;
+    private final List<Path> javaHomes;
+    private final double cpuLimit;
+    private final long memoryLimit;
+    private Integer boundPort;
+    private SSLContext sslContext;
+    private Path javaHome;
     private HttpEndpoint endpoint;
 
+    /**
+     * Retrieves a port on which test application runs. It is configured port, unless application
+     * was bound to other port, for ex.: when attaching to already running daemon.
+     * @return a port of test application
+     */
+    public int getPort() {
+        return boundPort == null ? port : boundPort;
+    }
+
+    /**
+     * Checks if test application is started on port <code>0</code>, so it binds to any free port,
+     * that needs to be discovered after it starts
+     * @return true if port should be discovered
+     */
+    public boolean isEphemeralPort() {
+        return port == 0;
+    }
+
+    /**
+     * Binds settings to a port on which test application actually runs
+     * @param port an actual port of test application
+     */
+    public void bindPort(int port) {
+        boundPort = port;
+        endpoint = null;
+    }
+
+    /**
+     * Calculates a fingerprint of those settings that affects how test application is executed.
+     * Randomly chosen port is not a part of fingerprint.
+     * @return a fingerprint of settings as hex string
+     */
+    public String getFingerprint() {
+        Map<String, String> properties = new TreeMap<>(systemProperties);
+        if (systemPropertyForPort != null) {
+            properties.remove(systemPropertyForPort);
+        }
+        Hasher hasher = Hashing.murmur3_128().newHasher()
+            .putString(launchMode.name(), StandardCharsets.UTF_8)
+            .putString(packaging, StandardCharsets.UTF_8)
+            .putString(classifier, StandardCharsets.UTF_8)
+            .putString(artifactVersion, StandardCharsets.UTF_8)
+            .putString(executable, StandardCharsets.UTF_8)
+            .putString(mainClass, StandardCharsets.UTF_8)
+            .putString(properties.toString(), StandardCharsets.UTF_8)
+            .putString(jvmOptions.toString(), StandardCharsets.UTF_8)
+            .putString(new TreeMap<>(environment).toString(), StandardCharsets.UTF_8)
+            .putString(context, StandardCharsets.UTF_8)
+            .putString(String.valueOf(tlsPreset), StandardCharsets.UTF_8)
+            .putBoolean(http2)
+            .putString(String.valueOf(getJavaHome()), StandardCharsets.UTF_8)
+            .putDouble(cpuLimit)
+            .putLong(memoryLimit)
+            .putString(pomfile.toAbsolutePath().normalize().toString(), StandardCharsets.UTF_8);
+        return hasher.hash().toString();
+    }
+
     /**
      * Retrieves Java <code>-D</code> style options as map
      * @return a map for Java options
@@ -64,6 +168,34 @@ public class Settings {
         return ImmutableMap.copyOf(systemProperties);
     }
 
+    /**
+     * Retrieves Java installations to run test application on
+     * @return a list of Java installation directories
+     */
+    public List<Path> getJavaHomes() {
+        return ImmutableList.copyOf(javaHomes);
+    }
+
+    /**
+     * Retrieves Java installation, that runs test application. It's first of configured installations,
+     * unless other one was bound.
+     * @return a Java installation directory, or null for <code>java</code> from <code>PATH</code>
+     */
+    public Path getJavaHome() {
+        if (javaHome == null && !javaHomes.isEmpty()) {
+            return javaHomes.get(0);
+        }
+        return javaHome;
+    }
+
+    /**
+     * Binds settings to Java installation, that should run test application
+     * @param javaHome a Java installation directory, or null for default one
+     */
+    public void bindJavaHome(Path javaHome) {
+        this.javaHome = javaHome;
+    }
+
     /**
      * Retrieves Java VM options as list
      * @return a map for Java options
@@ -85,15 +217,43 @@ public class Settings {
         return endpoint;
     }
 
+    /**
+     * Creates an endpoint of test application running on given port
+     * @param port a port of test application
+     * @return an endpoint
+     */
+    public HttpEndpoint getEndpoint(int port) {
+        HttpEndpoint created = new HttpEndpoint(
+            isTls() ? HttpEndpoint.TLS_SCHEME : HttpEndpoint.DEFAULT_SCHEME,
+            HttpEndpoint.DEFAULT_DOMAIN,
+            port,
+            context,
+            HttpEndpoint.DEFAULT_QUERY
+        );
+        created.setSslContext(sslContext);
+        return created;
+    }
+
+    /**
+     * Checks if test application serves TLS
+     * @return true if application is accessed with <code>https</code> scheme
+     */
+    public boolean isTls() {
+        return tlsPreset != null;
+    }
+
+    /**
+     * Binds settings to SSL context, that trusts certificate of test application
+     * @param sslContext a trusting SSL context
+     */
+    public void bindTls(SSLContext sslContext) {
+        this.sslContext = sslContext;
+        endpoint = null;
+    }
+
     private void ensureHttpEndpoint() {
         if (endpoint == null) {
-            endpoint = new HttpEndpoint(
-                HttpEndpoint.DEFAULT_SCHEME,
-                HttpEndpoint.DEFAULT_DOMAIN,
-                port,
-                context,
-                HttpEndpoint.DEFAULT_QUERY
-            );
+            endpoint = getEndpoint(getPort());
         }
     }
 }
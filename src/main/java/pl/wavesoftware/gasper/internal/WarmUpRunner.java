@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal;
+
+import lombok.RequiredArgsConstructor;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.GasperClient;
+import pl.wavesoftware.gasper.WarmUp;
+import pl.wavesoftware.gasper.internal.stats.LatencyConvergence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * Executes a warm-up stage, replaying requests concurrently until latency stabilizes.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@RequiredArgsConstructor
+public class WarmUpRunner {
+    private final WarmUp warmUp;
+    private final GasperClient client;
+
+    /**
+     * Runs warm-up stage
+     * @return a result of warm-up
+     */
+    public WarmUp.Result run() {
+        LatencyConvergence convergence = new LatencyConvergence(warmUp.getWindowSize(), warmUp.getTolerance());
+        List<Consumer<GasperClient>> requests = warmUp.getRequests();
+        AtomicLong counter = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(warmUp.getMaxTime());
+        ExecutorService executor = Executors.newFixedThreadPool(warmUp.getConcurrency());
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < warmUp.getConcurrency(); i++) {
+                futures.add(executor.submit(() -> {
+                    while (!convergence.isConverged() && System.nanoTime() < deadline) {
+                        Consumer<GasperClient> request = requests.get(
+                            (int) (counter.getAndIncrement() % requests.size()));
+                        long begin = System.nanoTime();
+                        request.accept(client);
+                        convergence.record(System.nanoTime() - begin);
+                    }
+                    return convergence.isConverged();
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                tryToExecute((UnsafeSupplier<Boolean>) future::get, "20261019:143357");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new WarmUp.Result(
+            convergence.isConverged(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            counter.get(),
+            convergence.getLastMedian()
+        );
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.daemon;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Processes;
+import pl.wavesoftware.gasper.internal.Settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * A registry of test application daemon, that is kept running between Maven invocations. Daemon is
+ * registered in a state file in Maven build directory, named after {@link Settings#getFingerprint()}.
+ * <p>
+ * Daemon is reused only if artifact checksum matches, otherwise it's restarted. A separate
+ * {@link DaemonWatchdog} process stops daemon after it was not used for configured idle time.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public class DaemonRegistry {
+    private static final String STATE_FILE_FORMAT = "gasper-daemon-%s.properties";
+    private static final String WATCHDOG_LOG_FORMAT = "gasper-daemon-%s.log";
+    private static final int HEARTBEATS_PER_IDLE_TIME = 3;
+
+    private final Settings settings;
+    private final Path artifact;
+    private final Path stateFile;
+    private final Path watchdogLog;
+    private final Logger logger;
+    private String checksum;
+    private long pid = Processes.UNKNOWN_PID;
+    private String startTime;
+    private ScheduledExecutorService heartbeat;
+
+    public DaemonRegistry(Settings settings, Path artifact, File buildDirectory) {
+        this.settings = settings;
+        this.artifact = artifact;
+        String fingerprint = settings.getFingerprint();
+        this.stateFile = buildDirectory.toPath().resolve(format(STATE_FILE_FORMAT, fingerprint));
+        this.watchdogLog = buildDirectory.toPath().resolve(format(WATCHDOG_LOG_FORMAT, fingerprint));
+        this.logger = new Logger(log, settings);
+    }
+
+    /**
+     * Tries to attach to already running daemon with the same settings and artifact
+     * @return true if attached to running daemon, false if it should be started
+     */
+    public boolean attach() {
+        Properties state = readState();
+        if (state == null) {
+            return false;
+        }
+        Long pid = DaemonWatchdog.number(state, DaemonWatchdog.PID);
+        Long port = DaemonWatchdog.number(state, DaemonWatchdog.PORT);
+        String startTime = state.getProperty(DaemonWatchdog.START);
+        if (pid == null || port == null || !Processes.isSameProcess(pid, startTime)) {
+            logger.info(format("Daemon registered in %s is no longer running", stateFile));
+            discard(null);
+            return false;
+        }
+        if (!Objects.equals(state.getProperty(DaemonWatchdog.CHECKSUM), getChecksum())) {
+            logger.info(format("Artifact %s has changed, restarting daemon with pid %d", artifact, pid));
+            discard(state);
+            return false;
+        }
+        if (!isContextAvailable(port.intValue())) {
+            logger.info(format("Daemon with pid %d doesn't respond on port %d, restarting it", pid, port));
+            discard(state);
+            return false;
+        }
+        settings.bindPort(port.intValue());
+        this.pid = pid;
+        this.startTime = startTime;
+        writeState(pid, startTime);
+        startHeartbeat(pid, startTime);
+        logger.info(format("Attached to daemon with pid %d on port %d", pid, port));
+        return true;
+    }
+
+    /**
+     * Gets a pid of daemon this registry has attached to
+     * @return a pid of daemon, or {@link Processes#UNKNOWN_PID} if not attached
+     */
+    public long getPid() {
+        return pid;
+    }
+
+    /**
+     * Gets a start time of daemon this registry has attached to
+     * @return a start time of daemon, as returned by {@link Processes#startTime(long)}
+     */
+    public String getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Registers freshly started test application as a daemon
+     * @param pid a pid of test application
+     */
+    public void register(long pid) {
+        String startTime = Processes.startTime(pid);
+        writeState(pid, startTime);
+        startWatchdog(pid);
+        startHeartbeat(pid, startTime);
+        logger.info(format("Registered daemon with pid %d in: %s", pid, stateFile));
+    }
+
+    /**
+     * Releases daemon, leaving it running for next invocations
+     */
+    public void release() {
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+            heartbeat = null;
+        }
+        touch();
+        logger.info(format("Daemon left running for next %d seconds of inactivity", settings.getDaemonMaxIdleTime()));
+    }
+
+    private boolean isContextAvailable(int port) {
+        return settings.getContextChecker().apply(settings.getEndpoint(port));
+    }
+
+    private void discard(Properties state) {
+        tryToExecute((UnsafeSupplier<Boolean>) () -> Files.deleteIfExists(stateFile), "20261019:111813");
+        if (state == null) {
+            return;
+        }
+        long pid = DaemonWatchdog.number(state, DaemonWatchdog.PID);
+        if (Processes.isSameProcess(pid, state.getProperty(DaemonWatchdog.START))) {
+            Processes.kill(pid);
+        } else {
+            logger.warn(format("Process with pid %d is not the registered daemon, leaving it running", pid));
+        }
+    }
+
+    private void touch() {
+        Properties state = readState();
+        Long pid = state == null ? null : DaemonWatchdog.number(state, DaemonWatchdog.PID);
+        if (pid != null) {
+            writeState(pid, state.getProperty(DaemonWatchdog.START));
+        }
+    }
+
+    private Properties readState() {
+        return tryToExecute((UnsafeSupplier<Properties>) () -> DaemonWatchdog.read(stateFile), "20261019:111527");
+    }
+
+    private synchronized void writeState(long pid, String startTime) {
+        Properties state = new Properties();
+        state.setProperty(DaemonWatchdog.PID, String.valueOf(pid));
+        if (startTime != null) {
+            state.setProperty(DaemonWatchdog.START, startTime);
+        }
+        state.setProperty(DaemonWatchdog.PORT, String.valueOf(settings.getPort()));
+        state.setProperty(DaemonWatchdog.CHECKSUM, getChecksum());
+        state.setProperty(DaemonWatchdog.FINGERPRINT, settings.getFingerprint());
+        state.setProperty(DaemonWatchdog.LAST_USED, String.valueOf(System.currentTimeMillis()));
+        state.setProperty(DaemonWatchdog.MAX_IDLE, String.valueOf(settings.getDaemonMaxIdleTime()));
+        tryToExecute((UnsafeSupplier<Path>) () -> {
+            DaemonWatchdog.store(stateFile, state, "Gasper daemon state");
+            return stateFile;
+        }, "20261019:112137");
+    }
+
+    private void startWatchdog(long pid) {
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        ProcessBuilder pb = new ProcessBuilder(
+            java.toString(), "-Xmx16m", "-cp", watchdogClasspath(),
+            DaemonWatchdog.class.getName(), stateFile.toString(), String.valueOf(pid)
+        );
+        pb.redirectErrorStream(true);
+        pb.redirectOutput(watchdogLog.toFile());
+        tryToExecute((UnsafeSupplier<Process>) pb::start, "20261019:112421");
+    }
+
+    /**
+     * Builds a classpath of watchdog process: Gasper itself, and libraries used by its process and lock
+     * utilities
+     * @return a classpath of watchdog process
+     */
+    static String watchdogClasspath() {
+        List<String> entries = new ArrayList<>();
+        for (Class<?> cls : Arrays.asList(DaemonWatchdog.class, LoggerFactory.class, EidPreconditions.class)) {
+            String entry = tryToExecute((UnsafeSupplier<String>) () -> Paths.get(cls.getProtectionDomain()
+                .getCodeSource().getLocation().toURI()).toString(), "20261019:112309");
+            if (!entries.contains(entry)) {
+                entries.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private void startHeartbeat(long pid, String startTime) {
+        long period = Math.max(1, settings.getDaemonMaxIdleTime() / HEARTBEATS_PER_IDLE_TIME);
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gasper-daemon-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(() -> writeState(pid, startTime), period, period, TimeUnit.SECONDS);
+    }
+
+    private String getChecksum() {
+        if (checksum == null) {
+            checksum = tryToExecute((UnsafeSupplier<String>) () -> artifact.toFile().isDirectory()
+                ? directoryChecksum()
+                : com.google.common.io.Files.hash(artifact.toFile(), Hashing.murmur3_128()).toString(),
+                "20261019:112552");
+        }
+        return checksum;
+    }
+
+    private String directoryChecksum() throws IOException {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        try (Stream<Path> files = Files.walk(artifact)) {
+            files.filter(file -> file.toFile().isFile())
+                .sorted()
+                .forEach(file -> hasher
+                    .putString(artifact.relativize(file).toString(), StandardCharsets.UTF_8)
+                    .putLong(file.toFile().length())
+                    .putLong(file.toFile().lastModified()));
+        }
+        return hasher.hash().toString();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.daemon;
+
+import pl.wavesoftware.gasper.internal.Processes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A watchdog process that stops Gasper daemon after it was not used for configured time.
+ * <p>
+ * <strong>CAUTION!</strong> This class is executed in separate JVM with only Gasper, and libraries needed by
+ * {@link Processes} on classpath (see {@link DaemonRegistry#watchdogClasspath()}), so it can't depend on
+ * any other library.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class DaemonWatchdog {
+    static final String PID = "pid";
+    static final String PORT = "port";
+    static final String START = "start";
+    static final String CHECKSUM = "checksum";
+    static final String FINGERPRINT = "fingerprint";
+    static final String LAST_USED = "last-used";
+    static final String MAX_IDLE = "max-idle";
+    private static final long CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private DaemonWatchdog() {}
+
+    /**
+     * Watches a daemon registered in state file
+     * @param args a path to daemon state file and a pid of daemon process
+     * @throws IOException if state file can't be read
+     * @throws InterruptedException if watchdog was interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path stateFile = Paths.get(args[0]);
+        long pid = Long.parseLong(args[1]);
+        while (true) {
+            Thread.sleep(CHECK_INTERVAL);
+            Properties state;
+            try {
+                state = read(stateFile);
+            } catch (IOException ex) {
+                System.out.printf("Can't read %s, skipping check: %s%n", stateFile, ex);
+                continue;
+            }
+            if (state == null) {
+                return;
+            }
+            Long statePid = number(state, PID);
+            Long lastUsed = number(state, LAST_USED);
+            Long maxIdle = number(state, MAX_IDLE);
+            if (statePid == null || lastUsed == null || maxIdle == null) {
+                System.out.printf("Incomplete state in %s, skipping check%n", stateFile);
+                continue;
+            }
+            if (pid != statePid) {
+                return;
+            }
+            if (!Processes.isSameProcess(pid, state.getProperty(START))) {
+                Files.deleteIfExists(stateFile);
+                return;
+            }
+            long idle = System.currentTimeMillis() - lastUsed;
+            if (idle > TimeUnit.SECONDS.toMillis(maxIdle)) {
+                System.out.printf("Daemon %d idle for %dms, stopping it%n", pid, idle);
+                Files.deleteIfExists(stateFile);
+                Processes.kill(pid);
+                return;
+            }
+        }
+    }
+
+    static Properties read(Path stateFile) throws IOException {
+        if (!stateFile.toFile().isFile()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream is = Files.newInputStream(stateFile)) {
+            properties.load(is);
+        }
+        return properties.getProperty(PID) == null ? null : properties;
+    }
+
+    /**
+     * Stores properties in a file atomically, so concurrent readers never see it partially written
+     * @param file a file to write
+     * @param properties a properties to store
+     * @param comment a comment written in file header
+     * @throws IOException if file can't be written
+     */
+    static void store(Path file, Properties properties, String comment) throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), TEMP_SUFFIX);
+        try {
+            try (OutputStream os = Files.newOutputStream(temp)) {
+                properties.store(os, comment);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static Long number(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.daemon;
+
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Processes;
+import pl.wavesoftware.gasper.internal.Settings;
+import pl.wavesoftware.gasper.internal.resources.HostLock;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * A registry of test application shared between JVM forks, for ex.: Maven Failsafe forks. The first
+ * fork starts test application and publishes it in registry file in Maven build directory, named
+ * after {@link Settings#getFingerprint()}. Other forks attach to it and are registered as holders.
+ * <p>
+ * Registry file is guarded with a {@link HostLock}, that is held by the first fork until test application
+ * becomes ready. Last holder to release it stops test application. A separate
+ * {@link SharedServerWatchdog} process stops it when holders has exited without releasing it.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public class SharedServerRegistry {
+    private static final String REGISTRY_FILE_FORMAT = "gasper-shared-%s.properties";
+    private static final String WATCHDOG_LOG_FORMAT = "gasper-shared-%s.log";
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final Settings settings;
+    private final Path registry;
+    private final Path watchdogLog;
+    private final Logger logger;
+    private final String holder;
+    private HostLock lock;
+    private long serverPid = Processes.UNKNOWN_PID;
+    private String serverStartTime;
+    private boolean owner;
+    private Thread shutdownHook;
+
+    public SharedServerRegistry(Settings settings, File buildDirectory) {
+        this.settings = settings;
+        String fingerprint = settings.getFingerprint();
+        this.registry = buildDirectory.toPath().resolve(format(REGISTRY_FILE_FORMAT, fingerprint));
+        this.watchdogLog = buildDirectory.toPath().resolve(format(WATCHDOG_LOG_FORMAT, fingerprint));
+        this.logger = new Logger(log, settings);
+        long currentPid = Processes.currentPid();
+        this.holder = SharedServerWatchdog.holder(currentPid, SEQUENCE.incrementAndGet(),
+            Processes.startTime(currentPid));
+    }
+
+    /**
+     * Tries to attach to test application already started by other fork. If it's not running,
+     * registry stays locked until test application is started and registered with
+     * {@link #register(long)}, so other forks wait for it instead of starting their own.
+     * @return true if attached to running test application, false if it should be started
+     */
+    public boolean acquire() {
+        lock();
+        Properties state = tryToExecute((UnsafeSupplier<Properties>) () -> DaemonWatchdog.read(registry),
+            "20261019:170102");
+        if (state == null) {
+            return false;
+        }
+        Long pid = DaemonWatchdog.number(state, DaemonWatchdog.PID);
+        Long port = DaemonWatchdog.number(state, DaemonWatchdog.PORT);
+        String startTime = state.getProperty(DaemonWatchdog.START);
+        boolean running = pid != null && Processes.isSameProcess(pid, startTime);
+        Set<String> holders = SharedServerWatchdog.liveHolders(state);
+        if (running && port != null && !holders.isEmpty() && isContextAvailable(port.intValue())) {
+            holders.add(holder);
+            write(state, holders);
+            unlock();
+            serverPid = pid;
+            serverStartTime = startTime;
+            settings.bindPort(port.intValue());
+            addShutdownHook();
+            logger.info(format("Attached to shared server with pid %d on port %d, held by %d forks",
+                pid, port, holders.size()));
+            return true;
+        }
+        logger.info(format("Shared server registered in %s is orphaned or doesn't respond, restarting it",
+            registry));
+        tryToExecute((UnsafeSupplier<Boolean>) () -> Files.deleteIfExists(registry), "20261019:170245");
+        if (running) {
+            Processes.kill(pid);
+        }
+        return false;
+    }
+
+    /**
+     * Gets a pid of test application this fork holds
+     * @return a pid of test application, or {@link Processes#UNKNOWN_PID} if it's not held
+     */
+    public long getServerPid() {
+        return serverPid;
+    }
+
+    /**
+     * Gets a start time of test application this fork holds
+     * @return a start time of test application, as returned by {@link Processes#startTime(long)}
+     */
+    public String getServerStartTime() {
+        return serverStartTime;
+    }
+
+    /**
+     * Registers freshly started test application, so other forks can attach to it
+     * @param pid a pid of test application
+     */
+    public void register(long pid) {
+        String startTime = Processes.startTime(pid);
+        Properties state = new Properties();
+        state.setProperty(DaemonWatchdog.PID, String.valueOf(pid));
+        if (startTime != null) {
+            state.setProperty(DaemonWatchdog.START, startTime);
+        }
+        state.setProperty(DaemonWatchdog.PORT, String.valueOf(settings.getPort()));
+        state.setProperty(DaemonWatchdog.FINGERPRINT, settings.getFingerprint());
+        write(state, Collections.singleton(holder));
+        startWatchdog(pid);
+        unlock();
+        serverPid = pid;
+        serverStartTime = startTime;
+        owner = true;
+        addShutdownHook();
+        logger.info(format("Registered shared server with pid %d in: %s", pid, registry));
+    }
+
+    /**
+     * Releases test application held by this fork
+     * @return true if this fork started test application and should stop it now, as it was the last holder
+     */
+    public boolean release() {
+        if (lock != null) {
+            // test application failed to start
+            unlock();
+            return true;
+        }
+        if (shutdownHook != null) {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            shutdownHook = null;
+        }
+        return releaseHolder();
+    }
+
+    private synchronized boolean releaseHolder() {
+        if (serverPid == Processes.UNKNOWN_PID) {
+            return false;
+        }
+        boolean last = false;
+        lock();
+        try {
+            Properties state = tryToExecute((UnsafeSupplier<Properties>) () -> DaemonWatchdog.read(registry),
+                "20261019:170431");
+            Long pid = state == null ? null : DaemonWatchdog.number(state, DaemonWatchdog.PID);
+            if (pid != null && serverPid == pid) {
+                Set<String> holders = SharedServerWatchdog.liveHolders(state);
+                holders.remove(holder);
+                if (holders.isEmpty()) {
+                    tryToExecute((UnsafeSupplier<Boolean>) () -> Files.deleteIfExists(registry), "20261019:170512");
+                    last = true;
+                } else {
+                    write(state, holders);
+                    logger.info(format("Shared server with pid %d left running for %d other forks",
+                        serverPid, holders.size()));
+                }
+            }
+        } finally {
+            unlock();
+        }
+        long pid = serverPid;
+        serverPid = Processes.UNKNOWN_PID;
+        if (last && !owner && Processes.isSameProcess(pid, serverStartTime)) {
+            logger.info(format("Stopping shared server with pid %d, started by other fork", pid));
+            Processes.kill(pid);
+        }
+        return last && owner;
+    }
+
+    private void addShutdownHook() {
+        shutdownHook = new Thread(() -> {
+            long pid = serverPid;
+            String startTime = serverStartTime;
+            if (releaseHolder() && Processes.isSameProcess(pid, startTime)) {
+                Processes.kill(pid);
+            }
+        }, "gasper-shared-release");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    private boolean isContextAvailable(int port) {
+        return settings.getContextChecker().apply(settings.getEndpoint(port));
+    }
+
+    private void write(Properties state, Set<String> holders) {
+        tryToExecute((UnsafeSupplier<Path>) () -> {
+            SharedServerWatchdog.write(registry, state, holders);
+            return registry;
+        }, "20261019:170722");
+    }
+
+    private void lock() {
+        lock = HostLock.lock(SharedServerWatchdog.lockFile(registry));
+    }
+
+    private void unlock() {
+        try {
+            lock.close();
+        } finally {
+            lock = null;
+        }
+    }
+
+    private void startWatchdog(long pid) {
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        ProcessBuilder pb = new ProcessBuilder(
+            java.toString(), "-Xmx16m", "-cp", DaemonRegistry.watchdogClasspath(),
+            SharedServerWatchdog.class.getName(), registry.toString(), String.valueOf(pid)
+        );
+        pb.redirectErrorStream(true);
+        pb.redirectOutput(watchdogLog.toFile());
+        tryToExecute((UnsafeSupplier<Process>) pb::start, "20261019:171012");
+    }
+}
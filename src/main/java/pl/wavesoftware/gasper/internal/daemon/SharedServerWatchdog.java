@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.daemon;
+
+import pl.wavesoftware.gasper.internal.Processes;
+import pl.wavesoftware.gasper.internal.resources.HostLock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A watchdog process that stops a test application shared between JVM forks, after all of JVMs
+ * holding it has exited, even if they were killed.
+ * <p>
+ * <strong>CAUTION!</strong> This class is executed in separate JVM with only Gasper, and libraries needed by
+ * {@link Processes} and {@link HostLock} on classpath (see {@link DaemonRegistry#watchdogClasspath()}), so it can't depend on
+ * any other library.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class SharedServerWatchdog {
+    static final String HOLDERS = "holders";
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final String SEPARATOR = ",";
+    private static final String HOLDER_SEPARATOR = "-";
+    private static final int HOLDER_PARTS = 3;
+    private static final long CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(2);
+
+    private SharedServerWatchdog() {}
+
+    /**
+     * Watches a shared test application registered in registry file
+     * @param args a path to registry file and a pid of shared test application
+     * @throws IOException if registry file can't be read
+     * @throws InterruptedException if watchdog was interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path registry = Paths.get(args[0]);
+        long pid = Long.parseLong(args[1]);
+        while (true) {
+            Thread.sleep(CHECK_INTERVAL);
+            try (HostLock ignored = HostLock.lock(lockFile(registry))) {
+                Properties state;
+                try {
+                    state = DaemonWatchdog.read(registry);
+                } catch (IOException ex) {
+                    System.out.printf("Can't read %s, skipping check: %s%n", registry, ex);
+                    continue;
+                }
+                if (state == null) {
+                    return;
+                }
+                Long statePid = DaemonWatchdog.number(state, DaemonWatchdog.PID);
+                if (statePid == null) {
+                    System.out.printf("Incomplete registry %s, skipping check%n", registry);
+                    continue;
+                }
+                if (pid != statePid) {
+                    return;
+                }
+                if (!Processes.isSameProcess(pid, state.getProperty(DaemonWatchdog.START))) {
+                    Files.deleteIfExists(registry);
+                    return;
+                }
+                if (liveHolders(state).isEmpty()) {
+                    System.out.printf("All holders of shared server %d have exited, stopping it%n", pid);
+                    Files.deleteIfExists(registry);
+                    Processes.kill(pid);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves a file, that is locked with {@link HostLock} while registry file is read or updated
+     * @param registry a registry file
+     * @return a lock file of registry
+     */
+    static Path lockFile(Path registry) {
+        return registry.resolveSibling(registry.getFileName() + LOCK_SUFFIX);
+    }
+
+    static Set<String> liveHolders(Properties state) {
+        Set<String> holders = new LinkedHashSet<>();
+        for (String holder : state.getProperty(HOLDERS, "").split(SEPARATOR)) {
+            String[] parts = holder.split(HOLDER_SEPARATOR, HOLDER_PARTS);
+            Long pid = parts.length == HOLDER_PARTS ? parse(parts[0]) : null;
+            if (pid != null && Processes.isSameProcess(pid, parts[2])) {
+                holders.add(holder);
+            }
+        }
+        return holders;
+    }
+
+    static void write(Path registry, Properties state, Set<String> holders) throws IOException {
+        state.setProperty(HOLDERS, String.join(SEPARATOR, holders));
+        DaemonWatchdog.store(registry, state, "Gasper shared server registry");
+    }
+
+    /**
+     * Creates a holder identifier of JVM fork, unique even if its pid is reused by OS
+     * @param pid a pid of JVM fork
+     * @param sequence a sequence number of holder in this JVM
+     * @param startTime a start time of JVM fork, as returned by {@link Processes#startTime(long)}
+     * @return a holder identifier
+     */
+    static String holder(long pid, int sequence, String startTime) {
+        return pid + HOLDER_SEPARATOR + sequence + HOLDER_SEPARATOR + startTime;
+    }
+
+    private static Long parse(String pid) {
+        try {
+            return Long.parseLong(pid);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * A histogram of live objects by class, as printed by <code>jcmd GC.class_histogram</code>, which
+ * forces full garbage collection first. Parsing scans output once, without splitting it into lines,
+ * as heaps may hold tens of thousands of classes.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class ClassHistogram {
+    private static final int EXPECTED_LINE_LENGTH = 64;
+
+    private final Map<String, Entry> entries;
+    @Getter
+    private final long instances;
+    @Getter
+    private final long bytes;
+
+    private ClassHistogram(Map<String, Entry> entries) {
+        this.entries = entries;
+        long totalInstances = 0L;
+        long totalBytes = 0L;
+        for (Entry entry : entries.values()) {
+            totalInstances += entry.instances;
+            totalBytes += entry.bytes;
+        }
+        this.instances = totalInstances;
+        this.bytes = totalBytes;
+    }
+
+    /**
+     * Takes a histogram of running JVM, after full garbage collection
+     * @param pid a pid of JVM
+     * @return a histogram
+     */
+    public static ClassHistogram take(long pid) {
+        return parse(JvmTools.jcmd(pid, "GC.class_histogram"));
+    }
+
+    static ClassHistogram parse(String output) {
+        Map<String, Entry> entries = new HashMap<>(Math.max(16, output.length() / EXPECTED_LINE_LENGTH * 4 / 3));
+        int length = output.length();
+        int position = 0;
+        while (position < length) {
+            int end = output.indexOf('\n', position);
+            if (end < 0) {
+                end = length;
+            }
+            parseLine(output, position, end, entries);
+            position = end + 1;
+        }
+        return new ClassHistogram(entries);
+    }
+
+    /**
+     * Computes types which retained more bytes than in earlier histogram
+     * @param earlier an earlier histogram
+     * @return growing types, sorted by growth of retained bytes, descending
+     */
+    public Diff since(ClassHistogram earlier) {
+        List<Growth> growths = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Entry before = earlier.entries.get(entry.getKey());
+            long instanceDelta = entry.getValue().instances - (before == null ? 0L : before.instances);
+            long byteDelta = entry.getValue().bytes - (before == null ? 0L : before.bytes);
+            if (byteDelta > 0L) {
+                growths.add(new Growth(entry.getKey(), instanceDelta, byteDelta));
+            }
+        }
+        growths.sort((left, right) -> Long.compare(right.bytes, left.bytes));
+        return new Diff(Collections.unmodifiableList(growths), instances - earlier.instances, bytes - earlier.bytes);
+    }
+
+    private static void parseLine(String output, int start, int end, Map<String, Entry> entries) {
+        int number = skipSpaces(output, start, end);
+        int numberEnd = digitsEnd(output, number, end);
+        // only entries, like "   1:   1865   149216  [C", not headers or total
+        if (numberEnd == number || numberEnd >= end || output.charAt(numberEnd) != ':') {
+            return;
+        }
+        int position = skipSpaces(output, numberEnd + 1, end);
+        int instancesEnd = digitsEnd(output, position, end);
+        long instances = parseLong(output, position, instancesEnd);
+        position = skipSpaces(output, instancesEnd, end);
+        int bytesEnd = digitsEnd(output, position, end);
+        long bytes = parseLong(output, position, bytesEnd);
+        position = skipSpaces(output, bytesEnd, end);
+        int nameEnd = position;
+        while (nameEnd < end && !Character.isWhitespace(output.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if (nameEnd == position) {
+            return;
+        }
+        String name = output.substring(position, nameEnd);
+        Entry existing = entries.get(name);
+        if (existing == null) {
+            entries.put(name, new Entry(instances, bytes));
+        } else {
+            // the same class name loaded by many class loaders
+            entries.put(name, new Entry(existing.instances + instances, existing.bytes + bytes));
+        }
+    }
+
+    private static int skipSpaces(String output, int start, int end) {
+        int position = start;
+        while (position < end && output.charAt(position) == ' ') {
+            position++;
+        }
+        return position;
+    }
+
+    private static int digitsEnd(String output, int start, int end) {
+        int position = start;
+        while (position < end && Character.isDigit(output.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static long parseLong(String output, int start, int end) {
+        long value = 0L;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (output.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final long instances;
+        private final long bytes;
+    }
+
+    /**
+     * A growth of retained objects of a type
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Growth {
+        private final String type;
+        private final long instances;
+        private final long bytes;
+    }
+
+    /**
+     * A difference of two histograms
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Diff {
+        /**
+         * Types, which retained more bytes, sorted by growth descending
+         */
+        private final List<Growth> growths;
+        private final long instances;
+        private final long bytes;
+
+        /**
+         * Renders a report of top growing types
+         * @param top a number of types to report
+         * @return a report
+         */
+        public String render(int top) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(format("Retained heap %+d bytes, %+d instances%n", bytes, instances));
+            sb.append(format("  %14s %12s  %s%n", "bytes", "instances", "type"));
+            for (Growth growth : growths.subList(0, Math.min(top, growths.size()))) {
+                sb.append(format("  %+14d %+12d  %s%n", growth.bytes, growth.instances, growth.type));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkArgument;
+
+/**
+ * A Java installation, that can run test application. Its version is read from <code>release</code> file
+ * of installation.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@Getter
+@EqualsAndHashCode(of = "path")
+public final class JavaHome {
+    private static final String RELEASE = "release";
+    private static final Pattern RELEASE_ENTRY = Pattern.compile("^([A-Z_]+)=\"?(.*?)\"?$");
+    private static final Pattern VERSION_NUMBERS = Pattern.compile("\\d+");
+    private static final List<String> INSTALLATION_DIRECTORIES = Arrays.asList(
+        "/usr/lib/jvm", "/usr/java", "/opt/java", "/opt/jdk",
+        "/Library/Java/JavaVirtualMachines", "C:\\Program Files\\Java"
+    );
+    private static final List<String> USER_INSTALLATION_DIRECTORIES = Arrays.asList(
+        ".sdkman/candidates/java", ".jdks", ".asdf/installs/java"
+    );
+    private static final String MAC_HOME = "Contents/Home";
+
+    private final Path path;
+    private final String version;
+    private final String vendor;
+
+    private JavaHome(Path path, String version, String vendor) {
+        this.path = path;
+        this.version = version;
+        this.vendor = vendor;
+    }
+
+    /**
+     * Reads Java installation from given directory
+     * @param path a directory of Java installation, like <code>JAVA_HOME</code>
+     * @return a Java installation
+     */
+    public static JavaHome of(Path path) {
+        Path home = resolve(path);
+        checkArgument(home != null, "20261019:235912",
+            "Is not a Java installation, no bin/java in: %s", path);
+        Map<String, String> release = readRelease(home.resolve(RELEASE));
+        String version = release.get("JAVA_VERSION");
+        return new JavaHome(
+            home,
+            version == null ? home.getFileName().toString() : version,
+            release.getOrDefault("IMPLEMENTOR", "")
+        );
+    }
+
+    /**
+     * Discovers Java installations in well known directories, like <code>/usr/lib/jvm</code> or
+     * <code>~/.sdkman/candidates/java</code>, and in <code>JAVA_HOME</code>
+     * @return discovered installations, ordered by version
+     */
+    public static List<JavaHome> discover() {
+        List<Path> candidates = new ArrayList<>();
+        String javaHome = System.getenv("JAVA_HOME");
+        if (javaHome != null) {
+            candidates.add(Paths.get(javaHome));
+        }
+        INSTALLATION_DIRECTORIES.forEach(directory -> candidates.addAll(children(Paths.get(directory))));
+        Path userHome = Paths.get(System.getProperty("user.home"));
+        USER_INSTALLATION_DIRECTORIES.forEach(directory -> candidates.addAll(children(userHome.resolve(directory))));
+        Map<Path, JavaHome> found = new LinkedHashMap<>();
+        for (Path candidate : candidates) {
+            Path home = resolve(candidate);
+            if (home == null) {
+                continue;
+            }
+            try {
+                found.putIfAbsent(home.toRealPath(), of(home));
+            } catch (IOException ex) {
+                log.debug("Can't resolve Java installation " + home, ex);
+            }
+        }
+        List<JavaHome> homes = new ArrayList<>(found.values());
+        homes.sort(Comparator.comparing(JavaHome::getVersion, JavaHome::compareVersions));
+        return homes;
+    }
+
+    /**
+     * @return a <code>java</code> executable of this installation
+     */
+    public Path getExecutable() {
+        return executable(path);
+    }
+
+    /**
+     * @return a major version, like <code>8</code> for <code>1.8.0_392</code> and <code>17</code> for
+     *         <code>17.0.9</code>
+     */
+    public int getFeature() {
+        List<Integer> numbers = numbers(version);
+        if (numbers.isEmpty()) {
+            return 0;
+        }
+        return numbers.get(0) == 1 && numbers.size() > 1 ? numbers.get(1) : numbers.get(0);
+    }
+
+    @Override
+    public String toString() {
+        return vendor.isEmpty() ? version : version + " (" + vendor + ")";
+    }
+
+    /**
+     * Compares Java versions numerically, like <code>1.8.0_392 &lt; 11.0.2 &lt; 17</code>
+     * @param first a version
+     * @param second other version
+     * @return a result of comparison
+     */
+    public static int compareVersions(String first, String second) {
+        List<Integer> firstNumbers = normalized(first);
+        List<Integer> secondNumbers = normalized(second);
+        for (int i = 0; i < Math.min(firstNumbers.size(), secondNumbers.size()); i++) {
+            int compared = Integer.compare(firstNumbers.get(i), secondNumbers.get(i));
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return Integer.compare(firstNumbers.size(), secondNumbers.size());
+    }
+
+    static Map<String, String> parseRelease(List<String> lines) {
+        Map<String, String> release = new LinkedHashMap<>();
+        for (String line : lines) {
+            Matcher matcher = RELEASE_ENTRY.matcher(line.trim());
+            if (matcher.matches()) {
+                release.put(matcher.group(1), matcher.group(2));
+            }
+        }
+        return release;
+    }
+
+    private static Map<String, String> readRelease(Path file) {
+        if (!file.toFile().isFile()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return parseRelease(Files.readAllLines(file, StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            log.debug("Can't read " + file, ex);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static Path resolve(Path candidate) {
+        for (Path home : Arrays.asList(candidate, candidate.resolve(MAC_HOME))) {
+            if (executable(home).toFile().canExecute()) {
+                return home.toAbsolutePath().normalize();
+            }
+        }
+        return null;
+    }
+
+    private static Path executable(Path home) {
+        Path bin = home.resolve("bin");
+        Path windows = bin.resolve("java.exe");
+        return windows.toFile().isFile() ? windows : bin.resolve("java");
+    }
+
+    private static List<Path> children(Path directory) {
+        File[] files = directory.toFile().listFiles(File::isDirectory);
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(files);
+        List<Path> children = new ArrayList<>();
+        for (File file : files) {
+            children.add(file.toPath());
+        }
+        return children;
+    }
+
+    private static List<Integer> normalized(String version) {
+        List<Integer> numbers = numbers(version);
+        // legacy 1.x versions
+        if (numbers.size() > 1 && numbers.get(0) == 1) {
+            return numbers.subList(1, numbers.size());
+        }
+        return numbers;
+    }
+
+    private static List<Integer> numbers(String version) {
+        List<Integer> numbers = new ArrayList<>();
+        Matcher matcher = VERSION_NUMBERS.matcher(version);
+        while (matcher.find()) {
+            numbers.add(Integer.valueOf(matcher.group()));
+        }
+        return numbers;
+    }
+}
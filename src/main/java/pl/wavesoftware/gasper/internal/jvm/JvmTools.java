@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import com.google.common.io.ByteStreams;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Processes;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkState;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * Runs JDK diagnostic tools, like <code>jcmd</code> and <code>jstat</code>, against a running JVM, and
+ * other JDK tools like <code>keytool</code>. Diagnostic tools are taken from JDK running target JVM, as
+ * they can't attach to other Java versions, and other tools from given JDK. JDK running tests is used
+ * if tools can't be found there.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JvmTools {
+    private static final long TOOL_MAX_SECONDS = 60;
+    private static final String JCMD = "jcmd";
+    private static final String JSTAT = "jstat";
+    private static final String KEYTOOL = "keytool";
+
+    /**
+     * Executes a diagnostic command in a running JVM
+     * @param pid a pid of JVM
+     * @param command a command with arguments, like <code>GC.run</code>
+     * @return an output of command
+     */
+    public static String jcmd(long pid, String... command) {
+        List<String> arguments = new ArrayList<>();
+        arguments.add(String.valueOf(pid));
+        arguments.addAll(Arrays.asList(command));
+        return execute(tool(JCMD, javaHomeOf(pid)), arguments);
+    }
+
+    /**
+     * Reads a single sample of statistics of a running JVM
+     * @param option an option of jstat, like <code>-gc</code>
+     * @param pid a pid of JVM
+     * @return a statistic values by column name
+     */
+    public static Map<String, Double> jstat(String option, long pid) {
+        return parseJstat(execute(tool(JSTAT, javaHomeOf(pid)), Arrays.asList(option, String.valueOf(pid))));
+    }
+
+    /**
+     * Checks if JDK tools are available for a running JVM, as they are not shipped with JRE
+     * @param pid a pid of JVM
+     * @return true if tools are available
+     */
+    public static boolean isAvailable(long pid) {
+        return tool(JCMD, javaHomeOf(pid)).toFile().canExecute();
+    }
+
+    static Map<String, Double> parseJstat(String output) {
+        String[] lines = output.trim().split("\\r?\\n");
+        checkState(lines.length >= 2, "20261019:223104", "Unexpected jstat output: %s", output);
+        String[] names = lines[lines.length - 2].trim().split("\\s+");
+        String[] values = lines[lines.length - 1].trim().split("\\s+");
+        Map<String, Double> statistics = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(names.length, values.length); i++) {
+            statistics.put(names[i], parseValue(values[i]));
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Executes <code>keytool</code> of given JDK
+     * @param javaHome a JDK to take keytool from, or null for JDK running tests
+     * @param arguments arguments of keytool
+     * @return an output of keytool
+     */
+    public static String keytool(Path javaHome, String... arguments) {
+        return execute(tool(KEYTOOL, javaHome), Arrays.asList(arguments));
+    }
+
+    private static Double parseValue(String value) {
+        try {
+            return Double.valueOf(value.replace(',', '.'));
+        } catch (NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+
+    private static String execute(Path tool, List<String> arguments) {
+        List<String> command = new ArrayList<>();
+        command.add(tool.toString());
+        command.addAll(arguments);
+        return tryToExecute((UnsafeSupplier<String>) () -> {
+            Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+            byte[] output;
+            try (InputStream input = process.getInputStream()) {
+                output = ByteStreams.toByteArray(input);
+            }
+            checkState(process.waitFor(TOOL_MAX_SECONDS, TimeUnit.SECONDS), "20261019:223141",
+                "%s didn't complete in %d seconds", command, TOOL_MAX_SECONDS);
+            String rendered = new String(output, StandardCharsets.UTF_8);
+            checkState(process.exitValue() == 0, "20261019:223203",
+                "%s failed with exit code %d: %s", command, process.exitValue(), rendered);
+            return rendered;
+        }, "20261019:223225");
+    }
+
+    static Path tool(String name, Path javaHome) {
+        Path testsHome = Paths.get(System.getProperty("java.home"));
+        List<Path> homes = new ArrayList<>();
+        if (javaHome != null) {
+            // JRE of JDK 8 is nested in JDK
+            homes.addAll(Arrays.asList(javaHome, javaHome.getParent()));
+        }
+        homes.addAll(Arrays.asList(testsHome, testsHome.getParent()));
+        for (Path home : homes) {
+            if (home == null) {
+                continue;
+            }
+            for (String executable : Arrays.asList(name, name + ".exe")) {
+                Path tool = home.resolve("bin").resolve(executable);
+                if (tool.toFile().canExecute()) {
+                    return tool;
+                }
+            }
+        }
+        return Paths.get(name);
+    }
+
+    private static Path javaHomeOf(long pid) {
+        Path executable = Processes.executable(pid);
+        Path bin = executable == null ? null : executable.getParent();
+        return bin == null ? null : bin.getParent();
+    }
+}
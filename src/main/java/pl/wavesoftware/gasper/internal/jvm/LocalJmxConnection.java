@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.Closeable;
+import java.io.IOException;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkState;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * A JMX connection to a running JVM, through its local management agent. Agent is started on demand
+ * with <code>jcmd ManagementAgent.start_local</code>, and it accepts connections only from loopback
+ * interface, so nothing is exposed to network.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class LocalJmxConnection implements Closeable {
+    private final long pid;
+    private final JMXConnector connector;
+    private final MBeanServerConnection connection;
+
+    private LocalJmxConnection(long pid, JMXConnector connector) {
+        this.pid = pid;
+        this.connector = connector;
+        this.connection = tryToExecute((UnsafeSupplier<MBeanServerConnection>) connector::getMBeanServerConnection,
+            "20261019:230118");
+    }
+
+    /**
+     * Attaches to running JVM
+     * @param pid a pid of JVM
+     * @return a connection
+     */
+    public static LocalJmxConnection attach(long pid) {
+        JvmTools.jcmd(pid, "ManagementAgent.start_local");
+        String address = PerfCounters.read(pid).getConnectorAddress();
+        checkState(address != null, "20261019:230142", "Local management agent of JVM %d didn't publish its address", pid);
+        JMXConnector connector = tryToExecute((UnsafeSupplier<JMXConnector>) () ->
+            JMXConnectorFactory.connect(new JMXServiceURL(address)), "20261019:230203");
+        return new LocalJmxConnection(pid, connector);
+    }
+
+    /**
+     * @return a pid of connected JVM
+     */
+    public long getPid() {
+        return pid;
+    }
+
+    /**
+     * @return a connection to MBean server of connected JVM
+     */
+    public MBeanServerConnection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public void close() throws IOException {
+        connector.close();
+    }
+}
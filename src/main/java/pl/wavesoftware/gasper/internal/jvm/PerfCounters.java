@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Performance counters of a running HotSpot JVM, as shared in {@link PerfDataFile} or printed by
+ * <code>jcmd PerfCounter.print</code>.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class PerfCounters {
+    public static final String SAFEPOINTS = "sun.rt.safepoints";
+    public static final String SAFEPOINT_TIME = "sun.rt.safepointTime";
+    public static final String SAFEPOINT_SYNC_TIME = "sun.rt.safepointSyncTime";
+    private static final String FREQUENCY = "sun.os.hrt.frequency";
+    private static final Pattern CONNECTOR_ADDRESS = Pattern.compile(
+        "sun\\.management\\.JMXConnectorServer(\\.[0-9]+)?\\.address"
+    );
+    private static final char QUOTE = '"';
+    private static final double MILLIS_IN_SECOND = 1000d;
+
+    private final Map<String, String> counters;
+
+    PerfCounters(Map<String, String> counters) {
+        this.counters = Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * Reads counters of running JVM, from its shared memory file if there's one, or with
+     * <code>jcmd</code> otherwise
+     * @param pid a pid of JVM
+     * @return counters
+     */
+    public static PerfCounters read(long pid) {
+        PerfDataFile file = PerfDataFile.find(pid);
+        if (file != null) {
+            return file.read();
+        }
+        return parse(JvmTools.jcmd(pid, "PerfCounter.print"));
+    }
+
+    static PerfCounters parse(String output) {
+        Map<String, String> counters = new HashMap<>();
+        for (String line : output.split("\\r?\\n")) {
+            int separator = line.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String value = line.substring(separator + 1).trim();
+            if (value.length() >= 2 && value.charAt(0) == QUOTE && value.charAt(value.length() - 1) == QUOTE) {
+                value = value.substring(1, value.length() - 1);
+            }
+            counters.put(line.substring(0, separator).trim(), value);
+        }
+        return new PerfCounters(counters);
+    }
+
+    /**
+     * @param name a name of counter
+     * @return a value of numeric counter, or <code>0</code> if there's no such counter
+     */
+    public long getLong(String name) {
+        String value = counters.get(name);
+        return value == null ? 0L : Long.parseLong(value);
+    }
+
+    /**
+     * @param name a name of counter, holding high resolution timer ticks
+     * @return a value of counter in milliseconds
+     */
+    public double getMillis(String name) {
+        long frequency = getLong(FREQUENCY);
+        return frequency == 0L ? 0d : getLong(name) * MILLIS_IN_SECOND / frequency;
+    }
+
+    /**
+     * @return an address of local JMX connector, or null if local management agent isn't started
+     */
+    public String getConnectorAddress() {
+        for (Map.Entry<String, String> counter : counters.entrySet()) {
+            if (CONNECTOR_ADDRESS.matcher(counter.getKey()).matches()) {
+                return counter.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A shared memory file of HotSpot performance counters, <code>hsperfdata_&lt;user&gt;/&lt;pid&gt;</code>
+ * in temporary directory. It's mapped once and read in place, so reading counters doesn't fork
+ * <code>jcmd</code> nor attach to JVM. It's missing if JVM runs with <code>-XX:-UsePerfData</code> or
+ * <code>-XX:+PerfDisableSharedMem</code>.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class PerfDataFile {
+    private static final int MAGIC = 0xcafec0c0;
+    private static final int SUPPORTED_MAJOR = 2;
+    private static final String DIRECTORY_PREFIX = "hsperfdata_";
+    private static final Path LINUX_TEMP = Paths.get("/tmp");
+    private static final int BYTE_ORDER_OFFSET = 4;
+    private static final int MAJOR_OFFSET = 5;
+    private static final int ENTRY_OFFSET_OFFSET = 24;
+    private static final int ENTRIES_OFFSET = 28;
+    private static final int ENTRY_NAME_OFFSET = 4;
+    private static final int ENTRY_VECTOR_LENGTH_OFFSET = 8;
+    private static final int ENTRY_TYPE_OFFSET = 12;
+    private static final int ENTRY_DATA_OFFSET = 16;
+    private static final byte TYPE_LONG = 'J';
+    private static final byte TYPE_BYTE = 'B';
+
+    private final ByteBuffer buffer;
+
+    PerfDataFile(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps performance counters file of given JVM
+     * @param pid a pid of JVM
+     * @return a mapped file, or null if JVM doesn't share its counters in a supported format
+     */
+    public static PerfDataFile find(long pid) {
+        Path file = locate(pid);
+        if (file == null) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+            if (buffer.capacity() <= ENTRIES_OFFSET || buffer.getInt(0) != MAGIC
+                || buffer.get(MAJOR_OFFSET) != SUPPORTED_MAJOR) {
+                log.debug("Unsupported performance counters file {}", file);
+                return null;
+            }
+            return new PerfDataFile(buffer);
+        } catch (IOException ex) {
+            log.debug("Can't map performance counters file " + file, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Reads current values of numeric and text counters
+     * @return counters
+     */
+    public PerfCounters read() {
+        ByteBuffer data = buffer.duplicate();
+        data.order(data.get(BYTE_ORDER_OFFSET) == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        Map<String, String> counters = new HashMap<>();
+        int entry = data.getInt(ENTRY_OFFSET_OFFSET);
+        int entries = data.getInt(ENTRIES_OFFSET);
+        for (int i = 0; i < entries && entry > 0 && entry < data.capacity(); i++) {
+            int length = data.getInt(entry);
+            if (length <= 0) {
+                break;
+            }
+            String name = text(data, entry + data.getInt(entry + ENTRY_NAME_OFFSET), Integer.MAX_VALUE);
+            int vectorLength = data.getInt(entry + ENTRY_VECTOR_LENGTH_OFFSET);
+            byte type = data.get(entry + ENTRY_TYPE_OFFSET);
+            int value = entry + data.getInt(entry + ENTRY_DATA_OFFSET);
+            if (type == TYPE_LONG && vectorLength == 0) {
+                counters.put(name, Long.toString(data.getLong(value)));
+            } else if (type == TYPE_BYTE && vectorLength > 0) {
+                counters.put(name, text(data, value, vectorLength));
+            }
+            entry += length;
+        }
+        return new PerfCounters(counters);
+    }
+
+    private static String text(ByteBuffer data, int offset, int maxLength) {
+        int end = offset;
+        while (end < data.capacity() && end - offset < maxLength && data.get(end) != 0) {
+            end++;
+        }
+        byte[] bytes = new byte[end - offset];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = data.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static Path locate(long pid) {
+        // HotSpot uses /tmp on Linux, regardless of java.io.tmpdir
+        Path temp = Files.isDirectory(LINUX_TEMP) ? LINUX_TEMP : Paths.get(System.getProperty("java.io.tmpdir"));
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(temp, DIRECTORY_PREFIX + "*")) {
+            for (Path directory : directories) {
+                Path file = directory.resolve(Long.toString(pid));
+                if (Files.isRegularFile(file) && Files.isReadable(file)) {
+                    return file;
+                }
+            }
+        } catch (IOException ex) {
+            log.debug("Can't list performance counters directories in " + temp, ex);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A rule for test methods, that captures a thread dump of test application when a test method runs
+ * longer than a threshold. Thread dump is attached to failure of that test method, if it fails.
+ * Close it, when test application is stopped.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class SlowTestDumps implements TestRule, Closeable {
+    private final ThreadDumps dumps;
+    private final long threshold;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gasper-slow-test-dumps");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a rule
+     * @param dumps thread dumps of test application
+     * @param threshold a time in seconds, after which test method is considered slow
+     */
+    public SlowTestDumps(ThreadDumps dumps, long threshold) {
+        this.dumps = dumps;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                AtomicBoolean started = new AtomicBoolean();
+                CompletableFuture<Path> dump = new CompletableFuture<>();
+                ScheduledFuture<?> scheduled = timer.schedule(() -> {
+                    if (started.compareAndSet(false, true)) {
+                        try {
+                            dump.complete(dumps.capture("slow-test-" + description.getDisplayName()));
+                        } finally {
+                            dump.complete(null);
+                        }
+                    }
+                }, threshold, TimeUnit.SECONDS);
+                try {
+                    base.evaluate();
+                } catch (Throwable failure) {
+                    ThreadDumps.attach(failure, awaitCapture(started, dump));
+                    throw failure;
+                } finally {
+                    started.set(true);
+                    scheduled.cancel(false);
+                }
+            }
+        };
+    }
+
+    /**
+     * Stops a timer of slow test methods
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private static Path awaitCapture(AtomicBoolean started, CompletableFuture<Path> dump) {
+        if (started.compareAndSet(false, true)) {
+            return null;
+        }
+        // thread dump is being captured, or it already was
+        try {
+            return dump.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            log.debug("Thread dump wasn't captured", ex);
+        }
+        return null;
+    }
+}
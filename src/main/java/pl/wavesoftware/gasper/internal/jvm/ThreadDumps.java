@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Processes;
+import pl.wavesoftware.gasper.internal.Settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+import static java.lang.String.format;
+
+/**
+ * Captures thread dumps of test application with <code>jcmd Thread.print</code>, and saves them in
+ * <code>gasper-dumps</code> directory in build directory.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class ThreadDumps {
+    private static final String DIRECTORY = "gasper-dumps";
+    private static final String TIMESTAMP = "yyyyMMdd-HHmmss-SSS";
+    private static final int MAX_REASON_LENGTH = 80;
+
+    private final Settings settings;
+    private final Path directory;
+    private final LongSupplier pid;
+    private Logger logger;
+
+    /**
+     * Creates thread dumps of test application
+     * @param settings settings of Gasper
+     * @param buildDirectory a build directory
+     * @param pid a supplier of test application pid, returning {@link Processes#UNKNOWN_PID} if it's not known
+     */
+    public ThreadDumps(Settings settings, File buildDirectory, LongSupplier pid) {
+        this.settings = settings;
+        this.directory = buildDirectory.toPath().resolve(DIRECTORY);
+        this.pid = pid;
+    }
+
+    /**
+     * Captures a thread dump of test application. Failures are logged and don't interrupt tests.
+     * @param reason a reason of thread dump, a part of file name
+     * @return a saved thread dump, or null if it couldn't be captured
+     */
+    public Path capture(String reason) {
+        long processId = pid.getAsLong();
+        if (processId == Processes.UNKNOWN_PID || !JvmTools.isAvailable(processId)) {
+            return null;
+        }
+        try {
+            String dump = JvmTools.jcmd(processId, "Thread.print", "-l");
+            Files.createDirectories(directory);
+            Path file = directory.resolve(format("%s-%d-%s.txt",
+                new SimpleDateFormat(TIMESTAMP, Locale.ENGLISH).format(new Date()), processId, slug(reason)));
+            Files.write(file, dump.getBytes(StandardCharsets.UTF_8));
+            ensureLogger();
+            logger.warn(format("Thread dump of application (%s) saved to: %s", reason, file));
+            return file;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Can't capture thread dump of application: " + ex.getLocalizedMessage(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Attaches a saved thread dump to a failure, as suppressed exception, so it's reported with it
+     * @param failure a failure
+     * @param dump a saved thread dump, or null
+     */
+    public static void attach(Throwable failure, Path dump) {
+        if (dump == null) {
+            return;
+        }
+        String content;
+        try {
+            content = new String(Files.readAllBytes(dump), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            log.debug("Can't read " + dump, ex);
+            content = "";
+        }
+        failure.addSuppressed(new EidIllegalStateException(new Eid("20261019:232811"),
+            "Thread dump of application, saved to %s:%n%s", dump, content));
+    }
+
+    private static String slug(String reason) {
+        String slug = reason.replaceAll("[^A-Za-z0-9._-]+", "-").replaceAll("^-+|-+$", "");
+        return slug.length() > MAX_REASON_LENGTH ? slug.substring(0, MAX_REASON_LENGTH) : slug;
+    }
+
+    private void ensureLogger() {
+        if (logger == null) {
+            logger = new Logger(log, settings);
+        }
+    }
+}
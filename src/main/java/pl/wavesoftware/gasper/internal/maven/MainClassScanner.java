@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.maven;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkState;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * Scans compiled classes directory for a class with <code>public static void main(String[])</code>
+ * method. If there are many such classes, the one annotated with <code>@SpringBootApplication</code>
+ * is preferred.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MainClassScanner {
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String MAIN_DESCRIPTOR = "([Ljava/lang/String;)V";
+    private static final String SPRING_BOOT_APPLICATION = "SpringBootApplication";
+
+    private final Path classesDirectory;
+    private final List<Path> dependencies;
+
+    /**
+     * Finds a main class in classes directory
+     * @return a fully qualified name of main class
+     */
+    public String scan() {
+        List<String> candidates = findCandidates();
+        List<Class<?>> mains = new ArrayList<>();
+        try (URLClassLoader loader = new URLClassLoader(urls(), getClass().getClassLoader())) {
+            for (String candidate : candidates) {
+                Class<?> cls = load(loader, candidate);
+                if (cls != null && hasMainMethod(cls)) {
+                    mains.add(cls);
+                }
+            }
+            List<Class<?>> applications = mains.stream()
+                .filter(MainClassScanner::isSpringBootApplication)
+                .collect(Collectors.toList());
+            if (applications.size() == 1) {
+                return applications.get(0).getName();
+            }
+        } catch (IOException ex) {
+            log.debug("Can't close class loader", ex);
+        }
+        checkState(mains.size() == 1, "20261019:122844",
+            "Can't determine a main class in %s, found: %s. Use GasperBuilder.usingMainClass() to set it.",
+            classesDirectory, mains
+        );
+        return mains.get(0).getName();
+    }
+
+    private List<String> findCandidates() {
+        return tryToExecute((UnsafeSupplier<List<String>>) () -> {
+            try (Stream<Path> files = Files.walk(classesDirectory)) {
+                return files
+                    .filter(file -> file.toString().endsWith(CLASS_SUFFIX))
+                    .filter(file -> !file.getFileName().toString().contains("$"))
+                    .filter(MainClassScanner::mentionsMainMethod)
+                    .map(this::toClassName)
+                    .collect(Collectors.toList());
+            }
+        }, "20261019:122611");
+    }
+
+    private static boolean mentionsMainMethod(Path classFile) {
+        byte[] bytes = tryToExecute((UnsafeSupplier<byte[]>) () -> Files.readAllBytes(classFile), "20261019:122701");
+        return new String(bytes, StandardCharsets.ISO_8859_1).contains(MAIN_DESCRIPTOR);
+    }
+
+    private String toClassName(Path classFile) {
+        String relative = classesDirectory.relativize(classFile).toString();
+        return relative
+            .substring(0, relative.length() - CLASS_SUFFIX.length())
+            .replace(File.separatorChar, '.');
+    }
+
+    private URL[] urls() {
+        return tryToExecute((UnsafeSupplier<URL[]>) () -> {
+            List<URL> urls = new ArrayList<>();
+            urls.add(classesDirectory.toUri().toURL());
+            for (Path dependency : dependencies) {
+                urls.add(dependency.toUri().toURL());
+            }
+            return urls.toArray(new URL[urls.size()]);
+        }, "20261019:122733");
+    }
+
+    private static Class<?> load(ClassLoader loader, String name) {
+        try {
+            return Class.forName(name, false, loader);
+        } catch (ClassNotFoundException | LinkageError ex) {
+            log.debug("Can't load main class candidate: " + name, ex);
+            return null;
+        }
+    }
+
+    private static boolean hasMainMethod(Class<?> cls) {
+        try {
+            Method main = cls.getMethod("main", String[].class);
+            return Modifier.isStatic(main.getModifiers()) && main.getReturnType() == Void.TYPE;
+        } catch (NoSuchMethodException | LinkageError ex) {
+            log.trace("No main method in " + cls, ex);
+            return false;
+        }
+    }
+
+    private static boolean isSpringBootApplication(Class<?> cls) {
+        try {
+            return Arrays.stream(cls.getAnnotations())
+                .anyMatch(annotation -> annotation.annotationType().getSimpleName().equals(SPRING_BOOT_APPLICATION));
+        } catch (LinkageError ex) {
+            log.trace("Can't read annotations of " + cls, ex);
+            return false;
+        }
+    }
+}
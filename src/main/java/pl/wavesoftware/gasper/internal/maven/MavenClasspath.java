@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.maven;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Settings;
+import pl.wavesoftware.gasper.internal.resources.HostLock;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * Resolves a runtime dependency classpath of Maven project offline, from local repository. Resolved
+ * classpath is cached in a <code>gasper.classpath</code> file in build directory, and it's resolved
+ * again only if <code>pom.xml</code> file is newer then cached classpath. It's resolved by one JVM or
+ * thread at a time, to a temporary file moved in place atomically, so it's never read half-written.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MavenClasspath {
+    public static final String CLASSPATH_FILE = "gasper.classpath";
+    private static final String CLASSPATH_LOG_FILE = "gasper.classpath.log";
+    private static final String CLASSPATH_LOCK_FILE = "gasper.classpath.lock";
+    private static final String CLASSPATH_TEMP_FILE = "gasper.classpath.tmp";
+    private static final int MAX_RESOLVE_MINUTES = 5;
+
+    private final Path pomfile;
+    private final File buildDirectory;
+    private final Settings settings;
+
+    /**
+     * Resolves dependency classpath, using cached one if it's up to date
+     * @return a list of dependency jars
+     */
+    public List<Path> resolve() {
+        Path classpathFile = buildDirectory.toPath().resolve(CLASSPATH_FILE);
+        if (isStale(classpathFile, pomfile)) {
+            try (HostLock ignored = HostLock.lock(buildDirectory.toPath().resolve(CLASSPATH_LOCK_FILE))) {
+                // other JVM or thread could have resolved it in meantime
+                if (isStale(classpathFile, pomfile)) {
+                    generate(classpathFile);
+                }
+            }
+        }
+        String classpath = tryToExecute((UnsafeSupplier<String>) () ->
+            new String(Files.readAllBytes(classpathFile), StandardCharsets.UTF_8), "20261019:121506");
+        return Arrays.stream(classpath.trim().split(File.pathSeparator))
+            .filter(entry -> !entry.isEmpty())
+            .map(Paths::get)
+            .collect(Collectors.toList());
+    }
+
+    static boolean isStale(Path classpathFile, Path pomfile) {
+        File file = classpathFile.toFile();
+        return !file.isFile() || file.lastModified() < pomfile.toFile().lastModified();
+    }
+
+    private void generate(Path classpathFile) {
+        Path logFile = buildDirectory.toPath().resolve(CLASSPATH_LOG_FILE);
+        // written under a lock, so other JVMs don't write it at once
+        Path generated = buildDirectory.toPath().resolve(CLASSPATH_TEMP_FILE);
+        try {
+            runMaven(generated, logFile);
+            tryToExecute((UnsafeSupplier<Path>) () -> Files.move(generated, classpathFile,
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE), "20261019:033603");
+        } finally {
+            tryToExecute((UnsafeSupplier<Boolean>) () -> Files.deleteIfExists(generated), "20261019:033622");
+        }
+    }
+
+    private void runMaven(Path classpathFile, Path logFile) {
+        ProcessBuilder pb = new ProcessBuilder(
+            mavenExecutable(), "-o", "-q", "-B",
+            "-f", pomfile.toAbsolutePath().toString(),
+            "dependency:build-classpath",
+            "-Dmdep.outputFile=" + classpathFile.toAbsolutePath(),
+            "-Dmdep.includeScope=runtime"
+        );
+        pb.redirectErrorStream(true);
+        pb.redirectOutput(logFile.toFile());
+        new Logger(log, settings).info(String.format("Resolving dependency classpath offline for %s", pomfile));
+        int exitCode = tryToExecute((UnsafeSupplier<Integer>) () -> {
+            Process process = pb.start();
+            if (!process.waitFor(MAX_RESOLVE_MINUTES, TimeUnit.MINUTES)) {
+                process.destroy();
+                return process.waitFor();
+            }
+            return process.exitValue();
+        }, "20261019:121702");
+        if (exitCode != 0 || !classpathFile.toFile().isFile()) {
+            throw new EidIllegalStateException(new Eid("20261019:121759"),
+                "Can't resolve dependency classpath offline (exit code: %d), see: %s",
+                exitCode, logFile
+            );
+        }
+    }
+
+    private static String mavenExecutable() {
+        String command = System.getProperty("os.name").toLowerCase(Locale.ENGLISH).contains("win")
+            ? "mvn.cmd" : "mvn";
+        String home = System.getProperty("maven.home", System.getenv("MAVEN_HOME"));
+        if (home != null && Paths.get(home, "bin", command).toFile().canExecute()) {
+            return Paths.get(home, "bin", command).toString();
+        }
+        return command;
+    }
+}
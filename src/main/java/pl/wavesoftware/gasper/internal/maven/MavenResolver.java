@@ -17,13 +17,19 @@
 package pl.wavesoftware.gasper.internal.maven;
 
 import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import pl.wavesoftware.gasper.internal.Settings;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 import static pl.wavesoftware.eid.utils.EidPreconditions.*;
@@ -39,9 +45,19 @@ public class MavenResolver {
     public static final String DEFAULT_BUILD_DIR = "target";
     public static final String DEFAULT_PACKAGING = "jar";
     public static final String DEFAULT_CLASSIFIER = "";
+    public static final String DEFAULT_EXECUTABLE = "";
+    public static final String DEFAULT_MAIN_CLASS = "";
+    public static final String CLASSES_DIR = "classes";
+    private static final List<String> MAIN_CLASS_PROPERTIES = Arrays.asList(
+        "start-class", "mainClass", "main.class", "exec.mainClass"
+    );
+    private static final String MAIN_CLASS_CONFIGURATION = "mainClass";
+    private static final String WINDOWS_EXECUTABLE_SUFFIX = ".exe";
+    private static final String LOCAL_REPOSITORY_PROPERTY = "maven.repo.local";
 
     private static final Path CURRENT_DIR = Paths.get("./");
     private final Model model;
+    private final Path pomfile;
     private final Path pomDirectory;
 
     public MavenResolver() {
@@ -60,6 +76,7 @@ public class MavenResolver {
             return mavenReader.read(is);
         }, "20160305:203232");
         checkNotNull(model, "20160305:203551").setPomFile(pomfile.toFile());
+        this.pomfile = pomfile;
         pomDirectory = pomfile.getParent() == null ? CURRENT_DIR : pomfile.getParent();
         checkArgument(pomDirectory.toFile().isDirectory(), "20160305:181211");
     }
@@ -72,6 +89,31 @@ public class MavenResolver {
         return getBuildArtifact("", classifier);
     }
 
+    /**
+     * Resolves a released version of project artifact from local Maven repository
+     * @param version a version of artifact
+     * @param packaging a packaging, or empty for packaging of project
+     * @param classifier a classifier, or empty for main artifact
+     * @return a path to artifact in local Maven repository
+     */
+    public Path getRepositoryArtifact(String version, String packaging, String classifier) {
+        String pack = Objects.equals(packaging, "") ? getModelPackaging() : packaging;
+        String artifact = Objects.equals(classifier, "")
+            ? String.format("%s-%s.%s", model.getArtifactId(), version, pack)
+            : String.format("%s-%s-%s.%s", model.getArtifactId(), version, classifier, pack);
+        String groupId = model.getGroupId() == null ? model.getParent().getGroupId() : model.getGroupId();
+        Path artifactPath = getLocalRepository()
+            .resolve(groupId.replace('.', File.separatorChar))
+            .resolve(model.getArtifactId())
+            .resolve(version)
+            .resolve(artifact);
+        checkState(artifactPath.toFile().isFile(), "20261019:210114",
+            "Is not a file: %s, fetch it with: mvn dependency:get -Dartifact=%s:%s:%s:%s%s",
+            artifactPath, groupId, model.getArtifactId(), version, pack,
+            Objects.equals(classifier, "") ? "" : ":" + classifier);
+        return artifactPath;
+    }
+
     public Path getBuildArtifact(String packaging, String classifier) {
         String artifact;
         Path dir = getBuildDirectory().toPath();
@@ -89,6 +131,57 @@ public class MavenResolver {
         return artifactPath;
     }
 
+    public Path getNativeExecutable() {
+        return getNativeExecutable(DEFAULT_EXECUTABLE);
+    }
+
+    public Path getNativeExecutable(String name) {
+        Path dir = getBuildDirectory().toPath();
+        String executable = Objects.equals(name, "") ? model.getArtifactId() : name;
+        Path executablePath = dir.resolve(Paths.get(executable));
+        if (!executablePath.toFile().isFile()) {
+            executablePath = dir.resolve(Paths.get(executable + WINDOWS_EXECUTABLE_SUFFIX));
+        }
+        checkState(executablePath.toFile().isFile(), "20261019:100412", "Is not a file: %s", executablePath);
+        checkState(executablePath.toFile().canExecute(), "20261019:100439", "Can't execute file: %s", executablePath);
+        return executablePath;
+    }
+
+    public Path getClassesDirectory() {
+        Path directory = getBuildDirectory().toPath().resolve(CLASSES_DIR);
+        checkState(directory.toFile().isDirectory(), "20261019:123517", "Is not a directory: %s", directory);
+        return directory;
+    }
+
+    public List<Path> getDependencyClasspath(Settings settings) {
+        return new MavenClasspath(pomfile, getBuildDirectory(), settings).resolve();
+    }
+
+    public String getMainClass() {
+        for (String property : MAIN_CLASS_PROPERTIES) {
+            String mainClass = model.getProperties().getProperty(property);
+            if (mainClass != null && !mainClass.contains("${")) {
+                return mainClass;
+            }
+        }
+        List<Plugin> plugins = model.getBuild() == null ? Collections.emptyList() : model.getBuild().getPlugins();
+        for (Plugin plugin : plugins) {
+            String mainClass = findMainClass(plugin.getConfiguration());
+            if (mainClass != null) {
+                return mainClass;
+            }
+        }
+        return DEFAULT_MAIN_CLASS;
+    }
+
+    private static Path getLocalRepository() {
+        String local = System.getProperty(LOCAL_REPOSITORY_PROPERTY);
+        if (local != null) {
+            return Paths.get(local);
+        }
+        return Paths.get(System.getProperty("user.home"), ".m2", "repository");
+    }
+
     public File getBuildDirectory() {
         String set = model.getBuild().getOutputDirectory();
         Path directory = pomDirectory.resolve(Paths.get(set == null ? DEFAULT_BUILD_DIR : set));
@@ -99,4 +192,22 @@ public class MavenResolver {
     public String getModelPackaging() {
         return model.getPackaging() == null ? DEFAULT_PACKAGING : model.getPackaging();
     }
+
+    private static String findMainClass(Object configuration) {
+        if (!(configuration instanceof Xpp3Dom)) {
+            return null;
+        }
+        Xpp3Dom dom = (Xpp3Dom) configuration;
+        if (MAIN_CLASS_CONFIGURATION.equals(dom.getName()) && dom.getValue() != null) {
+            String value = dom.getValue().trim();
+            return value.isEmpty() || value.contains("${") ? null : value;
+        }
+        for (Xpp3Dom child : dom.getChildren()) {
+            String mainClass = findMainClass(child);
+            if (mainClass != null) {
+                return mainClass;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.profiling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Settings;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * Profiles CPU usage of test application with Java Flight Recorder and attributes hot methods
+ * to test methods, that were running while samples were taken.
+ * <p>
+ * Recording is written by test application on exit, and it's parsed with <code>jfr</code> tool of
+ * the JDK that runs tests. Report is written to <code>gasper-hotspots.txt</code> in build directory.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public class HotspotProfiler implements TestRule {
+    private static final String DIRECTORY = "gasper-jfr";
+    private static final String RECORDING = "recording.jfr";
+    private static final String REPORT = "gasper-hotspots.txt";
+    private static final int STACK_DEPTH = 64;
+
+    private final Settings settings;
+    private final Path directory;
+    private final Path recording;
+    private final Path report;
+    private final Queue<HotspotReport.Window> windows = new ConcurrentLinkedQueue<>();
+    private Instant recordingStart = Instant.now();
+    private Logger logger;
+
+    public HotspotProfiler(Settings settings, File buildDirectory) {
+        this.settings = settings;
+        this.directory = buildDirectory.toPath().resolve(DIRECTORY);
+        this.recording = directory.resolve(RECORDING);
+        this.report = buildDirectory.toPath().resolve(REPORT);
+    }
+
+    /**
+     * Prepares a directory for recording and retrieves JVM options that turns flight recording on
+     * @return a list of JVM options for test application
+     */
+    public List<String> getJvmOptions() {
+        tryToExecute((UnsafeSupplier<Path>) () -> {
+            Files.createDirectories(directory);
+            return Files.deleteIfExists(recording) ? recording : directory;
+        }, "20261019:150122");
+        recordingStart = Instant.now();
+        return Arrays.asList(
+            format("-XX:StartFlightRecording=settings=profile,disk=true,dumponexit=true,filename=%s",
+                recording.toAbsolutePath()),
+            format("-XX:FlightRecorderOptions=repository=%s", directory.resolve("repository").toAbsolutePath())
+        );
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                long start = System.currentTimeMillis();
+                try {
+                    base.evaluate();
+                } finally {
+                    windows.add(new HotspotReport.Window(description.getDisplayName(), start, System.currentTimeMillis()));
+                }
+            }
+        };
+    }
+
+    /**
+     * Reads flight recording, written by stopped test application, and reports hot methods for each
+     * of profiled test methods
+     */
+    public void report() {
+        if (windows.isEmpty()) {
+            log("No test methods were profiled, use Gasper#methodRule() as a JUnit @Rule to profile them");
+            return;
+        }
+        Path tool = findJfrTool();
+        if (tool == null) {
+            warn("Can't find jfr tool in %s, hotspots are not reported. Run tests with JDK 11 or newer.",
+                System.getProperty("java.home"));
+            return;
+        }
+        if (!recording.toFile().isFile()) {
+            warn("Flight recording %s wasn't written by test application, hotspots are not reported", recording);
+            return;
+        }
+        HotspotReport hotspots = new HotspotReport(new ArrayList<>(windows), settings.getHotspotProfilingFrames());
+        tryToExecute((UnsafeSupplier<Path>) () -> {
+            Process process = new ProcessBuilder(
+                tool.toString(), "-J-Duser.timezone=UTC", "print",
+                "--events", "jdk.ExecutionSample",
+                "--stack-depth", String.valueOf(STACK_DEPTH),
+                recording.toAbsolutePath().toString()
+            ).redirectError(directory.resolve("jfr.log").toFile()).start();
+            try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                new JfrSampleParser(recordingStart, hotspots::record).parse(reader);
+            }
+            process.waitFor();
+            String rendered = hotspots.render();
+            Files.write(report, rendered.getBytes(StandardCharsets.UTF_8));
+            log("CPU hotspots of test methods (written to %s):%n%s", report, rendered);
+            return report;
+        }, "20261019:150346");
+    }
+
+    private static Path findJfrTool() {
+        Path javaHome = Paths.get(System.getProperty("java.home"));
+        for (Path home : Arrays.asList(javaHome, javaHome.getParent())) {
+            if (home == null) {
+                continue;
+            }
+            for (String name : Arrays.asList("jfr", "jfr.exe")) {
+                Path tool = home.resolve("bin").resolve(name);
+                if (tool.toFile().canExecute()) {
+                    return tool;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void log(String frmt, Object... args) {
+        ensureLogger();
+        logger.info(format(frmt, args));
+    }
+
+    private void warn(String frmt, Object... args) {
+        ensureLogger();
+        logger.warn(format(frmt, args));
+    }
+
+    private void ensureLogger() {
+        if (logger == null) {
+            logger = new Logger(log, settings);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.profiling;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Attributes CPU samples of test application to test methods, that were running while samples
+ * were taken. Each sample is counted for the first frame that belongs to application code, skipping
+ * frames of JDK itself.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+final class HotspotReport {
+    private static final String[] JDK_PACKAGES = {"java.", "javax.", "jdk.", "sun.", "com.sun."};
+
+    private final int topFrames;
+    private final Map<Window, Map<String, Integer>> hotspots = new LinkedHashMap<>();
+
+    HotspotReport(List<Window> windows, int topFrames) {
+        this.topFrames = topFrames;
+        windows.forEach(window -> hotspots.put(window, new HashMap<>()));
+    }
+
+    /**
+     * Records a sample parsed from output of <code>jfr print</code>
+     * @param sample a sample to record
+     */
+    void record(JfrSampleParser.Sample sample) {
+        record(sample.getTime().toEpochMilli(), sample.getFrames());
+    }
+
+    void record(long time, List<String> frames) {
+        if (frames.isEmpty()) {
+            return;
+        }
+        String frame = attribute(frames);
+        hotspots.forEach((window, counts) -> {
+            if (window.contains(time)) {
+                counts.merge(frame, 1, Integer::sum);
+            }
+        });
+    }
+
+    String render() {
+        StringBuilder sb = new StringBuilder();
+        hotspots.forEach((window, counts) -> {
+            int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+            sb.append(format("%s - %d samples in %dms%n", window.getName(), total, window.getEnd() - window.getStart()));
+            counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()))
+                .limit(topFrames)
+                .forEach(entry -> sb.append(format("  %5.1f%% %6d  %s%n",
+                    100d * entry.getValue() / total, entry.getValue(), entry.getKey())));
+        });
+        return sb.toString();
+    }
+
+    private static String attribute(List<String> frames) {
+        return frames.stream()
+            .filter(frame -> !isJdkFrame(frame))
+            .findFirst()
+            .orElse(frames.get(0));
+    }
+
+    private static boolean isJdkFrame(String frame) {
+        for (String jdkPackage : JDK_PACKAGES) {
+            if (frame.startsWith(jdkPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static final class Window {
+        private final String name;
+        private final long start;
+        private final long end;
+
+        boolean contains(long time) {
+            return time >= start && time <= end;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.profiling;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Parses <code>jdk.ExecutionSample</code> events printed by <code>jfr print</code> tool. Parsing is done
+ * line by line, so even large recordings can be processed without loading them into memory.
+ * <p>
+ * Tool must be run with <code>-Duser.timezone=UTC</code>, so times are printed in UTC. Newer tools print
+ * time of sample together with its date, for example <code>23:59:59.500 (2026-10-19)</code>. Older ones
+ * (up to JDK 17) print only time of day, so date is taken from start of recording, and times of day
+ * earlier than start of recording belong to the next day.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@RequiredArgsConstructor
+final class JfrSampleParser {
+    private static final String EVENT_START = "jdk.ExecutionSample {";
+    private static final String EVENT_END = "}";
+    private static final String START_TIME = "startTime = ";
+    private static final String STACK_START = "stackTrace = [";
+    private static final String STACK_END = "]";
+    private static final String TRUNCATED = "...";
+    private static final String LINE = " line:";
+    private static final char DATE_START = '(';
+    private static final char DATE_END = ')';
+
+    private final Instant recordingStart;
+    private final Consumer<Sample> consumer;
+
+    void parse(BufferedReader reader) throws IOException {
+        String line;
+        Instant time = null;
+        List<String> frames = null;
+        boolean inStack = false;
+        while ((line = reader.readLine()) != null) {
+            String trimmed = line.trim();
+            if (trimmed.equals(EVENT_START)) {
+                time = null;
+                frames = new ArrayList<>();
+            } else if (frames == null) {
+                continue;
+            } else if (inStack) {
+                if (trimmed.equals(STACK_END)) {
+                    inStack = false;
+                } else if (!trimmed.equals(TRUNCATED)) {
+                    frames.add(stripLine(trimmed));
+                }
+            } else if (trimmed.startsWith(START_TIME)) {
+                time = parseTime(trimmed.substring(START_TIME.length()));
+            } else if (trimmed.equals(STACK_START)) {
+                inStack = true;
+            } else if (trimmed.equals(EVENT_END)) {
+                if (time != null) {
+                    consumer.accept(new Sample(time, Collections.unmodifiableList(frames)));
+                }
+                frames = null;
+            }
+        }
+    }
+
+    private Instant parseTime(String value) {
+        int space = value.indexOf(' ');
+        LocalTime time = LocalTime.parse(space < 0 ? value : value.substring(0, space));
+        int dateStart = value.indexOf(DATE_START);
+        int dateEnd = value.indexOf(DATE_END, dateStart + 1);
+        if (dateStart >= 0 && dateEnd > dateStart) {
+            LocalDate date = LocalDate.parse(value.substring(dateStart + 1, dateEnd));
+            return LocalDateTime.of(date, time).toInstant(ZoneOffset.UTC);
+        }
+        LocalDateTime start = LocalDateTime.ofInstant(recordingStart, ZoneOffset.UTC);
+        LocalDate date = time.isBefore(start.toLocalTime()) ? start.toLocalDate().plusDays(1) : start.toLocalDate();
+        return LocalDateTime.of(date, time).toInstant(ZoneOffset.UTC);
+    }
+
+    private static String stripLine(String frame) {
+        int line = frame.indexOf(LINE);
+        return line < 0 ? frame : frame.substring(0, line);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static final class Sample {
+        private final Instant time;
+        private final List<String> frames;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Processes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * Tracks test applications running at once on this host, by all JVMs. Each of them is reserved as
+ * a file in temporary directory, named after pid of JVM that started it, and holding its start time,
+ * as pids are reused by OS. Files of JVMs, that are no longer running, are ignored and removed.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class ActiveInstances {
+    private static final Path DIRECTORY = Paths.get(System.getProperty("java.io.tmpdir"), "gasper-instances");
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final String RESERVATION = "\\d+-\\d+";
+
+    private final Path reservation;
+
+    private ActiveInstances(Path reservation) {
+        this.reservation = reservation;
+    }
+
+    /**
+     * Reserves a test application, that is about to start
+     * @return a reservation, to be released after test application stops
+     */
+    public static ActiveInstances reserve() {
+        long pid = Processes.currentPid();
+        String startTime = Objects.toString(Processes.startTime(pid), "");
+        Path reservation = DIRECTORY.resolve(pid + "-" + SEQUENCE.incrementAndGet());
+        return tryToExecute((UnsafeSupplier<ActiveInstances>) () -> {
+            Files.createDirectories(DIRECTORY);
+            Files.write(reservation, startTime.getBytes(StandardCharsets.UTF_8));
+            return new ActiveInstances(reservation);
+        }, "20261019:180114");
+    }
+
+    /**
+     * Counts test applications running at once, including this one
+     * @return a number of running test applications
+     */
+    public int count() {
+        int count = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(DIRECTORY)) {
+            for (Path file : stream) {
+                if (isAlive(file)) {
+                    count++;
+                } else {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException ex) {
+            log.trace(format("Can't count instances in %s", DIRECTORY), ex);
+        }
+        return Math.max(1, count);
+    }
+
+    static boolean isAlive(Path reservation) throws IOException {
+        String name = reservation.getFileName().toString();
+        if (!name.matches(RESERVATION)) {
+            return false;
+        }
+        long pid = Long.parseLong(name.substring(0, name.indexOf('-')));
+        String startTime = new String(Files.readAllBytes(reservation), StandardCharsets.UTF_8);
+        // start time can't be read on some platforms
+        return startTime.isEmpty() ? Processes.isAlive(pid) : Processes.isSameProcess(pid, startTime);
+    }
+
+    /**
+     * Releases this test application
+     */
+    public void release() {
+        tryToExecute((UnsafeSupplier<Boolean>) () -> Files.deleteIfExists(reservation), "20261019:180245");
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Processes;
+import pl.wavesoftware.gasper.internal.Settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * Limits a number of test applications booting at once on this host, by all JVMs. Boots are
+ * admitted in order they were requested. Each request is a ticket file in temporary directory,
+ * numbered under a file lock, that holds a start time of requesting JVM. A boot is admitted when its
+ * ticket is among first permitted tickets of running JVMs. Tickets of JVMs, that has exited, are
+ * removed, even if their pid was reused.
+ * <p>
+ * Boot metrics are appended to <code>gasper-boot-metrics.csv</code> in build directory.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class BootAdmission {
+    private static final Path DIRECTORY = Paths.get(System.getProperty("java.io.tmpdir"), "gasper-boot");
+    private static final String TICKET_FORMAT = "%019d-%d.ticket";
+    private static final String TICKET_SUFFIX = ".ticket";
+    private static final String METRICS = "gasper-boot-metrics.csv";
+    private static final String METRICS_HEADER = "requested,permits,queued,waited_ms,boot_ms,succeeded";
+    private static final long POLL_INTERVAL = 100L;
+    private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+    private final Settings settings;
+    private final Path directory;
+    private final Path lock;
+    private final Path sequence;
+    private final Path metrics;
+    private final Logger logger;
+    private Path ticket;
+    private int queued;
+    private long requested;
+    private long admitted;
+
+    public BootAdmission(Settings settings, File buildDirectory) {
+        this(settings, buildDirectory, DIRECTORY);
+    }
+
+    BootAdmission(Settings settings, File buildDirectory, Path directory) {
+        this.settings = settings;
+        this.directory = directory;
+        this.lock = directory.resolve("queue.lock");
+        this.sequence = directory.resolve("queue.sequence");
+        this.metrics = buildDirectory.toPath().resolve(METRICS);
+        this.logger = new Logger(log, settings);
+    }
+
+    /**
+     * Waits until boot of test application is admitted, but no longer than maximum deployment time.
+     * A ticket is withdrawn, if waiting fails or is interrupted.
+     * @throws EidIllegalStateException if boot isn't admitted in time, or waiting is interrupted
+     */
+    public void acquire() {
+        requested = System.currentTimeMillis();
+        admitted = 0L;
+        long pid = Processes.currentPid();
+        String startTime = Objects.toString(Processes.startTime(pid), "");
+        try (HostLock ignored = HostLock.lock(lock)) {
+            ticket = directory.resolve(format(TICKET_FORMAT, nextSequence(), pid));
+            tryToExecute((UnsafeSupplier<Path>) () -> Files.write(ticket,
+                startTime.getBytes(StandardCharsets.UTF_8)), "20261019:190523");
+        }
+        try {
+            awaitAdmission();
+        } catch (RuntimeException ex) {
+            withdraw();
+            throw ex;
+        }
+    }
+
+    private void awaitAdmission() {
+        try (HostLock ignored = HostLock.lock(lock)) {
+            queued = Math.max(0, liveTickets().indexOf(ticket) - settings.getBootPermits() + 1);
+        }
+        if (queued > 0) {
+            logger.info(format("Waiting for %d boots ahead in queue, %d boots permitted at once",
+                queued, settings.getBootPermits()));
+        }
+        long reported = requested;
+        long deadline = requested + TimeUnit.SECONDS.toMillis(settings.getDeploymentMaxTime());
+        while (!isAdmitted()) {
+            long now = System.currentTimeMillis();
+            if (now >= deadline) {
+                throw new EidIllegalStateException(new Eid("20261019:033012"),
+                    "Boot wasn't admitted after maximum deployment time of %ds, %d boots permitted at once",
+                    settings.getDeploymentMaxTime(), settings.getBootPermits());
+            }
+            if (now - reported >= REPORT_INTERVAL) {
+                logger.info(format("Still waiting for boot admission, for %dms", now - requested));
+                reported = now;
+            }
+            sleep();
+        }
+        admitted = System.currentTimeMillis();
+        if (queued > 0) {
+            logger.info(format("Boot admitted after waiting %dms", admitted - requested));
+        }
+    }
+
+    /**
+     * Releases admission, after test application booted or failed to boot
+     * @param succeeded true if test application booted
+     */
+    public void release(boolean succeeded) {
+        if (ticket == null) {
+            return;
+        }
+        tryToExecute((UnsafeSupplier<Boolean>) () -> Files.deleteIfExists(ticket), "20261019:190649");
+        ticket = null;
+        if (admitted == 0L) {
+            return;
+        }
+        long released = System.currentTimeMillis();
+        logger.info(format("Boot took %dms after admission, %dms after request",
+            released - admitted, released - requested));
+        writeMetrics(succeeded, released);
+    }
+
+    private void withdraw() {
+        try {
+            Files.deleteIfExists(ticket);
+        } catch (IOException ex) {
+            log.warn("Can't withdraw boot ticket " + ticket, ex);
+        }
+        ticket = null;
+    }
+
+    private boolean isAdmitted() {
+        try (HostLock ignored = HostLock.lock(lock)) {
+            int position = liveTickets().indexOf(ticket);
+            return position >= 0 && position < settings.getBootPermits();
+        }
+    }
+
+    private long nextSequence() {
+        return tryToExecute((UnsafeSupplier<Long>) () -> {
+            long next = 0L;
+            if (Files.isRegularFile(sequence)) {
+                String value = new String(Files.readAllBytes(sequence), StandardCharsets.US_ASCII).trim();
+                next = value.isEmpty() ? 0L : Long.parseLong(value);
+            }
+            next++;
+            Files.write(sequence, String.valueOf(next).getBytes(StandardCharsets.US_ASCII));
+            return next;
+        }, "20261019:190734");
+    }
+
+    private List<Path> liveTickets() {
+        return tryToExecute((UnsafeSupplier<List<Path>>) () -> {
+            List<Path> tickets = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + TICKET_SUFFIX)) {
+                for (Path file : stream) {
+                    if (isAlive(file)) {
+                        tickets.add(file);
+                    } else {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+            Collections.sort(tickets);
+            return tickets;
+        }, "20261019:190812");
+    }
+
+    private static boolean isAlive(Path ticket) throws IOException {
+        String name = ticket.getFileName().toString();
+        long pid;
+        try {
+            pid = Long.parseLong(name.substring(name.indexOf('-') + 1, name.length() - TICKET_SUFFIX.length()));
+        } catch (NumberFormatException | StringIndexOutOfBoundsException ex) {
+            log.trace(format("Invalid ticket: %s", name), ex);
+            return false;
+        }
+        String startTime = new String(Files.readAllBytes(ticket), StandardCharsets.UTF_8);
+        // start time can't be read on some platforms
+        return startTime.isEmpty() ? Processes.isAlive(pid) : Processes.isSameProcess(pid, startTime);
+    }
+
+    private void writeMetrics(boolean succeeded, long released) {
+        String line = String.join(",",
+            String.valueOf(requested),
+            String.valueOf(settings.getBootPermits()),
+            String.valueOf(queued),
+            String.valueOf(admitted - requested),
+            String.valueOf(released - admitted),
+            String.valueOf(succeeded)
+        );
+        try (HostLock ignored = HostLock.lock(lock)) {
+            tryToExecute((UnsafeSupplier<Path>) () -> {
+                if (!Files.isRegularFile(metrics)) {
+                    Files.write(metrics, Collections.singletonList(METRICS_HEADER), StandardCharsets.UTF_8);
+                }
+                return Files.write(metrics, Collections.singletonList(line), StandardCharsets.UTF_8,
+                    StandardOpenOption.APPEND);
+            }, "20261019:190903");
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new EidIllegalStateException(new Eid("20261019:190951"), ex);
+        }
+    }
+}
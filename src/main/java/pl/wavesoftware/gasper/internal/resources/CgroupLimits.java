@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Processes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkState;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * CPU and memory limits of test application, applied with a fresh cgroup v2 created in a subtree delegated
+ * to this JVM, like in a container. Application is moved to the cgroup by a shell wrapper, before it
+ * executes the actual command. Throttling and OOM events are read from <code>cpu.stat</code> and
+ * <code>memory.events</code> of the cgroup.
+ * <p>
+ * A subtree is delegated when its <code>cgroup.procs</code> and <code>cgroup.subtree_control</code> are
+ * owned by user running this JVM. Controllers enabled in it by Gasper are disabled again, after last
+ * Gasper cgroup in it is removed.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public final class CgroupLimits {
+    public static final long CPU_PERIOD_MICROS = 100_000L;
+    private static final Path MOUNTINFO = Paths.get("/proc/self/mountinfo");
+    private static final Path SELF_CGROUP = Paths.get("/proc/self/cgroup");
+    private static final String CGROUP2 = "cgroup2";
+    private static final String UNIFIED = "";
+    private static final String CPU = "cpu";
+    private static final String MEMORY = "memory";
+    private static final long MEBIBYTE = 1024L * 1024L;
+    private static final String PROCS = "cgroup.procs";
+    private static final String SUBTREE_CONTROL = "cgroup.subtree_control";
+    private static final String CGROUP_PREFIX = "gasper-";
+    private static final Path STATE_DIRECTORY = Paths.get(System.getProperty("java.io.tmpdir"), "gasper-cgroups");
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private final Path cgroup;
+    private final double cpus;
+    private final long memory;
+
+    /**
+     * Prepares a cgroup with given limits, as a child of cgroup of this JVM or its sibling, whichever
+     * is delegated to this user. Cgroup is created by {@link #apply()}.
+     * @param cpus a number of processors, like <code>1.5</code>, or <code>0</code> for no limit
+     * @param memory a memory limit in bytes, or <code>0</code> for no limit
+     * @return prepared limits
+     * @throws EidIllegalStateException if cgroup v2 delegation is not available
+     */
+    public static CgroupLimits prepare(double cpus, long memory) {
+        Path mount = cgroup2Mount(readLines(MOUNTINFO));
+        checkState(mount != null, "20261019:235954", "No cgroup v2 hierarchy is mounted");
+        String own = HostResources.cgroupPaths(readLines(SELF_CGROUP)).get(UNIFIED);
+        checkState(own != null, "20261019:235956", "This JVM is not in cgroup v2 hierarchy");
+        Path current = mount.resolve(own.replaceFirst("^/", "")).normalize();
+        return prepare(mount, current, currentUid(), cpus, memory);
+    }
+
+    static CgroupLimits prepare(Path mount, Path current, int uid, double cpus, long memory) {
+        List<String> controllers = controllers(cpus, memory);
+        List<String> problems = new ArrayList<>();
+        // processes can't live in a cgroup, that delegates controllers, so a sibling of own cgroup is tried too
+        for (Path parent : Arrays.asList(current, current.getParent())) {
+            if (parent == null || !parent.startsWith(mount)) {
+                continue;
+            }
+            String problem = checkDelegated(parent, uid, controllers);
+            if (problem == null) {
+                Path cgroup = parent.resolve(format("%s%d-%d",
+                    CGROUP_PREFIX, Processes.currentPid(), COUNTER.incrementAndGet()));
+                return new CgroupLimits(cgroup, cpus, memory);
+            }
+            problems.add(problem);
+        }
+        throw new EidIllegalStateException(new Eid("20261019:235957"),
+            "cgroup v2 subtree is not delegated: %s", String.join(", ", problems));
+    }
+
+    /**
+     * Creates this cgroup with its limits, enabling controllers in delegated subtree if needed
+     * @throws EidIllegalStateException if cgroup can't be created
+     */
+    public void apply() {
+        Path parent = cgroup.getParent();
+        try (HostLock ignored = HostLock.lock(stateFile(parent, ".lock"))) {
+            enableControllers(parent, controllers(cpus, memory));
+            tryToExecute((UnsafeSupplier<Path>) () -> {
+                Files.createDirectory(cgroup);
+                if (cpus > 0d) {
+                    Files.write(cgroup.resolve("cpu.max"), cpuMax(cpus).getBytes(StandardCharsets.US_ASCII));
+                }
+                if (memory > 0L) {
+                    Files.write(cgroup.resolve("memory.max"),
+                        String.valueOf(memory).getBytes(StandardCharsets.US_ASCII));
+                    disableSwap(cgroup);
+                }
+                return cgroup;
+            }, "20261019:235959");
+        } catch (RuntimeException ex) {
+            remove();
+            throw ex;
+        }
+    }
+
+    /**
+     * Checks that this cgroup can be created, by creating and removing it, so a failure is known before
+     * application is started
+     * @throws EidIllegalStateException if cgroup can't be created
+     */
+    public void verify() {
+        apply();
+        remove();
+    }
+
+    /**
+     * Retrieves a command prefix, that moves application to this cgroup, and executes its command
+     * @return a command prefix
+     */
+    public List<String> getCommand() {
+        return Arrays.asList(
+            "sh", "-c", "echo $$ > \"$0\" && exec \"$@\"",
+            cgroup.resolve(PROCS).toString()
+        );
+    }
+
+    /**
+     * Reads usage of resources by processes of this cgroup
+     * @return a usage
+     */
+    public Usage usage() {
+        Map<String, Long> cpu = parseKeyed(readLines(cgroup.resolve("cpu.stat")));
+        Map<String, Long> events = parseKeyed(readLines(cgroup.resolve("memory.events")));
+        List<String> peak = readLines(cgroup.resolve("memory.peak"));
+        return new Usage(
+            cpus, memory,
+            cpu.getOrDefault("usage_usec", 0L),
+            cpu.getOrDefault("nr_periods", 0L),
+            cpu.getOrDefault("nr_throttled", 0L),
+            cpu.getOrDefault("throttled_usec", 0L),
+            peak.isEmpty() ? -1L : Long.parseLong(peak.get(0).trim()),
+            events.getOrDefault("max", 0L),
+            events.getOrDefault("oom_kill", 0L)
+        );
+    }
+
+    /**
+     * Removes this cgroup, when application has exited, and disables controllers enabled by Gasper
+     * in delegated subtree, if it was the last Gasper cgroup in it
+     */
+    public void remove() {
+        Path parent = cgroup.getParent();
+        try (HostLock ignored = HostLock.lock(stateFile(parent, ".lock"))) {
+            try {
+                Files.deleteIfExists(cgroup);
+            } catch (IOException ex) {
+                log.debug("Can't remove cgroup " + cgroup, ex);
+            }
+            if (!hasGasperCgroups(parent)) {
+                disableControllers(parent);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        List<String> limits = new ArrayList<>();
+        if (cpus > 0d) {
+            limits.add(format("%.2f cpus", cpus));
+        }
+        if (memory > 0L) {
+            limits.add(format("%dMiB memory", memory / MEBIBYTE));
+        }
+        return format("%s in cgroup %s", String.join(", ", limits), cgroup);
+    }
+
+    static Path cgroup2Mount(List<String> mountinfo) {
+        for (String line : mountinfo) {
+            // 42 32 0:38 / /sys/fs/cgroup/unified rw,relatime - cgroup2 cgroup2 rw
+            String[] sides = line.split(" - ", 2);
+            String[] mount = sides[0].split(" ");
+            if (sides.length == 2 && sides[1].startsWith(CGROUP2 + " ") && mount.length > 4) {
+                return Paths.get(mount[4]);
+            }
+        }
+        return null;
+    }
+
+    static Map<String, Long> parseKeyed(List<String> lines) {
+        Map<String, Long> values = new HashMap<>();
+        for (String line : lines) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length == 2 && columns[1].matches("\\d+")) {
+                values.put(columns[0], Long.valueOf(columns[1]));
+            }
+        }
+        return values;
+    }
+
+    static String cpuMax(double cpus) {
+        return format("%d %d", Math.max(1000L, Math.round(cpus * CPU_PERIOD_MICROS)), CPU_PERIOD_MICROS);
+    }
+
+    static boolean isOwnedBy(Path path, int uid) {
+        try {
+            return Files.getAttribute(path, "unix:uid").equals(uid);
+        } catch (IOException | UnsupportedOperationException ex) {
+            log.trace(format("Can't read owner of %s", path), ex);
+            return false;
+        }
+    }
+
+    private static int currentUid() {
+        return tryToExecute((UnsafeSupplier<Integer>) () ->
+            (Integer) Files.getAttribute(Paths.get("/proc/self"), "unix:uid"), "20261019:020114");
+    }
+
+    private static String checkDelegated(Path parent, int uid, List<String> controllers) {
+        if (!isOwnedBy(parent.resolve(PROCS), uid) || !isOwnedBy(parent.resolve(SUBTREE_CONTROL), uid)) {
+            return format("%s is not delegated to user %d", parent, uid);
+        }
+        List<String> available = words(readLines(parent.resolve("cgroup.controllers")));
+        if (!available.containsAll(controllers)) {
+            return format("%s has %s controllers only", parent, available);
+        }
+        List<String> enabled = words(readLines(parent.resolve(SUBTREE_CONTROL)));
+        if (!enabled.containsAll(controllers) && hasProcesses(parent)) {
+            // no internal processes rule of cgroup v2, enabling controllers fails with EBUSY
+            return format("%s has processes, so %s controllers can't be enabled in it", parent, controllers);
+        }
+        return null;
+    }
+
+    private static boolean hasProcesses(Path cgroup) {
+        for (String line : readLines(cgroup.resolve(PROCS))) {
+            if (!line.trim().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> controllers(double cpus, long memory) {
+        List<String> controllers = new ArrayList<>();
+        if (cpus > 0d) {
+            controllers.add(CPU);
+        }
+        if (memory > 0L) {
+            controllers.add(MEMORY);
+        }
+        return controllers;
+    }
+
+    private static void enableControllers(Path parent, List<String> controllers) {
+        List<String> enabled = words(readLines(parent.resolve(SUBTREE_CONTROL)));
+        Path record = stateFile(parent, ".controllers");
+        for (String controller : controllers) {
+            if (enabled.contains(controller)) {
+                continue;
+            }
+            tryToExecute((UnsafeSupplier<Path>) () -> {
+                Files.write(parent.resolve(SUBTREE_CONTROL), ("+" + controller).getBytes(StandardCharsets.US_ASCII));
+                // recorded, so it can be reverted by Gasper in any JVM
+                return Files.write(record, Collections.singletonList(controller), StandardCharsets.US_ASCII,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }, "20261019:020231");
+        }
+    }
+
+    private static void disableControllers(Path parent) {
+        Path record = stateFile(parent, ".controllers");
+        for (String controller : readLines(record)) {
+            try {
+                Files.write(parent.resolve(SUBTREE_CONTROL),
+                    ("-" + controller.trim()).getBytes(StandardCharsets.US_ASCII));
+            } catch (IOException ex) {
+                log.debug("Can't disable " + controller + " controller in " + parent, ex);
+            }
+        }
+        try {
+            Files.deleteIfExists(record);
+        } catch (IOException ex) {
+            log.debug("Can't remove " + record, ex);
+        }
+    }
+
+    private static boolean hasGasperCgroups(Path parent) {
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(parent, CGROUP_PREFIX + "*")) {
+            return children.iterator().hasNext();
+        } catch (IOException ex) {
+            log.trace(format("Can't list %s", parent), ex);
+            return true;
+        }
+    }
+
+    private static Path stateFile(Path parent, String suffix) {
+        return STATE_DIRECTORY.resolve(parent.toString().replaceAll("[^A-Za-z0-9._-]+", "_") + suffix);
+    }
+
+    private static void disableSwap(Path cgroup) {
+        Path swap = cgroup.resolve("memory.swap.max");
+        if (!swap.toFile().exists()) {
+            return;
+        }
+        try {
+            Files.write(swap, "0".getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException ex) {
+            log.debug("Can't disable swap in " + cgroup, ex);
+        }
+    }
+
+    private static List<String> words(List<String> lines) {
+        return lines.isEmpty() ? Collections.emptyList() : Arrays.asList(lines.get(0).trim().split("\\s+"));
+    }
+
+    private static List<String> readLines(Path path) {
+        if (!Files.isReadable(path)) {
+            return Collections.emptyList();
+        }
+        try {
+            return Files.readAllLines(path, StandardCharsets.US_ASCII);
+        } catch (IOException ex) {
+            log.trace(format("Can't read %s", path), ex);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Usage of resources by test application, under its limits
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Usage {
+        private final double cpus;
+        private final long memory;
+        private final long cpuMicros;
+        private final long periods;
+        private final long throttledPeriods;
+        private final long throttledMicros;
+        private final long peakMemory;
+        private final long memoryMaxEvents;
+        private final long oomKills;
+
+        @Override
+        public String toString() {
+            List<String> parts = new ArrayList<>();
+            if (cpus > 0d) {
+                parts.add(format("cpu %.1fs used, throttled in %d of %d periods for %.1fs",
+                    cpuMicros / 1e6d, throttledPeriods, periods, throttledMicros / 1e6d));
+            }
+            if (memory > 0L) {
+                parts.add(format("memory %s of %dMiB, limit hit %d times, %d OOM kills",
+                    peakMemory < 0L ? "peak unknown" : format("peak %dMiB", peakMemory / MEBIBYTE),
+                    memory / MEBIBYTE, memoryMaxEvents, oomKills));
+            }
+            return String.join("; ", parts);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.gasper.internal.Processes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkArgument;
+
+/**
+ * Splits processors available to this JVM into disjoint sets for test application and for tests, and
+ * applies them with <code>taskset</code> on Linux. Affinity of tests applies to whole JVM, so all Gasper
+ * instances confining tests at the same time must use the same processors for them.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public final class CpuAffinity {
+    public static final String AUTO = "auto";
+    private static final Path SELF_STATUS = Paths.get("/proc/self/status");
+    private static final String ALLOWED_LIST = "Cpus_allowed_list:";
+    private static final String TASKSET = "taskset";
+    private static final Path CPUS = Paths.get("/sys/devices/system/cpu");
+    private static List<Integer> confinedFrom;
+    private static List<Integer> confinedTests;
+    private static int confinements;
+
+    private final List<Integer> available;
+    private final List<Integer> server;
+    private final List<Integer> tests;
+    @Getter(AccessLevel.NONE)
+    private boolean confined;
+
+    /**
+     * Plans affinity of test application and tests, within processors this JVM may run on, which
+     * respects cgroup cpuset
+     * @param cpus a list of processors for test application, like <code>0-3,8</code>, or {@link #AUTO}
+     *             for half of available processors
+     * @return a planned affinity
+     */
+    public static CpuAffinity plan(String cpus) {
+        List<Integer> available;
+        synchronized (CpuAffinity.class) {
+            // this JVM may be already confined by other instance
+            available = confinements > 0 ? confinedFrom : available();
+        }
+        List<Integer> server = AUTO.equals(cpus) ? split(available, CpuAffinity::core) : parseCpuList(cpus);
+        checkArgument(available.containsAll(server), "20261019:220512",
+            "Processors %s are not available, available are: %s", cpuList(server), cpuList(available));
+        List<Integer> tests = new ArrayList<>(available);
+        tests.removeAll(server);
+        return new CpuAffinity(available, server, tests);
+    }
+
+    /**
+     * Checks if <code>taskset</code> command is available
+     * @return true if affinity can be applied
+     */
+    public static boolean isSupported() {
+        return Processes.execute(TASKSET, "-V") == 0;
+    }
+
+    /**
+     * Builds a command prefix, that starts a command with affinity of test application
+     * @return a command prefix
+     */
+    public List<String> getServerCommand() {
+        return Arrays.asList(TASKSET, "-c", cpuList(server));
+    }
+
+    /**
+     * Confines all threads of this JVM to processors of tests. Threads started later inherit it.
+     * @return true if succeeded, false if there are no processors for tests, or JVM is already confined
+     *         by other instance to other processors
+     */
+    public boolean confineTests() {
+        if (tests.isEmpty()) {
+            return false;
+        }
+        synchronized (CpuAffinity.class) {
+            if (confinements > 0 && !confinedTests.equals(tests)) {
+                return false;
+            }
+            if (confinements == 0) {
+                if (!setAffinity(tests)) {
+                    return false;
+                }
+                confinedFrom = available;
+                confinedTests = tests;
+            }
+            confinements++;
+            confined = true;
+            return true;
+        }
+    }
+
+    /**
+     * Restores affinity of all threads of this JVM to all available processors, after last instance
+     * confining tests has restored it
+     */
+    public void restoreTests() {
+        if (!confined) {
+            return;
+        }
+        confined = false;
+        synchronized (CpuAffinity.class) {
+            confinements--;
+            if (confinements == 0) {
+                setAffinity(confinedFrom);
+                confinedFrom = null;
+                confinedTests = null;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format("application on cpus %s, tests on cpus %s", cpuList(server),
+            tests.isEmpty() ? "shared" : cpuList(tests));
+    }
+
+    static List<Integer> available() {
+        try {
+            for (String line : Files.readAllLines(SELF_STATUS, StandardCharsets.US_ASCII)) {
+                if (line.startsWith(ALLOWED_LIST)) {
+                    return parseCpuList(line.substring(ALLOWED_LIST.length()).trim());
+                }
+            }
+        } catch (IOException ex) {
+            log.trace(format("Can't read %s", SELF_STATUS), ex);
+        }
+        List<Integer> cpus = new ArrayList<>();
+        for (int cpu = 0; cpu < Runtime.getRuntime().availableProcessors(); cpu++) {
+            cpus.add(cpu);
+        }
+        return cpus;
+    }
+
+    /**
+     * Splits physical cores in half, giving test application the first, and bigger half. SMT siblings of
+     * a core always stay together, so halves don't share cores.
+     * @param available available processors
+     * @param coreOf a physical core of processor
+     * @return processors for test application
+     */
+    static List<Integer> split(List<Integer> available, Function<Integer, String> coreOf) {
+        Map<String, List<Integer>> cores = new LinkedHashMap<>();
+        for (Integer cpu : available) {
+            cores.computeIfAbsent(coreOf.apply(cpu), core -> new ArrayList<>()).add(cpu);
+        }
+        List<Integer> server = new ArrayList<>();
+        if (cores.size() < 2) {
+            server.addAll(available);
+            return server;
+        }
+        cores.values().stream()
+            .limit((cores.size() + 1) / 2)
+            .forEach(server::addAll);
+        Collections.sort(server);
+        return server;
+    }
+
+    private static String core(Integer cpu) {
+        Path topology = CPUS.resolve("cpu" + cpu).resolve("topology");
+        try {
+            String pkg = new String(Files.readAllBytes(topology.resolve("physical_package_id")),
+                StandardCharsets.US_ASCII).trim();
+            String core = new String(Files.readAllBytes(topology.resolve("core_id")),
+                StandardCharsets.US_ASCII).trim();
+            return pkg + ":" + core;
+        } catch (IOException ex) {
+            log.trace(format("Can't read topology of cpu %d", cpu), ex);
+            // unknown topology, each processor is on its own
+            return "cpu" + cpu;
+        }
+    }
+
+    /**
+     * Parses Linux cpu list format, like <code>0-3,8,10-11</code>
+     * @param list a cpu list
+     * @return sorted processor numbers
+     */
+    static List<Integer> parseCpuList(String list) {
+        TreeSet<Integer> cpus = new TreeSet<>();
+        for (String range : list.split(",")) {
+            String trimmed = range.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int dash = trimmed.indexOf('-');
+            int first = Integer.parseInt(dash < 0 ? trimmed : trimmed.substring(0, dash));
+            int last = dash < 0 ? first : Integer.parseInt(trimmed.substring(dash + 1));
+            checkArgument(first <= last, "20261019:220641", "Invalid cpu range: %s", trimmed);
+            for (int cpu = first; cpu <= last; cpu++) {
+                cpus.add(cpu);
+            }
+        }
+        return new ArrayList<>(cpus);
+    }
+
+    /**
+     * Formats processor numbers in Linux cpu list format
+     * @param cpus sorted processor numbers
+     * @return a cpu list, like <code>0-3,8</code>
+     */
+    static String cpuList(List<Integer> cpus) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < cpus.size()) {
+            int j = i;
+            while (j + 1 < cpus.size() && cpus.get(j + 1) == cpus.get(j) + 1) {
+                j++;
+            }
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(cpus.get(i));
+            if (j > i) {
+                sb.append('-').append(cpus.get(j));
+            }
+            i = j + 1;
+        }
+        return sb.toString();
+    }
+
+    private static boolean setAffinity(List<Integer> cpus) {
+        String pid = String.valueOf(Processes.currentPid());
+        return Processes.execute(TASKSET, "-a", "-p", "-c", cpuList(cpus), pid) == 0;
+    }
+}
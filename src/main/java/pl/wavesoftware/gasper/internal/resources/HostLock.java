@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * An exclusive lock on a file, shared by all JVMs on this host and threads of this JVM.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class HostLock implements AutoCloseable {
+    private static final ConcurrentMap<Path, ReentrantLock> LOCAL_LOCKS = new ConcurrentHashMap<>();
+
+    private final ReentrantLock localLock;
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    private HostLock(ReentrantLock localLock, FileChannel channel, FileLock lock) {
+        this.localLock = localLock;
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /**
+     * Locks given file, waiting for other JVMs and threads to release it
+     * @param file a file to lock, created if it doesn't exist
+     * @return a lock to be closed
+     */
+    public static HostLock lock(Path file) {
+        ReentrantLock localLock = LOCAL_LOCKS.computeIfAbsent(file.toAbsolutePath(), path -> new ReentrantLock());
+        localLock.lock();
+        try {
+            return tryToExecute((UnsafeSupplier<HostLock>) () -> {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                try {
+                    return new HostLock(localLock, channel, channel.lock());
+                } catch (IOException | RuntimeException ex) {
+                    channel.close();
+                    throw ex;
+                }
+            }, "20261019:190107");
+        } catch (RuntimeException ex) {
+            localLock.unlock();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            tryToExecute((UnsafeSupplier<FileChannel>) () -> {
+                try {
+                    lock.release();
+                } finally {
+                    channel.close();
+                }
+                return channel;
+            }, "20261019:190211");
+        } finally {
+            localLock.unlock();
+        }
+    }
+}
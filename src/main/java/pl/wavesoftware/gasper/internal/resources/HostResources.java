@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Processors and memory available on host, limited by cgroup (v1 or v2) of this JVM, if any.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public final class HostResources {
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+    private static final Path SELF_CGROUP = Paths.get("/proc/self/cgroup");
+    private static final Path CGROUP_ROOT = Paths.get("/sys/fs/cgroup");
+    private static final String UNIFIED = "";
+    private static final String UNLIMITED = "max";
+    private static final long UNLIMITED_THRESHOLD = 1L << 60;
+    private static final long KILOBYTE = 1024L;
+
+    private final int cpus;
+    private final long memory;
+
+    /**
+     * Detects resources available for this JVM and processes it starts
+     * @return detected resources
+     */
+    public static HostResources detect() {
+        Map<String, String> cgroups = cgroupPaths(readLines(SELF_CGROUP));
+        int cpus = Runtime.getRuntime().availableProcessors();
+        Double cpuLimit = cpuLimit(cgroups);
+        if (cpuLimit != null) {
+            cpus = Math.max(1, Math.min(cpus, (int) Math.ceil(cpuLimit)));
+        }
+        long memory = memTotal(readLines(MEMINFO));
+        if (memory <= 0) {
+            memory = Runtime.getRuntime().maxMemory() * 4;
+        }
+        Long memoryLimit = memoryLimit(cgroups);
+        if (memoryLimit != null) {
+            memory = Math.min(memory, memoryLimit);
+        }
+        return new HostResources(cpus, memory);
+    }
+
+    @Override
+    public String toString() {
+        return format("%d cpus, %dMiB memory", cpus, memory / KILOBYTE / KILOBYTE);
+    }
+
+    static long memTotal(List<String> meminfo) {
+        for (String line : meminfo) {
+            if (line.startsWith("MemTotal:")) {
+                String[] columns = line.split("\\s+");
+                return Long.parseLong(columns[1]) * KILOBYTE;
+            }
+        }
+        return 0L;
+    }
+
+    static Map<String, String> cgroupPaths(List<String> lines) {
+        Map<String, String> paths = new HashMap<>();
+        for (String line : lines) {
+            String[] columns = line.split(":", 3);
+            if (columns.length == 3) {
+                for (String controller : columns[1].split(",")) {
+                    paths.put(controller, columns[2]);
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static Double cpuLimit(Map<String, String> cgroups) {
+        String max = readCgroup(cgroups, UNIFIED, "", "cpu.max");
+        if (max != null) {
+            String[] values = max.split("\\s+");
+            return UNLIMITED.equals(values[0]) ? null : Double.parseDouble(values[0]) / Double.parseDouble(values[1]);
+        }
+        String quota = readCgroup(cgroups, "cpu", "cpu", "cpu.cfs_quota_us");
+        String period = readCgroup(cgroups, "cpu", "cpu", "cpu.cfs_period_us");
+        if (quota == null || period == null || Long.parseLong(quota) <= 0) {
+            return null;
+        }
+        return Double.parseDouble(quota) / Double.parseDouble(period);
+    }
+
+    private static Long memoryLimit(Map<String, String> cgroups) {
+        String limit = readCgroup(cgroups, UNIFIED, "", "memory.max");
+        if (limit == null) {
+            limit = readCgroup(cgroups, "memory", "memory", "memory.limit_in_bytes");
+        }
+        if (limit == null || UNLIMITED.equals(limit)) {
+            return null;
+        }
+        long value = Long.parseLong(limit);
+        return value >= UNLIMITED_THRESHOLD ? null : value;
+    }
+
+    private static String readCgroup(Map<String, String> cgroups, String controller, String mount, String file) {
+        String path = cgroups.get(controller);
+        if (path == null) {
+            return null;
+        }
+        Path base = CGROUP_ROOT.resolve(mount);
+        for (Path dir : new Path[]{base.resolve(path.replaceFirst("^/", "")), base}) {
+            List<String> lines = readLines(dir.resolve(file));
+            if (!lines.isEmpty()) {
+                return lines.get(0).trim();
+            }
+        }
+        return null;
+    }
+
+    private static List<String> readLines(Path path) {
+        if (!Files.isReadable(path)) {
+            return Collections.emptyList();
+        }
+        try {
+            return Files.readAllLines(path, StandardCharsets.US_ASCII);
+        } catch (IOException ex) {
+            log.trace(format("Can't read %s", path), ex);
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Computes JVM options that size heap, GC and JIT compiler threads of single test application, so
+ * that all of concurrently running test applications fit available resources.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JvmSizing {
+    static final double HEAP_FRACTION = 0.5;
+    static final long MIN_HEAP = 64L * 1024 * 1024;
+    private static final long MEGABYTE = 1024L * 1024;
+    private static final int MIN_COMPILER_THREADS = 2;
+    private static final int CONC_GC_RATIO = 4;
+    private static final String XMX = "-Xmx";
+    private static final String XMS = "-Xms";
+    private static final String INITIAL_HEAP = "-XX:InitialHeapSize=";
+    private static final String SIZE_UNITS = "kmgt";
+    private static final int UNIT_SHIFT = 10;
+    private static final String XX = "-XX:";
+    private static final String HEAP = "MaxHeapSize";
+    private static final Set<String> HEAP_OPTIONS = new HashSet<>(Arrays.asList(
+        HEAP, "MaxRAM", "MaxRAMPercentage", "MaxRAMFraction"
+    ));
+
+    /**
+     * Computes JVM options for one of test applications running at once
+     * @param resources resources available on host
+     * @param instances a number of test applications running at once
+     * @return a list of JVM options
+     */
+    public static List<String> options(HostResources resources, int instances) {
+        int share = Math.max(1, instances);
+        int cpus = Math.max(1, resources.getCpus() / share);
+        long heap = Math.max(MIN_HEAP, (long) (resources.getMemory() * HEAP_FRACTION / share));
+        return Arrays.asList(
+            format("%s%dm", XMX, heap / MEGABYTE),
+            format("%sActiveProcessorCount=%d", XX, cpus),
+            format("%sParallelGCThreads=%d", XX, cpus),
+            format("%sConcGCThreads=%d", XX, Math.max(1, (cpus + CONC_GC_RATIO - 1) / CONC_GC_RATIO)),
+            format("%sCICompilerCount=%d", XX, Math.max(MIN_COMPILER_THREADS, cpus / 2))
+        );
+    }
+
+    /**
+     * Merges computed JVM options with options given by user. Options given by user always takes
+     * precedence. Computed maximum heap is dropped, if user sets larger initial heap, as JVM refuses to
+     * start then, and sizes maximum heap to initial one without it.
+     * @param computed computed JVM options
+     * @param user JVM options given by user
+     * @return merged JVM options
+     */
+    public static List<String> merge(List<String> computed, List<String> user) {
+        Set<String> userKeys = new HashSet<>();
+        user.forEach(option -> userKeys.add(key(option)));
+        long initialHeap = initialHeap(user);
+        List<String> merged = new ArrayList<>();
+        for (String option : computed) {
+            if (userKeys.contains(key(option))) {
+                continue;
+            }
+            if (option.startsWith(XMX) && bytes(option.substring(XMX.length())) < initialHeap) {
+                continue;
+            }
+            merged.add(option);
+        }
+        merged.addAll(user);
+        return merged;
+    }
+
+    private static long initialHeap(List<String> options) {
+        long initial = -1L;
+        for (String option : options) {
+            if (option.startsWith(XMS)) {
+                initial = bytes(option.substring(XMS.length()));
+            } else if (option.startsWith(INITIAL_HEAP)) {
+                initial = bytes(option.substring(INITIAL_HEAP.length()));
+            }
+        }
+        return initial;
+    }
+
+    /**
+     * Parses JVM memory size, like <code>512m</code> or <code>2G</code>
+     * @param size a size
+     * @return a size in bytes, or <code>-1</code> if it's malformed
+     */
+    static long bytes(String size) {
+        if (size.isEmpty()) {
+            return -1L;
+        }
+        char last = Character.toLowerCase(size.charAt(size.length() - 1));
+        int unit = SIZE_UNITS.indexOf(last);
+        String number = unit < 0 ? size : size.substring(0, size.length() - 1);
+        try {
+            return Long.parseLong(number) << (unit < 0 ? 0 : (unit + 1) * UNIT_SHIFT);
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+    static String key(String option) {
+        if (option.startsWith(XMX)) {
+            return HEAP;
+        }
+        if (!option.startsWith(XX)) {
+            return option;
+        }
+        String name = option.substring(XX.length());
+        if (name.startsWith("+") || name.startsWith("-")) {
+            name = name.substring(1);
+        }
+        int equals = name.indexOf('=');
+        if (equals >= 0) {
+            name = name.substring(0, equals);
+        }
+        return HEAP_OPTIONS.contains(name) ? HEAP : name;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.startup;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * A breakdown of test application startup into phases and time spent by components.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Getter
+@RequiredArgsConstructor
+public final class StartupBreakdown {
+    private final String framework;
+    private final long total;
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<String, ComponentTime> components = new HashMap<>();
+
+    void addPhase(String phase, long millis) {
+        phases.merge(phase, millis, Long::sum);
+    }
+
+    void addComponentTime(String component, String message, long millis) {
+        components.computeIfAbsent(component, ComponentTime::new).add(message, millis);
+    }
+
+    /**
+     * Renders this breakdown as text
+     * @param topComponents a number of slowest components to render
+     * @return a text report
+     */
+    public String render(int topComponents) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(format("Startup breakdown (%s): %dms total%n", framework, total));
+        sb.append(format("%nPhases:%n"));
+        phases.forEach((phase, millis) -> sb.append(format("  %8dms %5.1f%%  %s%n", millis, percent(millis), phase)));
+        sb.append(format("%nSlowest components (time until next log message):%n"));
+        components.values().stream()
+            .sorted(Comparator.comparingLong(ComponentTime::getTotal).reversed())
+            .limit(topComponents)
+            .forEach(component -> sb.append(format("  %8dms %5.1f%%  %s (%d messages), slowest after: %s%n",
+                component.getTotal(), percent(component.getTotal()), component.getName(),
+                component.getMessages(), component.getSlowestMessage())));
+        return sb.toString();
+    }
+
+    private double percent(long millis) {
+        return total <= 0 ? 0d : 100d * millis / total;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class ComponentTime {
+        private final String name;
+        private long total;
+        private int messages;
+        private long slowest = -1L;
+        private String slowestMessage;
+
+        void add(String message, long millis) {
+            total += millis;
+            messages++;
+            if (millis > slowest) {
+                slowest = millis;
+                slowestMessage = message;
+            }
+        }
+    }
+}
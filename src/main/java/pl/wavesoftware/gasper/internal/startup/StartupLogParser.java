@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.startup;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses timestamped startup log of a framework into phases, delimited by well known log messages
+ * called milestones, and time spent by components that logged messages.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Getter
+@RequiredArgsConstructor
+public final class StartupLogParser {
+    public static final StartupLogParser SPRING_BOOT = new StartupLogParser(
+        "Spring Boot",
+        Pattern.compile("\\]\\s+([\\w.$]+)\\s+:\\s"),
+        Arrays.asList(
+            new Milestone("JVM and logging bootstrap",
+                Pattern.compile("Starting \\S+ (?:v\\d|using|on|with)")),
+            new Milestone("Environment and web server preparation",
+                Pattern.compile("(?:Tomcat|Jetty|Undertow|Netty) initialized with port")),
+            new Milestone("Web application context initialization",
+                Pattern.compile("Root WebApplicationContext: initialization completed")),
+            new Milestone("Bean initialization and context refresh",
+                Pattern.compile("(?:Tomcat|Jetty|Undertow|Netty) started on port")),
+            new Milestone("Application runners and startup completion",
+                Pattern.compile("Started \\S+ in [\\d.]+ seconds"))
+        )
+    );
+    public static final StartupLogParser WILDFLY_SWARM = new StartupLogParser(
+        "WildFly Swarm",
+        Pattern.compile("\\s\\[([\\w.$]+)\\]\\s+\\("),
+        Arrays.asList(
+            new Milestone("JVM and bootstrap",
+                Pattern.compile("WFLYSRV0049: .* start")),
+            new Milestone("Subsystems activation",
+                Pattern.compile("WFLYUT0006: Undertow HTTPS? listener")),
+            new Milestone("Server services start",
+                Pattern.compile("WFLYSRV0027: Starting deployment")),
+            new Milestone("Deployment processing",
+                Pattern.compile("WFLYUT0021: Registered web context")),
+            new Milestone("Deployment completion",
+                Pattern.compile("WFLYSRV0010: Deployed")),
+            new Milestone("Server startup completion",
+                Pattern.compile("WFLYSRV0025: .* started in|(?:WildFly Swarm|Thorntail) is Ready"))
+        )
+    );
+    public static final StartupLogParser GENERIC = new StartupLogParser(
+        "Generic", null, Collections.emptyList()
+    );
+    public static final List<StartupLogParser> PARSERS = Collections.unmodifiableList(
+        Arrays.asList(SPRING_BOOT, WILDFLY_SWARM)
+    );
+    private static final Pattern TIMESTAMP = Pattern.compile(
+        "^(?:(\\d{4}-\\d{2}-\\d{2})[ T])?(\\d{2}:\\d{2}:\\d{2})[.,](\\d{3})"
+    );
+    private static final int MESSAGE_LENGTH = 160;
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final String framework;
+    private final Pattern component;
+    private final List<Milestone> milestones;
+
+    /**
+     * Chooses a parser that recognizes most milestones in given log
+     * @param log lines of startup log
+     * @return a best matching parser, or generic one if none matches
+     */
+    public static StartupLogParser detect(List<String> log) {
+        StartupLogParser best = GENERIC;
+        int bestMatches = 0;
+        for (StartupLogParser parser : PARSERS) {
+            int matches = 0;
+            for (Milestone milestone : parser.getMilestones()) {
+                if (log.stream().anyMatch(line -> milestone.getPattern().matcher(line).find())) {
+                    matches++;
+                }
+            }
+            if (matches > bestMatches) {
+                best = parser;
+                bestMatches = matches;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Parses startup log into a breakdown
+     * @param log lines of startup log
+     * @param launched epoch millis when application was launched
+     * @param ready epoch millis when application became ready
+     * @return a breakdown of startup
+     */
+    public StartupBreakdown parse(List<String> log, long launched, long ready) {
+        List<Entry> entries = entries(log, launched);
+        StartupBreakdown breakdown = new StartupBreakdown(framework, ready - launched);
+        long previous = launched;
+        for (Milestone milestone : milestones) {
+            for (Entry entry : entries) {
+                if (entry.getTime() >= previous && milestone.getPattern().matcher(entry.getMessage()).find()) {
+                    breakdown.addPhase(milestone.getPhase(), entry.getTime() - previous);
+                    previous = entry.getTime();
+                    break;
+                }
+            }
+        }
+        if (ready > previous) {
+            breakdown.addPhase(milestones.isEmpty() ? "Until ready" : "Until ready (web context available)",
+                ready - previous);
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            long next = i + 1 < entries.size() ? entries.get(i + 1).getTime() : Math.max(ready, entry.getTime());
+            breakdown.addComponentTime(entry.getComponent(), abbreviate(entry.getMessage()), next - entry.getTime());
+        }
+        return breakdown;
+    }
+
+    private List<Entry> entries(List<String> log, long launched) {
+        LocalDate launchDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(launched), ZoneId.systemDefault())
+            .toLocalDate();
+        List<Entry> entries = new ArrayList<>();
+        long last = launched;
+        for (String line : log) {
+            Matcher matcher = TIMESTAMP.matcher(line);
+            if (!matcher.find()) {
+                continue;
+            }
+            LocalDate date = matcher.group(1) == null ? launchDate : LocalDate.parse(matcher.group(1));
+            LocalTime time = LocalTime.parse(matcher.group(2) + "." + matcher.group(3));
+            long millis = LocalDateTime.of(date, time).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (matcher.group(1) == null && millis < last - DAY / 2) {
+                millis += DAY;
+            }
+            last = millis;
+            entries.add(new Entry(millis, component(line), line.substring(matcher.end()).trim()));
+        }
+        return entries;
+    }
+
+    private String component(String line) {
+        if (component != null) {
+            Matcher matcher = component.matcher(line);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return "(unknown)";
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= MESSAGE_LENGTH ? message : message.substring(0, MESSAGE_LENGTH) + "...";
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Milestone {
+        private final String phase;
+        private final Pattern pattern;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final long time;
+        private final String component;
+        private final String message;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.Logger;
+import pl.wavesoftware.gasper.internal.Settings;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.String.format;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * Writes a startup breakdown of test application, parsed from its log, to
+ * <code>gasper-startup-&lt;artifact&gt;.txt</code> in build directory.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class StartupReport {
+    private static final String REPORT_FORMAT = "gasper-startup-%s.txt";
+
+    private final Settings settings;
+    private final Path report;
+    private final Logger logger;
+
+    public StartupReport(Settings settings, File buildDirectory, Path artifact) {
+        this.settings = settings;
+        this.report = buildDirectory.toPath().resolve(format(REPORT_FORMAT, artifact.getFileName()));
+        this.logger = new Logger(log, settings);
+    }
+
+    /**
+     * Parses startup log of test application and writes a breakdown
+     * @param logFile a log file of test application, or null if it logs on console
+     * @param launched epoch millis when test application was launched
+     * @param ready epoch millis when test application became ready
+     */
+    public void write(Path logFile, long launched, long ready) {
+        if (logFile == null) {
+            logger.warn("Startup breakdown needs a log file, it's not available when logging on console");
+            return;
+        }
+        List<String> log = tryToExecute((UnsafeSupplier<List<String>>) () -> Arrays.asList(
+            new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8).split("\\r?\\n")
+        ), "20261019:200317");
+        StartupBreakdown breakdown = StartupLogParser.detect(log).parse(log, launched, ready);
+        String rendered = breakdown.render(settings.getStartupBreakdownComponents());
+        tryToExecute((UnsafeSupplier<Path>) () -> Files.write(report, rendered.getBytes(StandardCharsets.UTF_8)),
+            "20261019:200402");
+        logger.info(format("%s(written to %s)", rendered, report));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.stats;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Detects when latency stabilizes. Latencies are grouped in windows of fixed size, and latency is
+ * considered stable when medians of last few windows differ by no more then given tolerance.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class LatencyConvergence {
+    public static final int STABLE_WINDOWS = 3;
+
+    private final long[] window;
+    private final double tolerance;
+    private final Deque<Long> medians = new ArrayDeque<>();
+    private int filled;
+    private int windows;
+
+    /**
+     * Creates a convergence detector
+     * @param windowSize a number of latencies in one window
+     * @param tolerance a maximum relative difference of window medians, like <code>0.1</code> for 10%
+     */
+    public LatencyConvergence(int windowSize, double tolerance) {
+        this.window = new long[windowSize];
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Records a latency
+     * @param nanos a latency in nanoseconds
+     * @return true if latency is stable
+     */
+    public synchronized boolean record(long nanos) {
+        window[filled++] = nanos;
+        if (filled == window.length) {
+            long[] sorted = Arrays.copyOf(window, window.length);
+            Arrays.sort(sorted);
+            medians.addLast(sorted[sorted.length / 2]);
+            if (medians.size() > STABLE_WINDOWS) {
+                medians.removeFirst();
+            }
+            filled = 0;
+            windows++;
+        }
+        return isConverged();
+    }
+
+    /**
+     * Checks if latency is stable
+     * @return true if latency is stable
+     */
+    public synchronized boolean isConverged() {
+        if (medians.size() < STABLE_WINDOWS) {
+            return false;
+        }
+        long min = medians.stream().mapToLong(Long::longValue).min().orElse(0L);
+        long max = medians.stream().mapToLong(Long::longValue).max().orElse(0L);
+        double mean = medians.stream().mapToLong(Long::longValue).average().orElse(0d);
+        return mean > 0 && (max - min) / mean <= tolerance;
+    }
+
+    /**
+     * @return a median latency of last completed window in nanoseconds, or zero if there is none
+     */
+    public synchronized long getLastMedian() {
+        return medians.isEmpty() ? 0L : medians.getLast();
+    }
+
+    /**
+     * @return a number of completed windows
+     */
+    public synchronized int getWindows() {
+        return windows;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.stats;
+
+import java.util.Arrays;
+
+/**
+ * Collects latencies and computes their statistics, like mean, variance and percentiles.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class LatencySamples {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double Z_95 = 1.959964;
+
+    private long[] samples = new long[INITIAL_CAPACITY];
+    private int count;
+    private long total;
+    private boolean sorted = true;
+
+    /**
+     * Records a latency
+     * @param nanos a latency in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+        total += nanos;
+        sorted = false;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * @return a sum of all latencies in nanoseconds
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return a mean latency in nanoseconds
+     */
+    public synchronized double getMean() {
+        return count == 0 ? 0d : (double) total / count;
+    }
+
+    /**
+     * @return a sample variance of latencies in nanoseconds squared
+     */
+    public synchronized double getVariance() {
+        if (count < 2) {
+            return 0d;
+        }
+        double mean = getMean();
+        double sum = 0d;
+        for (int i = 0; i < count; i++) {
+            double diff = samples[i] - mean;
+            sum += diff * diff;
+        }
+        return sum / (count - 1);
+    }
+
+    /**
+     * Computes a percentile of latencies, with nearest rank method
+     * @param percentile a percentile like <code>99.9</code>
+     * @return a latency in nanoseconds
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0L;
+        }
+        if (!sorted) {
+            Arrays.sort(samples, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100d * count);
+        return samples[Math.min(count, Math.max(1, rank)) - 1];
+    }
+
+    /**
+     * Computes a 95% confidence interval of difference of mean latencies (other minus this), with
+     * normal approximation of Welch's method
+     * @param other other latencies
+     * @return a lower and upper bound of difference, in nanoseconds
+     */
+    public double[] meanDifferenceInterval(LatencySamples other) {
+        double difference = other.getMean() - getMean();
+        double error = Math.sqrt(getVariance() / Math.max(1, getCount())
+            + other.getVariance() / Math.max(1, other.getCount()));
+        return new double[]{difference - Z_95 * error, difference + Z_95 * error};
+    }
+}
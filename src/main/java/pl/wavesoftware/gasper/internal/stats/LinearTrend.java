@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.stats;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkArgument;
+
+/**
+ * A least squares line fitted to a series, with its coefficient of determination.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Getter
+@RequiredArgsConstructor
+public final class LinearTrend {
+    private final double slope;
+    private final double intercept;
+    /**
+     * A coefficient of determination, from <code>0</code> for no trend to <code>1</code> for series
+     * lying exactly on a line
+     */
+    private final double rSquared;
+
+    /**
+     * Fits a line to a series
+     * @param x arguments
+     * @param y values
+     * @return a fitted line
+     */
+    public static LinearTrend fit(double[] x, double[] y) {
+        checkArgument(x.length == y.length && x.length >= 2, "20261019:223518");
+        int n = x.length;
+        double meanX = 0d;
+        double meanY = 0d;
+        for (int i = 0; i < n; i++) {
+            meanX += x[i] / n;
+            meanY += y[i] / n;
+        }
+        double sxx = 0d;
+        double sxy = 0d;
+        double syy = 0d;
+        for (int i = 0; i < n; i++) {
+            double dx = x[i] - meanX;
+            double dy = y[i] - meanY;
+            sxx += dx * dx;
+            sxy += dx * dy;
+            syy += dy * dy;
+        }
+        double slope = sxx == 0d ? 0d : sxy / sxx;
+        double rSquared = sxx == 0d || syy == 0d ? 0d : sxy * sxy / (sxx * syy);
+        return new LinearTrend(slope, meanY - slope * meanX, rSquared);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.tls;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.HttpEndpoint;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkArgument;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * Checks which application protocol, like <code>h2</code>, a TLS endpoint negotiates with ALPN.
+ * ALPN API is available since Java 9 and Java 8u252, so it's called reflectively.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AlpnProbe {
+    public static final String HTTP_2 = "h2";
+    public static final String HTTP_1_1 = "http/1.1";
+    private static final int TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Makes TLS handshake with endpoint, offering given protocols
+     * @param endpoint a TLS endpoint with SSL context
+     * @param protocols protocols to offer, in order of preference
+     * @return a protocol chosen by endpoint, empty string if it didn't choose any, or null if
+     *         ALPN is not supported by JVM running tests
+     */
+    public static String negotiate(HttpEndpoint endpoint, List<String> protocols) {
+        checkArgument(endpoint.getSslContext() != null, "20261019:235725");
+        return tryToExecute((UnsafeSupplier<String>) () -> {
+            try (SSLSocket socket = (SSLSocket) endpoint.getSslContext().getSocketFactory()
+                .createSocket(endpoint.getDomain(), endpoint.getPort())) {
+                socket.setSoTimeout(TIMEOUT_MILLIS);
+                SSLParameters parameters = socket.getSSLParameters();
+                Method offer;
+                Method chosen;
+                try {
+                    offer = SSLParameters.class.getMethod("setApplicationProtocols", String[].class);
+                    chosen = SSLSocket.class.getMethod("getApplicationProtocol");
+                } catch (NoSuchMethodException ex) {
+                    log.trace("No ALPN support in this JVM", ex);
+                    return null;
+                }
+                offer.invoke(parameters, (Object) protocols.toArray(new String[0]));
+                socket.setSSLParameters(parameters);
+                socket.startHandshake();
+                String protocol = (String) chosen.invoke(socket);
+                return protocol == null ? "" : protocol;
+            }
+        }, "20261019:235746");
+    }
+}
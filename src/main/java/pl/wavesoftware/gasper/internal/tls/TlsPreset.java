@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.tls;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maps generated TLS stores to configuration properties of a framework of test application.
+ * Properties of {@link #GENERIC} preset are always passed, so any application can read them.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public enum TlsPreset {
+    SPRING_BOOT("server.port") {
+        @Override
+        protected void configure(Map<String, String> properties, TlsStores stores, boolean http2) {
+            properties.put("server.ssl.enabled", Boolean.TRUE.toString());
+            properties.put("server.ssl.key-store", stores.getKeystore().toAbsolutePath().toString());
+            properties.put("server.ssl.key-store-password", TlsStores.PASSWORD);
+            properties.put("server.ssl.key-store-type", TlsStores.STORE_TYPE);
+            properties.put("server.ssl.key-alias", TlsStores.ALIAS);
+            if (http2) {
+                properties.put("server.http2.enabled", Boolean.TRUE.toString());
+            }
+        }
+    },
+    WILDFLY_SWARM("swarm.http.port") {
+        @Override
+        protected void configure(Map<String, String> properties, TlsStores stores, boolean http2) {
+            // Undertow enables HTTP/2 on HTTPS listener by itself
+            properties.put("swarm.https.keystore.path", stores.getKeystore().toAbsolutePath().toString());
+            properties.put("swarm.https.keystore.password", TlsStores.PASSWORD);
+            properties.put("swarm.https.key.alias", TlsStores.ALIAS);
+            properties.put("swarm.https.key.password", TlsStores.PASSWORD);
+        }
+
+        @Override
+        public String getPortProperty(String httpPortProperty) {
+            return "swarm.https.port";
+        }
+    },
+    GENERIC("") {
+        @Override
+        protected void configure(Map<String, String> properties, TlsStores stores, boolean http2) {
+            // only common properties
+        }
+    };
+
+    private final String httpPortProperty;
+
+    TlsPreset(String httpPortProperty) {
+        this.httpPortProperty = httpPortProperty;
+    }
+
+    /**
+     * Finds a preset for application, that takes its HTTP port from given system property
+     * @param httpPortProperty a system property for port, may be null
+     * @return a preset of known framework, or {@link #GENERIC}
+     */
+    public static TlsPreset forPortProperty(String httpPortProperty) {
+        for (TlsPreset preset : values()) {
+            if (preset != GENERIC && preset.httpPortProperty.equals(httpPortProperty)) {
+                return preset;
+            }
+        }
+        return GENERIC;
+    }
+
+    /**
+     * Retrieves a system property, that sets port on which application serves TLS
+     * @param httpPortProperty a system property for plain HTTP port
+     * @return a system property for TLS port
+     */
+    public String getPortProperty(String httpPortProperty) {
+        return httpPortProperty;
+    }
+
+    /**
+     * Builds system properties, that configure application to serve TLS with given stores
+     * @param stores generated stores
+     * @param http2 should HTTP/2 be enabled
+     * @return system properties for application
+     */
+    public Map<String, String> getProperties(TlsStores stores, boolean http2) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("gasper.tls.keystore", stores.getKeystore().toAbsolutePath().toString());
+        properties.put("gasper.tls.truststore", stores.getTruststore().toAbsolutePath().toString());
+        properties.put("gasper.tls.password", TlsStores.PASSWORD);
+        properties.put("gasper.tls.alias", TlsStores.ALIAS);
+        configure(properties, stores, http2);
+        return properties;
+    }
+
+    protected abstract void configure(Map<String, String> properties, TlsStores stores, boolean http2);
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.tls;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.jvm.JvmTools;
+import pl.wavesoftware.gasper.internal.resources.HostLock;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.util.concurrent.TimeUnit;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.checkState;
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * An ephemeral keystore with self-signed certificate for <code>localhost</code>, and a truststore
+ * holding that certificate, generated with <code>keytool</code> in build directory. Test application
+ * serves TLS with the keystore, and tests trust it with {@link #getSslContext()}. Gasper's own servers,
+ * like recording proxy, serve TLS with {@link #getServerContext()}.
+ * <p>
+ * Stores are reused by following executions, so a daemon or shared application started earlier stays
+ * trusted, and are generated again when they get older than {@link #MAX_AGE_DAYS} days. Password is
+ * well known, as the stores serve tests only.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+@Getter
+public final class TlsStores {
+    public static final String ALIAS = "gasper";
+    public static final String PASSWORD = "gasper-tls";
+    public static final String STORE_TYPE = "PKCS12";
+    public static final int MAX_AGE_DAYS = 7;
+    private static final int VALIDITY_DAYS = 30;
+    private static final String DIRECTORY = "gasper-tls";
+    private static final String KEYSTORE = "keystore.p12";
+    private static final String TRUSTSTORE = "truststore.p12";
+    private static final String LOCK = "stores.lock";
+
+    private final Path keystore;
+    private final Path truststore;
+    private final SSLContext sslContext;
+    private final SSLContext serverContext;
+
+    private TlsStores(Path keystore, Path truststore) {
+        this.keystore = keystore;
+        this.truststore = truststore;
+        this.sslContext = trusting(truststore);
+        this.serverContext = serving(keystore);
+    }
+
+    /**
+     * Retrieves stores from build directory, generating them if needed
+     * @param buildDirectory a build directory
+     * @param javaHome a JDK to generate stores with, or null for JDK running tests
+     * @return stores ready to use
+     */
+    public static TlsStores ensure(Path buildDirectory, Path javaHome) {
+        Path directory = buildDirectory.resolve(DIRECTORY);
+        Path keystore = directory.resolve(KEYSTORE);
+        Path truststore = directory.resolve(TRUSTSTORE);
+        // other forks may need the stores at the same time
+        try (HostLock ignored = HostLock.lock(directory.resolve(LOCK))) {
+            if (isOutdated(keystore) || isOutdated(truststore)) {
+                generate(keystore, truststore, javaHome);
+            }
+        }
+        return new TlsStores(keystore, truststore);
+    }
+
+    /**
+     * Creates a pool of HTTP connections, that trusts given SSL context for <code>https</code> scheme
+     * @param sslContext a SSL context to use, or null for default one
+     * @return a connection manager
+     */
+    public static PoolingHttpClientConnectionManager connectionManager(SSLContext sslContext) {
+        if (sslContext == null) {
+            return new PoolingHttpClientConnectionManager();
+        }
+        return new PoolingHttpClientConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", new SSLConnectionSocketFactory(sslContext))
+            .build());
+    }
+
+    private static boolean isOutdated(Path store) {
+        if (!store.toFile().isFile()) {
+            return true;
+        }
+        long age = System.currentTimeMillis() - store.toFile().lastModified();
+        return age > TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+    }
+
+    private static void generate(Path keystore, Path truststore, Path javaHome) {
+        tryToExecute((UnsafeSupplier<Boolean>) () -> Files.deleteIfExists(keystore), "20261019:235601");
+        log.debug("Generating TLS keystore {}", keystore);
+        JvmTools.keytool(javaHome,
+            "-genkeypair", "-alias", ALIAS,
+            "-keyalg", "RSA", "-keysize", "2048",
+            "-validity", String.valueOf(VALIDITY_DAYS),
+            "-dname", "CN=localhost, O=Gasper",
+            "-ext", "SAN=dns:localhost,ip:127.0.0.1,ip:::1",
+            "-storetype", STORE_TYPE,
+            "-keystore", keystore.toString(),
+            "-storepass", PASSWORD,
+            "-keypass", PASSWORD
+        );
+        tryToExecute((UnsafeSupplier<Path>) () -> {
+            KeyStore keys = load(keystore);
+            Certificate certificate = keys.getCertificate(ALIAS);
+            checkState(certificate != null, "20261019:235622", "No certificate in %s", keystore);
+            KeyStore trusted = KeyStore.getInstance(STORE_TYPE);
+            trusted.load(null, null);
+            trusted.setCertificateEntry(ALIAS, certificate);
+            try (OutputStream output = Files.newOutputStream(truststore)) {
+                trusted.store(output, PASSWORD.toCharArray());
+            }
+            return truststore;
+        }, "20261019:235643");
+    }
+
+    private static SSLContext trusting(Path truststore) {
+        return tryToExecute((UnsafeSupplier<SSLContext>) () -> {
+            TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            factory.init(load(truststore));
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, factory.getTrustManagers(), null);
+            return context;
+        }, "20261019:235704");
+    }
+
+    private static SSLContext serving(Path keystore) {
+        return tryToExecute((UnsafeSupplier<SSLContext>) () -> {
+            KeyManagerFactory factory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            factory.init(load(keystore), PASSWORD.toCharArray());
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(factory.getKeyManagers(), null, null);
+            return context;
+        }, "20261019:034117");
+    }
+
+    private static KeyStore load(Path store) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance(STORE_TYPE);
+        try (InputStream input = Files.newInputStream(store)) {
+            keyStore.load(input, PASSWORD.toCharArray());
+        }
+        return keyStore;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.traffic;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.utils.EidPreconditions.UnsafeSupplier;
+import pl.wavesoftware.gasper.internal.HttpEndpoint;
+import pl.wavesoftware.gasper.internal.tls.TlsStores;
+
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
+
+/**
+ * A HTTP proxy placed in front of test application, that forwards requests to it and records each
+ * exchange into {@link TrafficFile}. When test application serves TLS, proxy serves it too, with the
+ * same keystore, so tests keep using <code>https</code> scheme.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class RecordingProxy implements Closeable {
+    private static final Set<String> HOP_BY_HOP_HEADERS = new HashSet<>(Arrays.asList(
+        "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+        "transfer-encoding", "upgrade", "host", "content-length"
+    ));
+    private static final int BUFFER_SIZE = 8192;
+    private static final int NO_BODY = -1;
+    private static final int BAD_GATEWAY = 502;
+    private static final int NOT_SENT = -1;
+    private static final long MICROS_IN_MILLI = 1000L;
+    private static final long NANOS_IN_MICRO = 1000L;
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final HttpEndpoint target;
+    private final TrafficFile.Writer writer;
+    private final CloseableHttpClient httpClient;
+    private final ExecutorService workers;
+    private final HttpServer server;
+    private final long epochMicros;
+    private final long epochNanos;
+    private final HttpEndpoint endpoint;
+
+    /**
+     * Starts a proxy on a free port
+     * @param target an endpoint of test application
+     * @param file a traffic file to append exchanges to
+     * @param poolSize a number of connections to test application
+     * @param tlsStores stores to serve TLS with, or null when test application serves plain HTTP
+     */
+    public RecordingProxy(HttpEndpoint target, Path file, int poolSize, TlsStores tlsStores) {
+        this.target = target;
+        this.writer = tryToExecute((UnsafeSupplier<TrafficFile.Writer>) () -> TrafficFile.append(file),
+            "20261019:213207");
+        PoolingHttpClientConnectionManager manager = TlsStores.connectionManager(target.getSslContext());
+        manager.setMaxTotal(poolSize);
+        manager.setDefaultMaxPerRoute(poolSize);
+        this.httpClient = HttpClients.custom()
+            .setConnectionManager(manager)
+            .disableRedirectHandling()
+            .disableContentCompression()
+            .disableCookieManagement()
+            .build();
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "gasper-recording-proxy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.epochMicros = System.currentTimeMillis() * MICROS_IN_MILLI;
+        this.epochNanos = System.nanoTime();
+        this.server = createServer(tlsStores == null ? null : tlsStores.getServerContext());
+        server.setExecutor(workers);
+        server.createContext("/", this::forward);
+        server.start();
+        this.endpoint = new HttpEndpoint(
+            tlsStores == null ? HttpEndpoint.DEFAULT_SCHEME : HttpEndpoint.TLS_SCHEME,
+            target.getDomain(),
+            server.getAddress().getPort(),
+            target.getContext(),
+            target.getQuery()
+        );
+        endpoint.setSslContext(target.getSslContext());
+    }
+
+    /**
+     * Creates a server with <code>TCP_NODELAY</code>, as small responses would otherwise wait for delayed
+     * ACKs, inflating recorded timings. JDK server reads it from system property once, when first server
+     * is created, so property is set only for that moment and restored afterwards.
+     */
+    private static HttpServer createServer(SSLContext serverContext) {
+        String previous = System.getProperty(NO_DELAY_PROPERTY);
+        if (previous == null) {
+            System.setProperty(NO_DELAY_PROPERTY, Boolean.TRUE.toString());
+        }
+        InetSocketAddress address = new InetSocketAddress(HttpEndpoint.DEFAULT_DOMAIN, 0);
+        try {
+            return tryToExecute((UnsafeSupplier<HttpServer>) () -> {
+                if (serverContext == null) {
+                    return HttpServer.create(address, 0);
+                }
+                HttpsServer server = HttpsServer.create(address, 0);
+                server.setHttpsConfigurator(new HttpsConfigurator(serverContext));
+                return server;
+            }, "20261019:213232");
+        } finally {
+            if (previous == null) {
+                System.clearProperty(NO_DELAY_PROPERTY);
+            }
+        }
+    }
+
+    /**
+     * Retrieves an endpoint of proxy, that should be used by tests instead of test application endpoint
+     * @return an endpoint of proxy
+     */
+    public HttpEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.stop(0);
+        workers.shutdown();
+        tryToExecute((UnsafeSupplier<Boolean>) () -> workers.awaitTermination(1, TimeUnit.SECONDS),
+            "20261019:213301");
+        httpClient.close();
+        writer.close();
+    }
+
+    private void forward(HttpExchange exchange) throws IOException {
+        long started = System.nanoTime();
+        String uri = exchange.getRequestURI().toString();
+        byte[] body = readAll(exchange.getRequestBody());
+        List<Map.Entry<String, String>> headers = requestHeaders(exchange.getRequestHeaders());
+        RequestBuilder builder = RequestBuilder.create(exchange.getRequestMethod())
+            .setUri(String.format("%s://%s:%d%s", target.getScheme(), target.getDomain(), target.getPort(), uri));
+        headers.forEach(header -> builder.addHeader(header.getKey(), header.getValue()));
+        if (body.length > 0) {
+            builder.setEntity(new ByteArrayEntity(body));
+        }
+        int status;
+        try (CloseableHttpResponse response = httpClient.execute(builder.build())) {
+            status = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+            byte[] responseBody = entity == null ? new byte[0] : EntityUtils.toByteArray(entity);
+            for (Header header : response.getAllHeaders()) {
+                if (!isHopByHop(header.getName())) {
+                    exchange.getResponseHeaders().add(header.getName(), header.getValue());
+                }
+            }
+            boolean empty = responseBody.length == 0 || "HEAD".equals(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(status, empty ? NO_BODY : responseBody.length);
+            if (!empty) {
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(responseBody);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Can't forward " + exchange.getRequestMethod() + " " + uri, ex);
+            if (exchange.getResponseCode() == NOT_SENT) {
+                exchange.sendResponseHeaders(BAD_GATEWAY, NO_BODY);
+            }
+            return;
+        } finally {
+            exchange.close();
+        }
+        long duration = (System.nanoTime() - started) / NANOS_IN_MICRO;
+        long time = epochMicros + (started - epochNanos) / NANOS_IN_MICRO;
+        record(new TrafficRecord(time, exchange.getRequestMethod(), uri, headers, body, status, duration));
+    }
+
+    private void record(TrafficRecord record) {
+        try {
+            writer.write(record);
+        } catch (IOException ex) {
+            throw new EidIllegalStateException(new Eid("20261019:213350"), ex);
+        }
+    }
+
+    private static List<Map.Entry<String, String>> requestHeaders(Headers headers) {
+        List<Map.Entry<String, String>> entries = new ArrayList<>();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (isHopByHop(header.getKey())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(header.getKey(), value));
+            }
+        }
+        return entries;
+    }
+
+    private static boolean isHopByHop(String name) {
+        return HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ENGLISH));
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.traffic;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A compact, append-only binary file of recorded HTTP exchanges. Each record is length-prefixed and
+ * appended with single write, so many recorders can append to the same file.
+ * <p>
+ * Record layout: <code>int length, byte version, long time, UTF method, UTF uri, short headers,
+ * (UTF name, UTF value)*, int body length, body, short status, long duration</code>.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TrafficFile {
+    private static final byte VERSION = 1;
+
+    /**
+     * Opens a file for appending records
+     * @param file a file to append to, created if it doesn't exist
+     * @return a writer
+     * @throws IOException if file can't be opened
+     */
+    public static Writer append(Path file) throws IOException {
+        return new Writer(FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    /**
+     * Reads records in order they were written
+     * @param file a file to read
+     * @param consumer a consumer of records
+     * @throws IOException if file can't be read
+     */
+    public static void read(Path file, Consumer<TrafficRecord> consumer) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = input.readInt();
+                } catch (EOFException ex) {
+                    return;
+                }
+                byte[] bytes = new byte[length];
+                input.readFully(bytes);
+                consumer.accept(decode(new ByteArrayInputStream(bytes)));
+            }
+        }
+    }
+
+    static byte[] encode(TrafficRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0);
+        output.writeByte(VERSION);
+        output.writeLong(record.getTime());
+        output.writeUTF(record.getMethod());
+        output.writeUTF(record.getUri());
+        output.writeShort(record.getHeaders().size());
+        for (Map.Entry<String, String> header : record.getHeaders()) {
+            output.writeUTF(header.getKey());
+            output.writeUTF(header.getValue());
+        }
+        output.writeInt(record.getBody().length);
+        output.write(record.getBody());
+        output.writeShort(record.getStatus());
+        output.writeLong(record.getDuration());
+        output.flush();
+        byte[] encoded = bytes.toByteArray();
+        ByteBuffer.wrap(encoded).putInt(encoded.length - Integer.BYTES);
+        return encoded;
+    }
+
+    private static TrafficRecord decode(InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(stream);
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported traffic record version: " + version);
+        }
+        long time = input.readLong();
+        String method = input.readUTF();
+        String uri = input.readUTF();
+        int headerCount = input.readUnsignedShort();
+        List<Map.Entry<String, String>> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(new AbstractMap.SimpleImmutableEntry<>(input.readUTF(), input.readUTF()));
+        }
+        byte[] body = new byte[input.readInt()];
+        input.readFully(body);
+        int status = input.readUnsignedShort();
+        long duration = input.readLong();
+        return new TrafficRecord(time, method, uri, headers, body, status, duration);
+    }
+
+    /**
+     * Appends records to traffic file
+     */
+    public static final class Writer implements Closeable {
+        private final FileChannel channel;
+
+        private Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Appends a record
+         * @param record a record to append
+         * @throws IOException if record can't be written
+         */
+        public synchronized void write(TrafficRecord record) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(encode(record));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.traffic;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A recorded HTTP exchange with test application.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@Getter
+@RequiredArgsConstructor
+public final class TrafficRecord {
+    private static final Pattern IDENTIFIER = Pattern.compile(
+        "[0-9]+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{24,}"
+    );
+    private static final String IDENTIFIER_PLACEHOLDER = "{id}";
+    private static final String SEPARATOR = "/";
+
+    /**
+     * Epoch time in microseconds when request was received
+     */
+    private final long time;
+    private final String method;
+    /**
+     * Request URI, with path and query, as received
+     */
+    private final String uri;
+    private final List<Map.Entry<String, String>> headers;
+    private final byte[] body;
+    private final int status;
+    /**
+     * Time in microseconds it took test application to respond
+     */
+    private final long duration;
+
+    /**
+     * Retrieves an endpoint of this request, that is a method and a path without query, with
+     * identifiers like numbers and UUIDs replaced, so requests to the same resource are grouped
+     * together, for ex.: <code>GET /api/users/{id}</code>
+     * @return an endpoint of request
+     */
+    public String getEndpoint() {
+        int query = uri.indexOf('?');
+        String path = query < 0 ? uri : uri.substring(0, query);
+        String[] segments = path.split(SEPARATOR, -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (IDENTIFIER.matcher(segments[i]).matches()) {
+                segments[i] = IDENTIFIER_PLACEHOLDER;
+            }
+        }
+        return method + " " + String.join(SEPARATOR, segments);
+    }
+}
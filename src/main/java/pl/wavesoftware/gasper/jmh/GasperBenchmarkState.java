@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import pl.wavesoftware.gasper.Gasper;
+import pl.wavesoftware.gasper.GasperBuilder;
+import pl.wavesoftware.gasper.GasperClient;
+
+/**
+ * A JMH benchmark state that starts your application with Gasper once per trial, and stops it after
+ * trial ends. Extend it and return Gasper configuration from {@link #configure()} method. The same
+ * {@link GasperBuilder} configurations as in integration tests can be used.
+ * <p>
+ * Requires <code>org.openjdk.jmh:jmh-core</code> on classpath.
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * public class HelloBenchmark {
+ *   public static class Server extends GasperBenchmarkState {
+ *     &#064;Override
+ *     protected GasperBuilder configure() {
+ *       return Gasper.configurations()
+ *         .springBoot()
+ *         .withHttpClientPoolSize(16);
+ *     }
+ *   }
+ *
+ *   &#064;Benchmark
+ *   &#064;Threads(16)
+ *   public int getRoot(Server server) {
+ *     return server.client().get("/").getStatus();
+ *   }
+ * }
+ * </pre>
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+@State(Scope.Benchmark)
+public abstract class GasperBenchmarkState {
+    private Gasper gasper;
+    private String address;
+
+    /**
+     * Configures Gasper to be used in benchmark
+     * @return a Gasper configuration
+     */
+    protected abstract GasperBuilder configure();
+
+    /**
+     * Starts application before trial
+     */
+    @Setup(Level.Trial)
+    public void startGasper() {
+        gasper = configure().build();
+        address = gasper.start();
+    }
+
+    /**
+     * Stops application after trial
+     */
+    @TearDown(Level.Trial)
+    public void stopGasper() {
+        if (gasper != null) {
+            gasper.close();
+        }
+    }
+
+    /**
+     * @return a Gasper running application for benchmark
+     */
+    public Gasper getGasper() {
+        return gasper;
+    }
+
+    /**
+     * @return a full address of running application
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * @return a HTTP client bound to running application
+     */
+    public GasperClient client() {
+        return gasper.client();
+    }
+}
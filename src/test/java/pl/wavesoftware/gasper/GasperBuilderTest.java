@@ -18,12 +18,16 @@ package pl.wavesoftware.gasper;
 
 import com.mashape.unirest.http.Unirest;
 import org.junit.Test;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
 import pl.wavesoftware.eid.utils.EidPreconditions;
 import pl.wavesoftware.gasper.internal.HttpEndpoint;
+import pl.wavesoftware.gasper.internal.LaunchMode;
+import pl.wavesoftware.gasper.internal.Settings;
 
 import java.nio.file.Paths;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static pl.wavesoftware.eid.utils.EidPreconditions.tryToExecute;
 
 /**
@@ -58,6 +62,52 @@ public class GasperBuilderTest {
         assertThat(gasper).isNotNull();
     }
 
+    @Test
+    public void testBuildNative() throws Exception {
+        Gasper gasper = Gasper.configurations()
+            .springBootNative()
+            .usingNativeExecutable("spring-boot-tester")
+            .build();
+
+        Settings settings = gasper.getSettings();
+        assertThat(settings.getLaunchMode()).isEqualTo(LaunchMode.NATIVE);
+        assertThat(settings.getLaunchMode().isJvm()).isFalse();
+        assertThat(settings.getExecutable()).isEqualTo("spring-boot-tester");
+        assertThat(settings.getSystemPropertyForPort()).isEqualTo(GasperConfigurations.SPRING_BOOT);
+        assertThat(settings.getSystemProperties())
+            .containsEntry(GasperConfigurations.SPRING_BOOT, String.valueOf(settings.getPort()));
+    }
+
+    @Test
+    public void testBuildWithoutWarmUpRequests() {
+        // given
+        GasperBuilder builder = Gasper.configurations()
+            .springBoot()
+            .silentGasperMessages()
+            .withWarmUp(WarmUp.of());
+
+        // then
+        assertThatThrownBy(builder::build)
+            .isInstanceOf(EidIllegalArgumentException.class)
+            .hasMessageContaining("20261019:031556");
+    }
+
+    @Test
+    public void testInvalidWarmUp() {
+        // given
+        WarmUp warmUp = WarmUp.of("/");
+
+        // then
+        assertThatThrownBy(() -> warmUp.withConcurrency(0))
+            .isInstanceOf(EidIllegalArgumentException.class);
+        assertThatThrownBy(() -> warmUp.withWindowSize(0))
+            .isInstanceOf(EidIllegalArgumentException.class);
+        assertThatThrownBy(() -> warmUp.withMaxTime(-1))
+            .isInstanceOf(EidIllegalArgumentException.class);
+        assertThatThrownBy(() -> warmUp.withTolerance(-0.1d))
+            .isInstanceOf(EidIllegalArgumentException.class);
+    }
+
     private static Boolean checkContext(HttpEndpoint endpoint) {
         return tryToExecute((EidPreconditions.UnsafeSupplier<Boolean>) () ->
             Unirest.get(endpoint.fullAddress()).asBinary().getStatus() == 200, "20160305:215916");
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper;
+
+import org.junit.Test;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.gasper.internal.stats.LatencySamples;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class GasperComparisonTest {
+
+    private static final GasperComparison.Statistics BASELINE = statistics(2L, 2L);
+    private static final GasperComparison.Statistics CANDIDATE = statistics(2L, 3L);
+
+    @Test
+    public void testRegression() {
+        // given
+        GasperComparison.Result result = result(0.5d, 0.1d, 0.9d);
+
+        // then
+        assertThat(result.isSignificant()).isTrue();
+        assertThat(result.isRegression()).isTrue();
+        assertThat(result.getRelativeChange()).isEqualTo(0.25d);
+    }
+
+    @Test
+    public void testImprovement() {
+        // given
+        GasperComparison.Result result = result(-0.5d, -0.9d, -0.1d);
+
+        // then
+        assertThat(result.isSignificant()).isTrue();
+        assertThat(result.isRegression()).isFalse();
+        assertThat(result.getRelativeChange()).isEqualTo(-0.25d);
+    }
+
+    @Test
+    public void testNoSignificantDifference() {
+        // given
+        GasperComparison.Result result = result(0.5d, -0.1d, 1.1d);
+
+        // then
+        assertThat(result.isSignificant()).isFalse();
+        assertThat(result.isRegression()).isFalse();
+    }
+
+    @Test
+    public void testRelativeChangeOfZeroBaseline() {
+        // given
+        GasperComparison.Statistics empty = new GasperComparison.Statistics(new LatencySamples());
+        GasperComparison.Result result = new GasperComparison.Result("1.0.0", 2, empty, CANDIDATE,
+            2.5d, 2d, 3d);
+
+        // then
+        assertThat(result.getRelativeChange()).isEqualTo(0d);
+    }
+
+    @Test
+    public void testRender() {
+        // given
+        GasperComparison.Result result = result(0.5d, 0.1d, 0.9d);
+
+        // when
+        String rendered = result.toString();
+
+        // then
+        assertThat(rendered).isEqualTo(String.format(
+            "Comparison of candidate with baseline 1.0.0, 2 iterations%n" +
+            "                mean ms     p50 ms     p99 ms   throughput/s%n" +
+            "  baseline        2.000      2.000      2.000          500.0%n" +
+            "  candidate       2.500      2.000      3.000          400.0%n" +
+            "  Mean latency difference: +0.500ms (+25.0%%), 95%% CI [+0.100ms, +0.900ms], candidate is slower%n" +
+            "  Throughput difference: -20.0%%%n"
+        ));
+    }
+
+    @Test
+    public void testRejectsInvalidIterations() {
+        // given
+        GasperComparison comparison = GasperComparison.against("1.0.0", Gasper::configure);
+
+        // then
+        assertThatThrownBy(() -> comparison.withIterations(1))
+            .isInstanceOf(EidIllegalArgumentException.class);
+        assertThatThrownBy(() -> comparison.withWarmUpIterations(-1))
+            .isInstanceOf(EidIllegalArgumentException.class);
+    }
+
+    private static GasperComparison.Result result(double difference, double lower, double upper) {
+        return new GasperComparison.Result("1.0.0", 2, BASELINE, CANDIDATE, difference, lower, upper);
+    }
+
+    private static GasperComparison.Statistics statistics(long... millis) {
+        LatencySamples samples = new LatencySamples();
+        for (long latency : millis) {
+            samples.record(TimeUnit.MILLISECONDS.toNanos(latency));
+        }
+        return new GasperComparison.Statistics(samples);
+    }
+}
@@ -60,6 +60,19 @@ public class GasperForSpringBootIT {
         log.info("Server returned: " + response.getBody());
     }
 
+    @Test
+    public void testGetRootWithClient() {
+        // given
+        String expectedMessage = "Hello from Spring Boot!";
+
+        // when
+        GasperClient.Response response = gasper.client().get("/");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(expectedMessage);
+    }
+
     @Test
     public void testGetNonExistent() throws UnirestException {
         // given
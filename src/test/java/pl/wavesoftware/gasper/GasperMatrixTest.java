@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.InitializationError;
+import pl.wavesoftware.gasper.internal.jvm.JavaHome;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class GasperMatrixTest {
+    private static final Path INSTALLATIONS = createDirectory();
+    private static final Path JDK_8 = fakeJavaHome("jdk-8", "1.8.0_392");
+    private static final Path JDK_17 = fakeJavaHome("jdk-17", "17.0.9");
+    private static final Path OTHER_JDK_17 = fakeJavaHome("other-17", "17.0.9");
+
+    @Test
+    public void testLabelsWithJavaVersion() throws Exception {
+        // when
+        Description description = new GasperMatrix(Sample.class).getDescription();
+
+        // then
+        assertThat(displayNames(description.getChildren())).containsExactly("[1.8.0_392]", "[17.0.9]");
+        assertThat(methodNames(description.getChildren().get(1).getChildren()))
+            .containsExactly("testGetRoot[17.0.9]");
+    }
+
+    @Test
+    public void testLabelsWithDirectoryOfSameVersions() throws Exception {
+        // when
+        Description description = new GasperMatrix(SameVersions.class).getDescription();
+
+        // then
+        assertThat(displayNames(description.getChildren()))
+            .containsExactly("[17.0.9 jdk-17]", "[17.0.9 other-17]");
+    }
+
+    @Test
+    public void testWithoutClassRule() {
+        // when
+        assertThatThrownBy(() -> new GasperMatrix(WithoutRule.class))
+
+        // then
+            .isInstanceOf(InitializationError.class);
+    }
+
+    @Test
+    public void testRender() {
+        // given
+        GasperMatrix.Measurement booted = new GasperMatrix.Measurement("1.8.0_392", JavaHome.of(JDK_8));
+        booted.setStartupMillis(1234L);
+        booted.setResidentMemory(100L * 1024L * 1024L);
+        booted.setTestsMillis(2500L);
+        booted.setFailures(1);
+        GasperMatrix.Measurement attached = new GasperMatrix.Measurement("17.0.9", JavaHome.of(JDK_17));
+
+        // when
+        String rendered = GasperMatrix.render("HelloIT", Arrays.asList(booted, attached));
+
+        // then
+        List<String> lines = Arrays.asList(rendered.split("\\r?\\n"));
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo("Java matrix of HelloIT");
+        assertThat(lines.get(2)).matches("\\s+1\\.8\\.0_392\\s+1234\\s+100\\.0\\s+NaN\\s+0 .*\\s+2\\.5\\s+1");
+        assertThat(lines.get(3)).matches("\\s+17\\.0\\.9\\s+unknown\\s+NaN\\s+NaN\\s+0 .*\\s+0");
+    }
+
+    public static class Sample {
+        @ClassRule
+        public static Gasper gasper = Gasper.configure()
+            .silentGasperMessages()
+            .withJavaHomes(JDK_8, JDK_17)
+            .build();
+
+        @Test
+        public void testGetRoot() {
+            // only described
+        }
+    }
+
+    public static class SameVersions {
+        @ClassRule
+        public static Gasper gasper = Gasper.configure()
+            .silentGasperMessages()
+            .withJavaHomes(JDK_17, OTHER_JDK_17)
+            .build();
+
+        @Test
+        public void testGetRoot() {
+            // only described
+        }
+    }
+
+    public static class WithoutRule {
+        @Test
+        public void testGetRoot() {
+            // only described
+        }
+    }
+
+    private static List<String> displayNames(List<Description> descriptions) {
+        List<String> names = new ArrayList<>();
+        descriptions.forEach(description -> names.add(description.getDisplayName()));
+        return names;
+    }
+
+    private static List<String> methodNames(List<Description> descriptions) {
+        List<String> names = new ArrayList<>();
+        descriptions.forEach(description -> names.add(description.getMethodName()));
+        return names;
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("gasper-matrix");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Path fakeJavaHome(String name, String version) {
+        try {
+            Path home = INSTALLATIONS.resolve(name);
+            Path java = Files.createDirectories(home.resolve("bin")).resolve("java");
+            Files.write(java, Collections.singletonList("#!/bin/sh"), StandardCharsets.UTF_8);
+            java.toFile().setExecutable(true);
+            Files.write(home.resolve("release"), Collections.singletonList("JAVA_VERSION=\"" + version + "\""),
+                StandardCharsets.UTF_8);
+            return home;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
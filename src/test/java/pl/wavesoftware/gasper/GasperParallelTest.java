@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper;
+
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class GasperParallelTest {
+
+    @Test
+    public void testRunInParallel() throws Exception {
+        // given
+        Sample.THREADS.clear();
+
+        // when
+        Result result = JUnitCore.runClasses(Sample.class);
+
+        // then
+        assertThat(result.wasSuccessful()).isTrue();
+        assertThat(result.getRunCount()).isEqualTo(4);
+        assertThat(result.getRunTime()).isLessThan(4 * Sample.SLEEP);
+        assertThat(Sample.THREADS).hasSize(4);
+    }
+
+    @RunWith(GasperParallel.class)
+    @GasperParallel.Parallelism(4)
+    public static class Sample {
+        private static final long SLEEP = 400L;
+        private static final Set<String> THREADS = ConcurrentHashMap.newKeySet();
+
+        @Test
+        public void testFirst() throws InterruptedException {
+            sleep();
+        }
+
+        @Test
+        public void testSecond() throws InterruptedException {
+            sleep();
+        }
+
+        @Test
+        public void testThird() throws InterruptedException {
+            sleep();
+        }
+
+        @Test
+        public void testFourth() throws InterruptedException {
+            sleep();
+        }
+
+        private static void sleep() throws InterruptedException {
+            THREADS.add(Thread.currentThread().getName());
+            Thread.sleep(SLEEP);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.gasper.jmh.GasperBenchmarkState;
+
+import java.net.ConnectException;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class GasperTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path pom;
+    private Gasper gasper;
+
+    @Before
+    public void before() throws Exception {
+        pom = TestApplication.install(folder.getRoot().toPath());
+    }
+
+    @After
+    public void after() {
+        if (gasper != null) {
+            gasper.close();
+        }
+    }
+
+    @Test
+    public void testStartAndClose() {
+        // given
+        gasper = configure().build();
+
+        // when
+        String address = gasper.start();
+
+        // then
+        assertThat(address).isEqualTo(gasper.getAddress());
+        assertThat(address).startsWith("http://localhost:" + gasper.getPort());
+        assertThat(gasper.client().get("/").getStatus()).isEqualTo(200);
+        assertThatThrownBy(gasper::start)
+            .isInstanceOf(EidIllegalStateException.class)
+            .hasMessageContaining("20261019:032014");
+        gasper.close();
+        gasper.close();
+        assertThat(gasper.start()).isEqualTo(address);
+    }
+
+    @Test
+    public void testFailedStartCleansUp() {
+        // given
+        gasper = configure()
+            .withSystemProperty(TestApplication.EXIT_PROPERTY, "3")
+            .build();
+
+        // then
+        assertThatThrownBy(gasper::start)
+            .isInstanceOf(EidIllegalStateException.class)
+            .hasMessageContaining("exit code 3");
+        gasper.close();
+        assertThatThrownBy(gasper::start)
+            .isInstanceOf(EidIllegalStateException.class)
+            .hasMessageContaining("exit code 3");
+    }
+
+    @Test
+    public void testStartNative() throws Exception {
+        // given
+        pom = TestApplication.installNative(folder.getRoot().toPath());
+        gasper = Gasper.configurations()
+            .springBootNative()
+            .usingPomFile(pom)
+            .silentGasperMessages()
+            .withJVMOptions("-Xmx64m")
+            .build();
+
+        // when
+        gasper.start();
+
+        // then
+        Path arguments = pom.resolveSibling("target").resolve(TestApplication.ARGUMENTS_FILE);
+        String command = new String(Files.readAllBytes(arguments), StandardCharsets.UTF_8).trim();
+        assertThat(command).contains("-Dserver.port=" + gasper.getPort());
+        assertThat(command).doesNotContain("-Xmx64m");
+        assertThat(gasper.client().get("/").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void testStartAsyncTwice() {
+        // given
+        gasper = configure().build();
+
+        // when
+        CompletableFuture<String> boot = gasper.startAsync();
+
+        // then
+        assertThatThrownBy(gasper::startAsync)
+            .isInstanceOf(EidIllegalStateException.class)
+            .hasMessageContaining("20261019:235514");
+        assertThatThrownBy(gasper::start)
+            .isInstanceOf(EidIllegalStateException.class)
+            .hasMessageContaining("20261019:032014");
+        assertThat(boot.join()).isEqualTo(gasper.getAddress());
+    }
+
+    @Test
+    public void testStartAsyncFailure() {
+        // given
+        gasper = configure()
+            .withSystemProperty(TestApplication.EXIT_PROPERTY, "3")
+            .build();
+
+        // when
+        CompletableFuture<String> boot = gasper.startAsync();
+
+        // then
+        assertThatThrownBy(boot::join)
+            .isInstanceOf(CompletionException.class)
+            .hasMessageContaining("exit code 3");
+        assertThatThrownBy(gasper::getAddress)
+            .isInstanceOf(EidIllegalStateException.class)
+            .hasMessageContaining("exit code 3");
+        gasper.close();
+    }
+
+    @Test
+    public void testCloseWhileBooting() throws Exception {
+        // given
+        gasper = configure()
+            .withSystemProperty(TestApplication.DELAY_PROPERTY, "1500")
+            .build();
+        CompletableFuture<String> boot = gasper.startAsync();
+
+        // when
+        gasper.close();
+
+        // then
+        assertThat(boot.isDone()).isTrue();
+        URI address = URI.create(boot.join());
+        assertThatThrownBy(() -> new Socket(address.getHost(), address.getPort()).close())
+            .isInstanceOf(ConnectException.class);
+    }
+
+    @Test
+    public void testBenchmarkState() {
+        // given
+        Server server = new Server(configure());
+
+        // when
+        server.startGasper();
+
+        // then
+        try {
+            assertThat(server.getAddress()).isEqualTo(server.getGasper().getAddress());
+            assertThat(server.client().get("/").getStatus()).isEqualTo(200);
+        } finally {
+            server.stopGasper();
+        }
+        server.stopGasper();
+    }
+
+    private GasperBuilder configure() {
+        return Gasper.configurations()
+            .springBoot()
+            .usingPomFile(pom)
+            .silentGasperMessages();
+    }
+
+    private static final class Server extends GasperBenchmarkState {
+        private final GasperBuilder builder;
+
+        private Server(GasperBuilder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        protected GasperBuilder configure() {
+            return builder;
+        }
+    }
+}
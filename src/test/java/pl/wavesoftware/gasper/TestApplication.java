@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * A minimal test application, served with JDK HTTP server on port given with <code>server.port</code>
+ * system property, like Spring Boot one. It's packaged as an executable jar of Maven project with
+ * {@link #install(Path)}, or as a native executable of Maven project with {@link #installNative(Path)}.
+ * <p>
+ * Set <code>gasper.test.delay</code> to boot slower, in milliseconds, and <code>gasper.test.exit</code>
+ * to exit with given code instead.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class TestApplication {
+    public static final String DELAY_PROPERTY = "gasper.test.delay";
+    public static final String EXIT_PROPERTY = "gasper.test.exit";
+    public static final String ARGUMENTS_FILE = "native-arguments.txt";
+    private static final int HTTP_OK = 200;
+    private static final String POM = "<project><modelVersion>4.0.0</modelVersion>"
+        + "<groupId>pl.wavesoftware.test</groupId><artifactId>app</artifactId><version>1</version>"
+        + "<build><outputDirectory>target</outputDirectory></build></project>";
+
+    private TestApplication() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Thread.sleep(Long.getLong(DELAY_PROPERTY, 0L));
+        Integer exit = Integer.getInteger(EXIT_PROPERTY);
+        if (exit != null) {
+            System.exit(exit);
+        }
+        int port = Integer.parseInt(System.getProperty(GasperConfigurations.SPRING_BOOT));
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(HTTP_OK, -1L);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    /**
+     * Writes a Maven project with executable jar of this application
+     * @param directory a directory of project
+     * @return a pom file of project
+     * @throws IOException if project can't be written
+     */
+    public static Path install(Path directory) throws IOException {
+        Path pom = directory.resolve("pom.xml");
+        Files.write(pom, POM.getBytes(StandardCharsets.UTF_8));
+        Path target = Files.createDirectories(directory.resolve("target"));
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, TestApplication.class.getName());
+        String entry = TestApplication.class.getName().replace('.', '/') + ".class";
+        try (OutputStream output = Files.newOutputStream(target.resolve("app-1.jar"));
+             JarOutputStream jar = new JarOutputStream(output, manifest);
+             InputStream input = TestApplication.class.getClassLoader().getResourceAsStream(entry)) {
+            jar.putNextEntry(new JarEntry(entry));
+            byte[] buffer = new byte[8192];
+            for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                jar.write(buffer, 0, read);
+            }
+            jar.closeEntry();
+        }
+        return pom;
+    }
+
+    /**
+     * Writes a Maven project with a native executable of this application, a shell script running
+     * its jar, that saves arguments it was given to {@link #ARGUMENTS_FILE} in build directory
+     * @param directory a directory of project
+     * @return a pom file of project
+     * @throws IOException if project can't be written
+     */
+    public static Path installNative(Path directory) throws IOException {
+        Path pom = install(directory);
+        Path executable = directory.resolve("target").resolve("app");
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String script = "#!/bin/sh\n"
+            + "cd \"$(dirname \"$0\")\"\n"
+            + "echo \"$@\" > " + ARGUMENTS_FILE + "\n"
+            + "exec \"" + java + "\" \"$@\" -jar app-1.jar\n";
+        Files.write(executable, script.getBytes(StandardCharsets.UTF_8));
+        Files.setPosixFilePermissions(executable, PosixFilePermissions.fromString("rwxr-xr-x"));
+        return pom;
+    }
+}
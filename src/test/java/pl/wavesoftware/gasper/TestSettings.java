@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper;
+
+import pl.wavesoftware.gasper.internal.Settings;
+
+/**
+ * Gives tests of internal classes access to settings built with {@link GasperBuilder}.
+ *
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public final class TestSettings {
+
+    private TestSettings() {}
+
+    /**
+     * Builds settings with given builder
+     * @param builder a configured builder
+     * @return a settings of built Gasper instance
+     */
+    public static Settings of(GasperBuilder builder) {
+        return builder.build().getSettings();
+    }
+}
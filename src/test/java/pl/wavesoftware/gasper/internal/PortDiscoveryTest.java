@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class PortDiscoveryTest {
+
+    @Test
+    public void testListeningPorts() {
+        // given
+        List<String> table = Arrays.asList(
+            "  sl  local_address rem_address   st tx_queue rx_queue tr tm->when retrnsmt   uid  timeout inode",
+            "   0: 00000000:1F90 00000000:0000 0A 00000000:00000000 00:00000000 00000000     0        0 1001 1 0 100 0 0 10 0",
+            "   1: 0100007F:A3C1 00000000:0000 0A 00000000:00000000 00:00000000 00000000     0        0 2002 1 0 100 0 0 10 0",
+            "   2: 0100007F:1F90 0100007F:C350 01 00000000:00000000 00:00000000 00000000     0        0 1003 1 0 20 4 30 10 -1",
+            "   0: 00000000000000000000000000000000:0BB8 00000000000000000000000000000000:0000 0A "
+                + "00000000:00000000 00:00000000 00000000     0        0 1004 1 0 100 0 0 10 0"
+        );
+
+        // when
+        Iterable<Integer> ports = PortDiscovery.listeningPorts(table, new HashSet<>(Arrays.asList(1001L, 1003L, 1004L)));
+
+        // then
+        assertThat(ports).containsExactly(3000, 8080);
+    }
+
+    @Test
+    public void testPortFromLog() {
+        // given
+        String springBoot = "2026-10-19 INFO 1 --- [main] s.b.c.e.t.TomcatEmbeddedServletContainer : "
+            + "Tomcat started on port(s): 43117 (http)";
+        String swarm = "2026-10-19 INFO [org.wildfly.extension.undertow] (MSC service thread 1-4) "
+            + "WFLYUT0006: Undertow HTTP listener default listening on [0:0:0:0:0:0:0:0]:39451";
+        String other = "Started application in 2.3 seconds";
+
+        // when
+        Integer springBootPort = PortDiscovery.portFromLog(springBoot, PortDiscovery.DEFAULT_LOG_PATTERNS);
+        Integer swarmPort = PortDiscovery.portFromLog(swarm, PortDiscovery.DEFAULT_LOG_PATTERNS);
+        Integer otherPort = PortDiscovery.portFromLog(other, PortDiscovery.DEFAULT_LOG_PATTERNS);
+
+        // then
+        assertThat(springBootPort).isEqualTo(43117);
+        assertThat(swarmPort).isEqualTo(39451);
+        assertThat(otherPort).isNull();
+    }
+}
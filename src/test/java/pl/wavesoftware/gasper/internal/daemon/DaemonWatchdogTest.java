@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.daemon;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class DaemonWatchdogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStoreAndRead() throws Exception {
+        // given
+        Path stateFile = folder.getRoot().toPath().resolve("gasper-daemon-test.properties");
+        Properties state = new Properties();
+        state.setProperty(DaemonWatchdog.PID, "42");
+        state.setProperty(DaemonWatchdog.LAST_USED, "not a number");
+
+        // when
+        DaemonWatchdog.store(stateFile, state, "test");
+        Properties read = DaemonWatchdog.read(stateFile);
+
+        // then
+        assertThat(read).isEqualTo(state);
+        assertThat(DaemonWatchdog.number(read, DaemonWatchdog.PID)).isEqualTo(42L);
+        assertThat(DaemonWatchdog.number(read, DaemonWatchdog.LAST_USED)).isNull();
+        assertThat(DaemonWatchdog.number(read, DaemonWatchdog.MAX_IDLE)).isNull();
+        assertThat(folder.getRoot().list()).containsExactly(stateFile.getFileName().toString());
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.daemon;
+
+import org.junit.Test;
+import pl.wavesoftware.gasper.internal.Processes;
+
+import java.util.Properties;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class SharedServerWatchdogTest {
+
+    @Test
+    public void testLiveHolders() throws Exception {
+        // given
+        long pid = Processes.currentPid();
+        String startTime = Processes.startTime(pid);
+        String live = SharedServerWatchdog.holder(pid, 1, startTime);
+        String reused = SharedServerWatchdog.holder(pid, 2, startTime + "0");
+        Properties state = new Properties();
+        state.setProperty(SharedServerWatchdog.HOLDERS, String.join(",", live, reused, pid + "-3", "garbage"));
+
+        // when
+        Set<String> holders = SharedServerWatchdog.liveHolders(state);
+
+        // then
+        assertThat(holders).containsExactly(live);
+    }
+}
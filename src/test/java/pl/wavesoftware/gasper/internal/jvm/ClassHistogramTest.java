@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class ClassHistogramTest {
+
+    @Test
+    public void testParse() {
+        // given
+        String output = "8003:\n"
+            + " num     #instances         #bytes  class name (module)\n"
+            + "-------------------------------------------------------\n"
+            + "   1:          2906         139360  [B (java.base@17.0.9)\n"
+            + "   2:          1002         122976  java.lang.Class (java.base@17.0.9)\n"
+            + "   3:            10            240  com.example.Session\n"
+            + "   4:             5            120  com.example.Session\n"
+            + "Total          3923         262696\n";
+
+        // when
+        ClassHistogram histogram = ClassHistogram.parse(output);
+
+        // then
+        assertThat(histogram.getInstances()).isEqualTo(3923L);
+        assertThat(histogram.getBytes()).isEqualTo(262696L);
+    }
+
+    @Test
+    public void testSince() {
+        // given
+        ClassHistogram before = ClassHistogram.parse(
+            "   1:          1865         149216  [C\n"
+                + "   2:           878         100352  java.lang.Class\n"
+                + "   3:           100           2400  com.example.Session\n"
+        );
+        ClassHistogram after = ClassHistogram.parse(
+            "   1:          1900         150000  [C\n"
+                + "   2:           878         100352  java.lang.Class\n"
+                + "   3:          5100         122400  com.example.Session\n"
+                + "   4:             1             16  com.example.Cache\n"
+        );
+
+        // when
+        ClassHistogram.Diff diff = after.since(before);
+
+        // then
+        assertThat(diff.getBytes()).isEqualTo(120800L);
+        assertThat(diff.getGrowths()).hasSize(3);
+        assertThat(diff.getGrowths().get(0).getType()).isEqualTo("com.example.Session");
+        assertThat(diff.getGrowths().get(0).getBytes()).isEqualTo(120000L);
+        assertThat(diff.getGrowths().get(0).getInstances()).isEqualTo(5000L);
+        assertThat(diff.getGrowths().get(2).getType()).isEqualTo("com.example.Cache");
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class JavaHomeTest {
+
+    @Test
+    public void testParseRelease() {
+        // given
+        List<String> lines = Arrays.asList(
+            "IMPLEMENTOR=\"Eclipse Adoptium\"",
+            "JAVA_VERSION=\"17.0.9\"",
+            "MODULES=\"java.base java.logging\"",
+            ""
+        );
+
+        // when
+        Map<String, String> release = JavaHome.parseRelease(lines);
+
+        // then
+        assertThat(release.get("JAVA_VERSION")).isEqualTo("17.0.9");
+        assertThat(release.get("IMPLEMENTOR")).isEqualTo("Eclipse Adoptium");
+        assertThat(release).hasSize(3);
+    }
+
+    @Test
+    public void testCompareVersions() {
+        // when
+        int legacy = JavaHome.compareVersions("1.8.0_392", "11.0.21");
+        int patch = JavaHome.compareVersions("17.0.16", "17.0.9");
+        int feature = JavaHome.compareVersions("21", "21.0.1");
+
+        // then
+        assertThat(legacy).isNegative();
+        assertThat(patch).isPositive();
+        assertThat(feature).isNegative();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class JvmToolsTest {
+
+    @Test
+    public void testParseJstat() {
+        // given
+        String output = " S0C    S1C    S0U    S1U      EC       EU        OC         OU       MC     MU\n"
+            + " 0,0    0,0    0,0    0,0   24576,0   4096,0   237568,0    12345,5  21248,0 20680,1\n";
+
+        // when
+        Map<String, Double> statistics = JvmTools.parseJstat(output);
+
+        // then
+        assertThat(statistics.get("OU")).isEqualTo(12345.5d);
+        assertThat(statistics.get("EC")).isEqualTo(24576d);
+        assertThat(statistics).hasSize(10);
+    }
+}
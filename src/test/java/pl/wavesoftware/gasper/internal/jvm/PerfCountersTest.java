@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class PerfCountersTest {
+
+    @Test
+    public void testParse() {
+        // given
+        String output = "7048:\n"
+            + "java.threads.live=8\n"
+            + "sun.management.JMXConnectorServer.0.address=\"service:jmx:rmi://127.0.0.1/stub/rO0ABXN9\"\n"
+            + "sun.os.hrt.frequency=1000000000\n"
+            + "sun.rt.safepointTime=699906\n"
+            + "sun.rt.safepoints=4\n";
+
+        // when
+        PerfCounters counters = PerfCounters.parse(output);
+
+        // then
+        assertThat(counters.getLong(PerfCounters.SAFEPOINTS)).isEqualTo(4L);
+        assertThat(counters.getMillis(PerfCounters.SAFEPOINT_TIME)).isEqualTo(0.699906d);
+        assertThat(counters.getLong("missing.counter")).isEqualTo(0L);
+        assertThat(counters.getConnectorAddress()).isEqualTo("service:jmx:rmi://127.0.0.1/stub/rO0ABXN9");
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import org.junit.Assume;
+import org.junit.Test;
+import pl.wavesoftware.gasper.internal.Processes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class PerfDataFileTest {
+
+    @Test
+    public void testReadCurrentJvm() {
+        // given
+        PerfDataFile file = PerfDataFile.find(Processes.currentPid());
+        Assume.assumeTrue("JVM doesn't share performance counters", file != null);
+
+        // when
+        PerfCounters counters = file.read();
+
+        // then
+        assertThat(counters.getLong("java.threads.live")).isGreaterThan(0L);
+        assertThat(counters.getLong("sun.os.hrt.frequency")).isGreaterThan(0L);
+        assertThat(counters.getMillis(PerfCounters.SAFEPOINT_TIME)).isGreaterThanOrEqualTo(0d);
+    }
+
+    @Test
+    public void testFindMissing() {
+        // when
+        PerfDataFile file = PerfDataFile.find(Long.MAX_VALUE);
+
+        // then
+        assertThat(file).isNull();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.jvm;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import pl.wavesoftware.gasper.Gasper;
+import pl.wavesoftware.gasper.TestSettings;
+import pl.wavesoftware.gasper.internal.Processes;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class SlowTestDumpsTest {
+
+    private static final long THRESHOLD = 1L;
+    private static final long SLOW = 1500L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SlowTestDumps rule;
+
+    @Before
+    public void before() {
+        Assume.assumeTrue("jcmd is not available", JvmTools.isAvailable(Processes.currentPid()));
+        ThreadDumps dumps = new ThreadDumps(
+            TestSettings.of(Gasper.configurations().springBoot()), folder.getRoot(), Processes::currentPid
+        );
+        rule = new SlowTestDumps(dumps, THRESHOLD);
+    }
+
+    @After
+    public void after() {
+        if (rule != null) {
+            rule.close();
+        }
+    }
+
+    @Test
+    public void testSlowFailingTest() throws Exception {
+        // given
+        IllegalStateException failure = new IllegalStateException("slow failure");
+        Statement statement = rule.apply(statement(SLOW, failure), description("testSlow"));
+
+        // when
+        try {
+            statement.evaluate();
+            fail("failure expected");
+        } catch (Throwable thrown) {
+            // then
+            assertThat(thrown).isSameAs(failure);
+        }
+        assertThat(failure.getSuppressed().length).isEqualTo(1);
+        assertThat(failure.getSuppressed()[0].getMessage()).contains("Thread dump of application");
+        assertThat(dumps()).hasSize(1);
+        assertThat(dumps().get(0).getFileName().toString()).contains("slow-test-testSlow");
+    }
+
+    @Test
+    public void testFastFailingTest() throws Exception {
+        // given
+        IllegalStateException failure = new IllegalStateException("fast failure");
+        Statement statement = rule.apply(statement(0L, failure), description("testFast"));
+
+        // when
+        try {
+            statement.evaluate();
+            fail("failure expected");
+        } catch (Throwable thrown) {
+            // then
+            assertThat(thrown).isSameAs(failure);
+        }
+        assertThat(failure.getSuppressed().length).isEqualTo(0);
+        Thread.sleep(SLOW);
+        assertThat(dumps()).isEmpty();
+    }
+
+    @Test
+    public void testSlowPassingTest() throws Throwable {
+        // given
+        Statement statement = rule.apply(statement(SLOW, null), description("testSlowPassing"));
+
+        // when
+        statement.evaluate();
+
+        // then
+        assertThat(dumps()).hasSize(1);
+    }
+
+    private List<Path> dumps() throws Exception {
+        Path directory = new File(folder.getRoot(), "gasper-dumps").toPath();
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static Description description(String method) {
+        return Description.createTestDescription(SlowTestDumpsTest.class, method);
+    }
+
+    private static Statement statement(long millis, RuntimeException failure) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                Thread.sleep(millis);
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+        };
+    }
+}
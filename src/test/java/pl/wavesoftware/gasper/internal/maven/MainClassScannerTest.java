@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.maven;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.gasper.TestApplication;
+import pl.wavesoftware.gasper.TestSettings;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class MainClassScannerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testScanSingleMainClass() throws Exception {
+        // given
+        Path classes = folder.getRoot().toPath();
+        copy(TestApplication.class, classes);
+        copy(TestSettings.class, classes);
+
+        // when
+        String mainClass = new MainClassScanner(classes, Collections.emptyList()).scan();
+
+        // then
+        assertThat(mainClass).isEqualTo(TestApplication.class.getName());
+    }
+
+    @Test
+    public void testScanWithoutMainClass() throws Exception {
+        // given
+        Path classes = folder.getRoot().toPath();
+        copy(TestSettings.class, classes);
+
+        // then
+        assertThatThrownBy(() -> new MainClassScanner(classes, Collections.emptyList()).scan())
+            .isInstanceOf(EidIllegalStateException.class)
+            .hasMessageContaining("20261019:122844");
+    }
+
+    private static void copy(Class<?> cls, Path classes) throws Exception {
+        String entry = cls.getName().replace('.', '/') + ".class";
+        Path target = classes.resolve(entry);
+        Files.createDirectories(target.getParent());
+        try (InputStream input = cls.getClassLoader().getResourceAsStream(entry)) {
+            Files.copy(input, target);
+        }
+    }
+}
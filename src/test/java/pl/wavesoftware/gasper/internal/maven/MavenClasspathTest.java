@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.maven;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pl.wavesoftware.gasper.Gasper;
+import pl.wavesoftware.gasper.TestSettings;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class MavenClasspathTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testIsStale() throws Exception {
+        // given
+        Path pom = folder.newFile("pom.xml").toPath();
+        Path classpath = folder.getRoot().toPath().resolve(MavenClasspath.CLASSPATH_FILE);
+
+        // then
+        assertThat(MavenClasspath.isStale(classpath, pom)).isTrue();
+        Files.write(classpath, new byte[0]);
+        assertThat(classpath.toFile().setLastModified(pom.toFile().lastModified() + 2000L)).isTrue();
+        assertThat(MavenClasspath.isStale(classpath, pom)).isFalse();
+        assertThat(pom.toFile().setLastModified(pom.toFile().lastModified() + 4000L)).isTrue();
+        assertThat(MavenClasspath.isStale(classpath, pom)).isTrue();
+    }
+
+    @Test
+    public void testResolveFromUpToDateCache() throws Exception {
+        // given
+        Path pom = folder.newFile("pom.xml").toPath();
+        File build = folder.newFolder("target");
+        Path classpath = build.toPath().resolve(MavenClasspath.CLASSPATH_FILE);
+        String entries = "/repo/a.jar" + File.pathSeparator + "/repo/b.jar\n";
+        Files.write(classpath, entries.getBytes(StandardCharsets.UTF_8));
+        assertThat(classpath.toFile().setLastModified(pom.toFile().lastModified() + 2000L)).isTrue();
+
+        // when
+        List<Path> dependencies = new MavenClasspath(pom, build,
+            TestSettings.of(Gasper.configure().silentGasperMessages())).resolve();
+
+        // then
+        assertThat(dependencies).containsExactly(Paths.get("/repo/a.jar"), Paths.get("/repo/b.jar"));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.maven;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class MavenResolverTest {
+
+    private static final String PLUGIN = "<build><plugins><plugin>"
+        + "<groupId>org.codehaus.mojo</groupId><artifactId>exec-maven-plugin</artifactId>"
+        + "<configuration><mainClass>%s</mainClass></configuration>"
+        + "</plugin></plugins></build>";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMainClassFromStartClassProperty() throws Exception {
+        // given
+        MavenResolver resolver = resolver("<properties><start-class>com.example.App</start-class></properties>");
+
+        // when
+        String mainClass = resolver.getMainClass();
+
+        // then
+        assertThat(mainClass).isEqualTo("com.example.App");
+    }
+
+    @Test
+    public void testMainClassFromPluginConfiguration() throws Exception {
+        // given
+        MavenResolver resolver = resolver(String.format(PLUGIN, "com.example.Main"));
+
+        // when
+        String mainClass = resolver.getMainClass();
+
+        // then
+        assertThat(mainClass).isEqualTo("com.example.Main");
+    }
+
+    @Test
+    public void testPlaceholdersAreSkipped() throws Exception {
+        // given
+        MavenResolver resolver = resolver(
+            "<properties><start-class>${app.main}</start-class></properties>"
+                + String.format(PLUGIN, "${exec.main}")
+        );
+
+        // when
+        String mainClass = resolver.getMainClass();
+
+        // then
+        assertThat(mainClass).isEqualTo(MavenResolver.DEFAULT_MAIN_CLASS);
+    }
+
+    private MavenResolver resolver(String content) throws Exception {
+        Path pom = folder.getRoot().toPath().resolve("pom.xml");
+        String project = "<project><modelVersion>4.0.0</modelVersion>"
+            + "<groupId>pl.wavesoftware.test</groupId><artifactId>app</artifactId><version>1</version>"
+            + content + "</project>";
+        Files.write(pom, project.getBytes(StandardCharsets.UTF_8));
+        return new MavenResolver(pom);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.profiling;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class HotspotReportTest {
+
+    private static final String RECORDING = "jdk.ExecutionSample {\n" +
+        "  startTime = 23:59:59.500\n" +
+        "  sampledThread = \"main\" (javaThreadId = 1)\n" +
+        "  state = \"STATE_RUNNABLE\"\n" +
+        "  stackTrace = [\n" +
+        "    java.lang.String.hashCode() line: 2344\n" +
+        "    com.example.Service.compute(int) line: 12\n" +
+        "    com.example.Controller.get() line: 7\n" +
+        "    ...\n" +
+        "  ]\n" +
+        "}\n" +
+        "\n" +
+        "jdk.ExecutionSample {\n" +
+        "  startTime = 00:00:00.250\n" +
+        "  sampledThread = \"http-1\" (javaThreadId = 21)\n" +
+        "  state = \"STATE_RUNNABLE\"\n" +
+        "  stackTrace = [\n" +
+        "    com.example.Repository.find(long) line: 33\n" +
+        "    com.example.Controller.get() line: 9\n" +
+        "  ]\n" +
+        "}\n" +
+        "\n" +
+        "jdk.ExecutionSample {\n" +
+        "  startTime = 00:00:00.750\n" +
+        "  sampledThread = \"http-1\" (javaThreadId = 21)\n" +
+        "  state = \"STATE_RUNNABLE\"\n" +
+        "  stackTrace = [\n" +
+        "    java.util.HashMap.get(Object) line: 556\n" +
+        "    java.lang.Thread.run() line: 833\n" +
+        "  ]\n" +
+        "}\n";
+
+    @Test
+    public void testAttributesSamplesToTestMethods() throws IOException {
+        // given
+        long midnight = Instant.parse("2026-10-20T00:00:00Z").toEpochMilli();
+        HotspotReport.Window first = new HotspotReport.Window("testFirst", midnight - 1000, midnight);
+        HotspotReport.Window second = new HotspotReport.Window("testSecond", midnight, midnight + 1000);
+        HotspotReport report = new HotspotReport(Arrays.asList(first, second), 10);
+
+        // when
+        new JfrSampleParser(Instant.ofEpochMilli(midnight - 1000), report::record).parse(new BufferedReader(new StringReader(RECORDING)));
+        String rendered = report.render();
+
+        // then
+        assertThat(rendered).isEqualTo(String.format(
+            "testFirst - 1 samples in 1000ms%n" +
+            "  100.0%%      1  com.example.Service.compute(int)%n" +
+            "testSecond - 2 samples in 1000ms%n" +
+            "   50.0%%      1  com.example.Repository.find(long)%n" +
+            "   50.0%%      1  java.util.HashMap.get(Object)%n"
+        ));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.profiling;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class JfrSampleParserTest {
+
+    private static final String SAMPLE = "jdk.ExecutionSample {\n" +
+        "  startTime = %s\n" +
+        "  sampledThread = \"main\" (javaThreadId = 1)\n" +
+        "  state = \"STATE_RUNNABLE\"\n" +
+        "  stackTrace = [\n" +
+        "    com.example.Service.compute(int) line: 12\n" +
+        "  ]\n" +
+        "}\n\n";
+
+    @Test
+    public void testParseDatedTimesAcrossMidnight() throws IOException {
+        // given
+        String recording = String.format(SAMPLE, "23:59:59.500 (2026-10-19)")
+            + String.format(SAMPLE, "00:00:00.250 (2026-10-20)");
+        Instant recordingStart = Instant.parse("2026-10-18T12:00:00Z");
+
+        // when
+        List<JfrSampleParser.Sample> samples = parse(recordingStart, recording);
+
+        // then
+        assertThat(samples).hasSize(2);
+        assertThat(samples.get(0).getTime()).isEqualTo(Instant.parse("2026-10-19T23:59:59.500Z"));
+        assertThat(samples.get(1).getTime()).isEqualTo(Instant.parse("2026-10-20T00:00:00.250Z"));
+        assertThat(samples.get(1).getFrames()).containsExactly("com.example.Service.compute(int)");
+    }
+
+    @Test
+    public void testParseTimesOfDayAcrossMidnight() throws IOException {
+        // given
+        String recording = String.format(SAMPLE, "23:59:59.500")
+            + String.format(SAMPLE, "00:00:00.250");
+        Instant recordingStart = Instant.parse("2026-10-19T23:59:58Z");
+
+        // when
+        List<JfrSampleParser.Sample> samples = parse(recordingStart, recording);
+
+        // then
+        assertThat(samples).hasSize(2);
+        assertThat(samples.get(0).getTime()).isEqualTo(Instant.parse("2026-10-19T23:59:59.500Z"));
+        assertThat(samples.get(1).getTime()).isEqualTo(Instant.parse("2026-10-20T00:00:00.250Z"));
+    }
+
+    private static List<JfrSampleParser.Sample> parse(Instant recordingStart, String recording) throws IOException {
+        List<JfrSampleParser.Sample> samples = new ArrayList<>();
+        new JfrSampleParser(recordingStart, samples::add).parse(new BufferedReader(new StringReader(recording)));
+        return samples;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pl.wavesoftware.gasper.internal.Processes;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class ActiveInstancesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testIsAliveComparesStartTime() throws Exception {
+        // given
+        long pid = Processes.currentPid();
+        String startTime = Processes.startTime(pid);
+        Path live = reservation(pid + "-1", startTime);
+        Path reused = reservation(pid + "-2", startTime + "0");
+        Path unknown = reservation(pid + "-3", "");
+        Path invalid = reservation("garbage", startTime);
+
+        // then
+        assertThat(ActiveInstances.isAlive(live)).isTrue();
+        assertThat(ActiveInstances.isAlive(reused)).isFalse();
+        assertThat(ActiveInstances.isAlive(unknown)).isTrue();
+        assertThat(ActiveInstances.isAlive(invalid)).isFalse();
+    }
+
+    private Path reservation(String name, String startTime) throws Exception {
+        Path file = folder.getRoot().toPath().resolve(name);
+        return Files.write(file, startTime.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.gasper.Gasper;
+import pl.wavesoftware.gasper.TestSettings;
+import pl.wavesoftware.gasper.internal.Processes;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class BootAdmissionTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path queue;
+    private File build;
+    private BootAdmission admission;
+
+    @Before
+    public void before() throws Exception {
+        queue = folder.newFolder("queue").toPath();
+        build = folder.newFolder("build");
+        admission = new BootAdmission(TestSettings.of(Gasper.configure()
+            .silentGasperMessages()
+            .withBootAdmissionLimit(1)), build, queue);
+    }
+
+    @Test
+    public void testAcquireAndRelease() throws Exception {
+        // when
+        admission.acquire();
+        List<Path> tickets = tickets();
+        String holder = new String(Files.readAllBytes(tickets.get(0)), StandardCharsets.UTF_8);
+        admission.release(true);
+
+        // then
+        assertThat(tickets).hasSize(1);
+        assertThat(holder).isEqualTo(Processes.startTime(Processes.currentPid()));
+        assertThat(tickets()).isEmpty();
+        List<String> metrics = Files.readAllLines(build.toPath().resolve("gasper-boot-metrics.csv"));
+        assertThat(metrics).hasSize(2);
+        assertThat(metrics.get(1)).matches("\\d+,1,0,\\d+,\\d+,true");
+    }
+
+    @Test
+    public void testQueuedBehindLiveHolder() throws Exception {
+        // given
+        Path holder = ticket(Processes.startTime(Processes.currentPid()));
+
+        // when
+        CompletableFuture<Void> acquired = CompletableFuture.runAsync(admission::acquire);
+
+        // then
+        try {
+            acquired.get(500, TimeUnit.MILLISECONDS);
+            fail("boot admitted while other holder is booting");
+        } catch (TimeoutException ex) {
+            Files.delete(holder);
+        }
+        acquired.get(5, TimeUnit.SECONDS);
+        admission.release(true);
+    }
+
+    @Test
+    public void testStaleHolderWithReusedPidIsRemoved() throws Exception {
+        // given
+        Path stale = ticket("1");
+
+        // when
+        CompletableFuture.runAsync(admission::acquire).get(5, TimeUnit.SECONDS);
+        admission.release(false);
+
+        // then
+        assertThat(Files.exists(stale)).isFalse();
+        assertThat(tickets()).isEmpty();
+    }
+
+    @Test
+    public void testInterruptedAcquireWithdrawsTicket() throws Exception {
+        // given
+        Path holder = ticket(Processes.startTime(Processes.currentPid()));
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        Thread waiting = new Thread(() -> {
+            try {
+                admission.acquire();
+                failure.complete(null);
+            } catch (RuntimeException ex) {
+                failure.complete(ex);
+            }
+        });
+        waiting.start();
+        Thread.sleep(300L);
+
+        // when
+        waiting.interrupt();
+
+        // then
+        assertThat(failure.get(5, TimeUnit.SECONDS)).isInstanceOf(EidIllegalStateException.class);
+        assertThat(tickets()).containsExactly(holder);
+        Files.delete(holder);
+        CompletableFuture.runAsync(admission::acquire).get(5, TimeUnit.SECONDS);
+        admission.release(true);
+    }
+
+    @Test
+    public void testAcquireTimesOut() throws Exception {
+        // given
+        Path holder = ticket(Processes.startTime(Processes.currentPid()));
+        BootAdmission impatient = new BootAdmission(TestSettings.of(Gasper.configure()
+            .silentGasperMessages()
+            .withMaxDeploymentTime(1)
+            .withBootAdmissionLimit(1)), build, queue);
+
+        // then
+        assertThatThrownBy(impatient::acquire)
+            .isInstanceOf(EidIllegalStateException.class)
+            .hasMessageContaining("20261019:033012");
+        assertThat(tickets()).containsExactly(holder);
+    }
+
+    private Path ticket(String startTime) throws Exception {
+        Path ticket = queue.resolve(String.format("%019d-%d.ticket", 0L, Processes.currentPid()));
+        return Files.write(ticket, startTime.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Path> tickets() throws Exception {
+        List<Path> tickets = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(queue, "*.ticket")) {
+            stream.forEach(tickets::add);
+        }
+        return tickets;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class CgroupLimitsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCgroup2Mount() {
+        // given
+        String v1 = "30 25 0:26 / /sys/fs/cgroup/memory rw,relatime shared:12 - cgroup cgroup rw,memory";
+        String v2 = "42 32 0:38 / /sys/fs/cgroup/unified rw,relatime shared:5 - cgroup2 cgroup2 rw";
+
+        // when
+        Path mount = CgroupLimits.cgroup2Mount(Arrays.asList(v1, v2));
+
+        // then
+        assertThat(mount).isEqualTo(Paths.get("/sys/fs/cgroup/unified"));
+    }
+
+    @Test
+    public void testParseCpuStat() {
+        // given
+        String[] lines = {
+            "usage_usec 4235112",
+            "user_usec 3910001",
+            "nr_periods 120",
+            "nr_throttled 37",
+            "throttled_usec 912004"
+        };
+
+        // when
+        Map<String, Long> stat = CgroupLimits.parseKeyed(Arrays.asList(lines));
+
+        // then
+        assertThat(stat.get("nr_throttled")).isEqualTo(37L);
+        assertThat(stat.get("throttled_usec")).isEqualTo(912004L);
+        assertThat(stat).hasSize(5);
+    }
+
+    @Test
+    public void testIsOwnedBy() throws Exception {
+        // given
+        Path file = folder.newFile("cgroup.procs").toPath();
+        int uid = (Integer) Files.getAttribute(file, "unix:uid");
+
+        // when
+        boolean owned = CgroupLimits.isOwnedBy(file, uid);
+        boolean other = CgroupLimits.isOwnedBy(file, uid + 1);
+        boolean missing = CgroupLimits.isOwnedBy(file.resolveSibling("cgroup.subtree_control"), uid);
+
+        // then
+        assertThat(owned).isTrue();
+        assertThat(other).isFalse();
+        assertThat(missing).isFalse();
+    }
+
+    @Test
+    public void testCpuMax() {
+        // when
+        String fraction = CgroupLimits.cpuMax(1.5d);
+        String tiny = CgroupLimits.cpuMax(0.001d);
+
+        // then
+        assertThat(fraction).isEqualTo("150000 100000");
+        assertThat(tiny).isEqualTo("1000 100000");
+    }
+
+    @Test
+    public void testPrepareInSiblingOfBusyCgroup() throws Exception {
+        // given
+        Path mount = folder.getRoot().toPath();
+        Path slice = cgroup(mount.resolve("user.slice"), "cpu memory", "", "");
+        Path own = cgroup(slice.resolve("app.scope"), "cpu memory", "", "1234");
+
+        // when
+        CgroupLimits limits = CgroupLimits.prepare(mount, own, uid(own), 1.5d, 0L);
+
+        // then
+        assertThat(limits.getCgroup().getParent()).isEqualTo(slice);
+        assertThat(limits.getCgroup().getFileName().toString()).startsWith("gasper-");
+    }
+
+    @Test
+    public void testPrepareInOwnCgroupWithEnabledControllers() throws Exception {
+        // given
+        Path mount = folder.getRoot().toPath();
+        Path slice = cgroup(mount.resolve("user.slice"), "cpu memory", "", "");
+        Path own = cgroup(slice.resolve("app.scope"), "cpu memory", "cpu memory", "1234");
+
+        // when
+        CgroupLimits limits = CgroupLimits.prepare(mount, own, uid(own), 1.5d, 512L * 1024 * 1024);
+
+        // then
+        assertThat(limits.getCgroup().getParent()).isEqualTo(own);
+    }
+
+    @Test
+    public void testPrepareWithoutDelegation() throws Exception {
+        // given
+        Path mount = folder.getRoot().toPath();
+        Path slice = cgroup(mount.resolve("user.slice"), "cpu", "", "");
+        Path own = cgroup(slice.resolve("app.scope"), "cpu memory", "", "1234");
+
+        // then
+        assertThatThrownBy(() -> CgroupLimits.prepare(mount, own, uid(own), 1.5d, 512L * 1024 * 1024))
+            .isInstanceOf(EidIllegalStateException.class)
+            .hasMessageContaining("has processes")
+            .hasMessageContaining("has [cpu] controllers only");
+    }
+
+    private static Path cgroup(Path directory, String controllers, String enabled, String processes)
+        throws IOException {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("cgroup.controllers"), Collections.singletonList(controllers));
+        Files.write(directory.resolve("cgroup.subtree_control"), Collections.singletonList(enabled));
+        Files.write(directory.resolve("cgroup.procs"),
+            processes.isEmpty() ? Collections.emptyList() : Collections.singletonList(processes));
+        return directory;
+    }
+
+    private static int uid(Path path) throws IOException {
+        return (Integer) Files.getAttribute(path.resolve("cgroup.procs"), "unix:uid");
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class CpuAffinityTest {
+
+    @Test
+    public void testParseCpuList() {
+        // given
+        String list = "0-3, 8,10-11";
+
+        // when
+        List<Integer> cpus = CpuAffinity.parseCpuList(list);
+
+        // then
+        assertThat(cpus).containsExactly(0, 1, 2, 3, 8, 10, 11);
+        assertThat(CpuAffinity.cpuList(cpus)).isEqualTo("0-3,8,10-11");
+    }
+
+    @Test
+    public void testSplit() {
+        // given
+        List<Integer> available = Arrays.asList(2, 3, 4, 5, 6);
+
+        // when
+        List<Integer> server = CpuAffinity.split(available, String::valueOf);
+
+        // then
+        assertThat(server).containsExactly(2, 3, 4);
+        assertThat(CpuAffinity.split(Arrays.asList(7), String::valueOf)).containsExactly(7);
+    }
+
+    @Test
+    public void testSplitKeepsSiblingsTogether() {
+        // given siblings numbered far apart, like on Intel, or next to each other, like on AMD
+        List<Integer> available = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7);
+
+        // when
+        List<Integer> apart = CpuAffinity.split(available, cpu -> String.valueOf(cpu % 4));
+        List<Integer> adjacent = CpuAffinity.split(available, cpu -> String.valueOf(cpu / 2));
+        List<Integer> single = CpuAffinity.split(Arrays.asList(0, 1), cpu -> "0");
+
+        // then
+        assertThat(apart).containsExactly(0, 1, 4, 5);
+        assertThat(adjacent).containsExactly(0, 1, 2, 3);
+        assertThat(single).containsExactly(0, 1);
+    }
+}
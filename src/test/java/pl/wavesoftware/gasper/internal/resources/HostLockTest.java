@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class HostLockTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLockIsExclusiveAndReleased() throws Exception {
+        // given
+        Path file = folder.getRoot().toPath().resolve("nested").resolve("test.lock");
+        HostLock lock = HostLock.lock(file);
+
+        // when
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() -> HostLock.lock(file).close());
+        Thread.sleep(200L);
+        boolean acquiredWhileLocked = other.isDone();
+        lock.close();
+        other.get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(Files.exists(file)).isTrue();
+        assertThat(acquiredWhileLocked).isFalse();
+        assertThat(other.isCompletedExceptionally()).isFalse();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.resources;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class JvmSizingTest {
+
+    private static final long GIGABYTE = 1024L * 1024 * 1024;
+
+    @Test
+    public void testOptions() {
+        // given
+        HostResources resources = new HostResources(16, 16 * GIGABYTE);
+
+        // when
+        List<String> options = JvmSizing.options(resources, 4);
+
+        // then
+        assertThat(options).containsExactly(
+            "-Xmx2048m",
+            "-XX:ActiveProcessorCount=4",
+            "-XX:ParallelGCThreads=4",
+            "-XX:ConcGCThreads=1",
+            "-XX:CICompilerCount=2"
+        );
+    }
+
+    @Test
+    public void testOptionsForMoreInstancesThanCpus() {
+        // given
+        HostResources resources = new HostResources(2, GIGABYTE);
+
+        // when
+        List<String> options = JvmSizing.options(resources, 16);
+
+        // then
+        assertThat(options).containsExactly(
+            "-Xmx64m",
+            "-XX:ActiveProcessorCount=1",
+            "-XX:ParallelGCThreads=1",
+            "-XX:ConcGCThreads=1",
+            "-XX:CICompilerCount=2"
+        );
+    }
+
+    @Test
+    public void testMergeGivesPrecedenceToUserOptions() {
+        // given
+        List<String> computed = Arrays.asList(
+            "-Xmx2048m", "-XX:ActiveProcessorCount=4", "-XX:ParallelGCThreads=4"
+        );
+        List<String> user = Arrays.asList("-server", "-XX:MaxRAMPercentage=25", "-XX:ParallelGCThreads=8");
+
+        // when
+        List<String> merged = JvmSizing.merge(computed, user);
+
+        // then
+        assertThat(merged).containsExactly(
+            "-XX:ActiveProcessorCount=4", "-server", "-XX:MaxRAMPercentage=25", "-XX:ParallelGCThreads=8"
+        );
+    }
+
+    @Test
+    public void testMergeWithLargerInitialHeap() {
+        // given
+        List<String> computed = Arrays.asList("-Xmx512m", "-XX:ActiveProcessorCount=4");
+        List<String> user = Arrays.asList("-Xms1G");
+
+        // when
+        List<String> merged = JvmSizing.merge(computed, user);
+
+        // then
+        assertThat(merged).containsExactly("-XX:ActiveProcessorCount=4", "-Xms1G");
+    }
+
+    @Test
+    public void testMergeWithSmallerInitialHeap() {
+        // given
+        List<String> computed = Arrays.asList("-Xmx512m", "-XX:ActiveProcessorCount=4");
+        List<String> user = Arrays.asList("-XX:InitialHeapSize=256m");
+
+        // when
+        List<String> merged = JvmSizing.merge(computed, user);
+
+        // then
+        assertThat(merged).containsExactly("-Xmx512m", "-XX:ActiveProcessorCount=4", "-XX:InitialHeapSize=256m");
+    }
+
+    @Test
+    public void testBytes() {
+        assertThat(JvmSizing.bytes("1G")).isEqualTo(1024L * 1024 * 1024);
+        assertThat(JvmSizing.bytes("512m")).isEqualTo(512L * 1024 * 1024);
+        assertThat(JvmSizing.bytes("64k")).isEqualTo(64L * 1024);
+        assertThat(JvmSizing.bytes("1048576")).isEqualTo(1048576L);
+        assertThat(JvmSizing.bytes("lots")).isEqualTo(-1L);
+    }
+}
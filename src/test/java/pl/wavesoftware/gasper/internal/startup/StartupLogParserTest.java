@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.startup;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class StartupLogParserTest {
+
+    private static final List<String> SPRING_BOOT_LOG = Arrays.asList(
+        "  .   ____          _            __ _ _",
+        " :: Spring Boot ::        (v1.3.3.RELEASE)",
+        "2026-10-19 10:00:01.000  INFO 4242 --- [           main] pl.wavesoftware.App                      "
+            + ": Starting App v1.0 on host with PID 4242",
+        "2026-10-19 10:00:01.500  INFO 4242 --- [           main] o.s.b.f.s.DefaultListableBeanFactory     "
+            + ": Overriding bean definition for bean 'beanNameViewResolver'",
+        "2026-10-19 10:00:03.000  INFO 4242 --- [           main] s.b.c.e.t.TomcatEmbeddedServletContainer "
+            + ": Tomcat initialized with port(s): 8080 (http)",
+        "2026-10-19 10:00:03.200  INFO 4242 --- [ost-startStop-1] o.s.web.context.ContextLoader            "
+            + ": Root WebApplicationContext: initialization completed in 200 ms",
+        "2026-10-19 10:00:07.200  INFO 4242 --- [           main] s.b.c.e.t.TomcatEmbeddedServletContainer "
+            + ": Tomcat started on port(s): 8080 (http)",
+        "2026-10-19 10:00:07.300  INFO 4242 --- [           main] pl.wavesoftware.App                      "
+            + ": Started App in 6.9 seconds (JVM running for 7.3)"
+    );
+
+    @Test
+    public void testSpringBootBreakdown() {
+        // given
+        long launched = epochMillis("2026-10-19T10:00:00.000");
+        long ready = epochMillis("2026-10-19T10:00:07.500");
+
+        // when
+        StartupLogParser parser = StartupLogParser.detect(SPRING_BOOT_LOG);
+        StartupBreakdown breakdown = parser.parse(SPRING_BOOT_LOG, launched, ready);
+
+        // then
+        assertThat(parser).isSameAs(StartupLogParser.SPRING_BOOT);
+        assertThat(breakdown.getTotal()).isEqualTo(7500L);
+        assertThat(breakdown.getPhases().keySet()).containsExactly(
+            "JVM and logging bootstrap",
+            "Environment and web server preparation",
+            "Web application context initialization",
+            "Bean initialization and context refresh",
+            "Application runners and startup completion",
+            "Until ready (web context available)"
+        );
+        assertThat(new ArrayList<>(breakdown.getPhases().values())).containsExactly(
+            1000L, 2000L, 200L, 4000L, 100L, 200L
+        );
+        StartupBreakdown.ComponentTime loader = breakdown.getComponents().get("o.s.web.context.ContextLoader");
+        assertThat(loader.getTotal()).isEqualTo(4000L);
+        assertThat(loader.getSlowestMessage()).contains("Root WebApplicationContext");
+        assertThat(breakdown.render(1)).contains("o.s.web.context.ContextLoader (1 messages)");
+    }
+
+    private static long epochMillis(String dateTime) {
+        return LocalDateTime.parse(dateTime).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
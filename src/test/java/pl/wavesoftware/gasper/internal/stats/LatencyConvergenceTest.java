@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.stats;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class LatencyConvergenceTest {
+
+    @Test
+    public void testConvergesWhenLatencyStabilizes() {
+        // given
+        LatencyConvergence convergence = new LatencyConvergence(10, 0.1);
+
+        // when
+        record(convergence, 10, 5_000_000L);
+        record(convergence, 10, 2_000_000L);
+        boolean beforeStable = convergence.isConverged();
+        record(convergence, 30, 1_000_000L);
+
+        // then
+        assertThat(beforeStable).isFalse();
+        assertThat(convergence.isConverged()).isTrue();
+        assertThat(convergence.getWindows()).isEqualTo(5);
+        assertThat(convergence.getLastMedian()).isEqualTo(1_000_000L);
+    }
+
+    @Test
+    public void testNotConvergedWhenLatencyDrops() {
+        // given
+        LatencyConvergence convergence = new LatencyConvergence(10, 0.1);
+
+        // when
+        record(convergence, 10, 4_000_000L);
+        record(convergence, 10, 2_000_000L);
+        record(convergence, 10, 1_000_000L);
+
+        // then
+        assertThat(convergence.isConverged()).isFalse();
+        assertThat(convergence.getWindows()).isEqualTo(3);
+    }
+
+    private static void record(LatencyConvergence convergence, int count, long nanos) {
+        for (int i = 0; i < count; i++) {
+            convergence.record(nanos);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.stats;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class LatencySamplesTest {
+
+    @Test
+    public void testPercentiles() {
+        // given
+        LatencySamples samples = new LatencySamples();
+
+        // when
+        for (long i = 2000; i >= 1; i--) {
+            samples.record(i);
+        }
+
+        // then
+        assertThat(samples.getCount()).isEqualTo(2000);
+        assertThat(samples.getMean()).isEqualTo(1000.5d);
+        assertThat(samples.getPercentile(50)).isEqualTo(1000L);
+        assertThat(samples.getPercentile(99)).isEqualTo(1980L);
+        assertThat(samples.getPercentile(100)).isEqualTo(2000L);
+    }
+
+    @Test
+    public void testMeanDifferenceInterval() {
+        // given
+        LatencySamples baseline = new LatencySamples();
+        LatencySamples candidate = new LatencySamples();
+        for (int i = 0; i < 1000; i++) {
+            baseline.record(i % 2 == 0 ? 90 : 110);
+            candidate.record(i % 2 == 0 ? 110 : 130);
+        }
+
+        // when
+        double[] interval = baseline.meanDifferenceInterval(candidate);
+
+        // then
+        assertThat(interval[0]).isCloseTo(19.123d, offset(0.001d));
+        assertThat(interval[1]).isCloseTo(20.877d, offset(0.001d));
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.stats;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class LinearTrendTest {
+
+    @Test
+    public void testFit() {
+        // given
+        double[] x = {0d, 1d, 2d, 3d, 4d};
+        double[] y = {1d, 3.1d, 4.9d, 7.2d, 8.8d};
+
+        // when
+        LinearTrend trend = LinearTrend.fit(x, y);
+
+        // then
+        assertThat(trend.getSlope()).isCloseTo(1.97d, offset(0.001d));
+        assertThat(trend.getIntercept()).isCloseTo(1.06d, offset(0.001d));
+        assertThat(trend.getRSquared()).isCloseTo(0.998d, offset(0.001d));
+    }
+
+    @Test
+    public void testFitFlat() {
+        // given
+        double[] x = {0d, 1d, 2d};
+        double[] y = {5d, 5d, 5d};
+
+        // when
+        LinearTrend trend = LinearTrend.fit(x, y);
+
+        // then
+        assertThat(trend.getSlope()).isEqualTo(0d);
+        assertThat(trend.getRSquared()).isEqualTo(0d);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.tls;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pl.wavesoftware.gasper.internal.HttpEndpoint;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.security.KeyStore;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class AlpnProbeTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testNegotiateHttp2() throws Exception {
+        // when
+        String protocol = negotiateWithServer(AlpnProbe.HTTP_2, AlpnProbe.HTTP_1_1);
+
+        // then
+        assertThat(protocol).isEqualTo(AlpnProbe.HTTP_2);
+    }
+
+    @Test
+    public void testNegotiateHttp11Only() throws Exception {
+        // when
+        String protocol = negotiateWithServer(AlpnProbe.HTTP_1_1);
+
+        // then
+        assertThat(protocol).isEqualTo(AlpnProbe.HTTP_1_1);
+    }
+
+    private String negotiateWithServer(String... serverProtocols) throws Exception {
+        Method applicationProtocols = alpn();
+        TlsStores stores = TlsStores.ensure(folder.getRoot().toPath(), null);
+        try (SSLServerSocket server = (SSLServerSocket) serverContext(stores).getServerSocketFactory()
+            .createServerSocket(0)) {
+            CompletableFuture<Void> accepted = CompletableFuture.runAsync(() -> {
+                try (SSLSocket socket = (SSLSocket) server.accept()) {
+                    SSLParameters parameters = socket.getSSLParameters();
+                    applicationProtocols.invoke(parameters, (Object) serverProtocols);
+                    socket.setSSLParameters(parameters);
+                    socket.startHandshake();
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            HttpEndpoint endpoint = new HttpEndpoint(HttpEndpoint.TLS_SCHEME, HttpEndpoint.DEFAULT_DOMAIN,
+                server.getLocalPort(), "/", HttpEndpoint.DEFAULT_QUERY);
+            endpoint.setSslContext(stores.getSslContext());
+            String protocol = AlpnProbe.negotiate(endpoint, Arrays.asList(AlpnProbe.HTTP_2, AlpnProbe.HTTP_1_1));
+            accepted.get(10, TimeUnit.SECONDS);
+            return protocol;
+        }
+    }
+
+    private static Method alpn() {
+        try {
+            return SSLParameters.class.getMethod("setApplicationProtocols", String[].class);
+        } catch (NoSuchMethodException ex) {
+            Assume.assumeNoException("ALPN is not supported by this JVM", ex);
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static SSLContext serverContext(TlsStores stores) throws Exception {
+        KeyStore keystore = KeyStore.getInstance(TlsStores.STORE_TYPE);
+        try (InputStream input = Files.newInputStream(stores.getKeystore())) {
+            keystore.load(input, TlsStores.PASSWORD.toCharArray());
+        }
+        KeyManagerFactory keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keys.init(keystore, TlsStores.PASSWORD.toCharArray());
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keys.getKeyManagers(), null, null);
+        return context;
+    }
+}
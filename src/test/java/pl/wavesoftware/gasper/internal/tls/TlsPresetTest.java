@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.tls;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class TlsPresetTest {
+
+    @Test
+    public void testForPortProperty() {
+        // when
+        TlsPreset springBoot = TlsPreset.forPortProperty("server.port");
+        TlsPreset swarm = TlsPreset.forPortProperty("swarm.http.port");
+        TlsPreset other = TlsPreset.forPortProperty("app.port");
+        TlsPreset none = TlsPreset.forPortProperty(null);
+
+        // then
+        assertThat(springBoot).isEqualTo(TlsPreset.SPRING_BOOT);
+        assertThat(swarm).isEqualTo(TlsPreset.WILDFLY_SWARM);
+        assertThat(other).isEqualTo(TlsPreset.GENERIC);
+        assertThat(none).isEqualTo(TlsPreset.GENERIC);
+    }
+
+    @Test
+    public void testGetPortProperty() {
+        // when
+        String springBoot = TlsPreset.SPRING_BOOT.getPortProperty("server.port");
+        String swarm = TlsPreset.WILDFLY_SWARM.getPortProperty("swarm.http.port");
+        String generic = TlsPreset.GENERIC.getPortProperty("app.port");
+
+        // then
+        assertThat(springBoot).isEqualTo("server.port");
+        assertThat(swarm).isEqualTo("swarm.https.port");
+        assertThat(generic).isEqualTo("app.port");
+    }
+}
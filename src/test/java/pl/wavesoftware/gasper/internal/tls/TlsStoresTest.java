@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.tls;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class TlsStoresTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEnsureGeneratesStores() throws Exception {
+        // given
+        Path buildDirectory = folder.getRoot().toPath();
+
+        // when
+        TlsStores stores = TlsStores.ensure(buildDirectory, null);
+
+        // then
+        KeyStore keystore = load(stores.getKeystore());
+        KeyStore truststore = load(stores.getTruststore());
+        assertThat(keystore.isKeyEntry(TlsStores.ALIAS)).isTrue();
+        assertThat(truststore.isCertificateEntry(TlsStores.ALIAS)).isTrue();
+        assertThat(truststore.getCertificate(TlsStores.ALIAS))
+            .isEqualTo(keystore.getCertificate(TlsStores.ALIAS));
+        assertThat(stores.getSslContext()).isNotNull();
+    }
+
+    @Test
+    public void testEnsureReusesStores() throws Exception {
+        // given
+        Path buildDirectory = folder.getRoot().toPath();
+        TlsStores generated = TlsStores.ensure(buildDirectory, null);
+        FileTime modified = Files.getLastModifiedTime(generated.getKeystore());
+
+        // when
+        TlsStores reused = TlsStores.ensure(buildDirectory, null);
+
+        // then
+        assertThat(reused.getKeystore()).isEqualTo(generated.getKeystore());
+        assertThat(Files.getLastModifiedTime(reused.getKeystore())).isEqualTo(modified);
+    }
+
+    @Test
+    public void testPresetProperties() {
+        // given
+        TlsStores stores = TlsStores.ensure(folder.getRoot().toPath(), null);
+
+        // when
+        Map<String, String> properties = TlsPreset.SPRING_BOOT.getProperties(stores, true);
+
+        // then
+        assertThat(properties).containsEntry("server.ssl.key-store", stores.getKeystore().toString());
+        assertThat(properties).containsEntry("server.ssl.key-store-type", TlsStores.STORE_TYPE);
+        assertThat(properties).containsEntry("server.http2.enabled", "true");
+        assertThat(properties).containsEntry("gasper.tls.truststore", stores.getTruststore().toString());
+    }
+
+    private static KeyStore load(Path store) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance(TlsStores.STORE_TYPE);
+        try (InputStream input = Files.newInputStream(store)) {
+            keyStore.load(input, TlsStores.PASSWORD.toCharArray());
+        }
+        return keyStore;
+    }
+}
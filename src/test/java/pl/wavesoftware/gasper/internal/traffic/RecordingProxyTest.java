@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package pl.wavesoftware.gasper.internal.traffic;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pl.wavesoftware.gasper.internal.HttpEndpoint;
+import pl.wavesoftware.gasper.internal.tls.TlsStores;
+
+import javax.net.ssl.HttpsURLConnection;
+import java.net.URL;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class RecordingProxyTest {
+
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDoesNotLeaveNoDelayProperty() throws Exception {
+        // given
+        System.clearProperty(NO_DELAY_PROPERTY);
+        HttpEndpoint target = new HttpEndpoint(HttpEndpoint.DEFAULT_SCHEME, HttpEndpoint.DEFAULT_DOMAIN,
+            8080, "/", HttpEndpoint.DEFAULT_QUERY);
+
+        // when
+        try (RecordingProxy proxy = new RecordingProxy(target, folder.getRoot().toPath().resolve("traffic.bin"), 1, null)) {
+            // then
+            assertThat(proxy.getEndpoint().getPort()).isGreaterThan(0);
+            assertThat(System.getProperty(NO_DELAY_PROPERTY)).isNull();
+        }
+    }
+
+    @Test
+    public void testServesTlsWhenApplicationDoes() throws Exception {
+        // given
+        TlsStores stores = TlsStores.ensure(folder.getRoot().toPath(), null);
+        HttpEndpoint target = new HttpEndpoint(HttpEndpoint.TLS_SCHEME, HttpEndpoint.DEFAULT_DOMAIN,
+            1, "/", HttpEndpoint.DEFAULT_QUERY);
+        target.setSslContext(stores.getSslContext());
+
+        // when
+        Path traffic = folder.getRoot().toPath().resolve("traffic.bin");
+        try (RecordingProxy proxy = new RecordingProxy(target, traffic, 1, stores)) {
+            HttpEndpoint endpoint = proxy.getEndpoint();
+            HttpsURLConnection connection = (HttpsURLConnection) new URL(endpoint.fullAddress()).openConnection();
+            connection.setSSLSocketFactory(endpoint.getSslContext().getSocketFactory());
+
+            // then
+            assertThat(endpoint.getScheme()).isEqualTo(HttpEndpoint.TLS_SCHEME);
+            assertThat(connection.getResponseCode()).isEqualTo(502);
+            connection.disconnect();
+        }
+    }
+}
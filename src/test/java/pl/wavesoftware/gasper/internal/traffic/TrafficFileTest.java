@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 Wave Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pl.wavesoftware.gasper.internal.traffic;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Krzysztof Suszyński
+ * @since 2026-10-19
+ */
+public class TrafficFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAppendAndRead() throws Exception {
+        // given
+        Path file = folder.getRoot().toPath().resolve("traffic.bin");
+        TrafficRecord get = new TrafficRecord(1000L, "GET", "/api/users/42?expand=true",
+            Collections.singletonList(new AbstractMap.SimpleImmutableEntry<>("Accept", "application/json")),
+            new byte[0], 200, 1500L);
+        TrafficRecord post = new TrafficRecord(2500L, "POST", "/api/users", Collections.emptyList(),
+            "{\"name\":\"Ann\"}".getBytes(StandardCharsets.UTF_8), 201, 3100L);
+        try (TrafficFile.Writer writer = TrafficFile.append(file)) {
+            writer.write(get);
+        }
+        try (TrafficFile.Writer writer = TrafficFile.append(file)) {
+            writer.write(post);
+        }
+
+        // when
+        List<TrafficRecord> records = new ArrayList<>();
+        TrafficFile.read(file, records::add);
+
+        // then
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).getTime()).isEqualTo(1000L);
+        assertThat(records.get(0).getUri()).isEqualTo("/api/users/42?expand=true");
+        assertThat(records.get(0).getHeaders().get(0).getValue()).isEqualTo("application/json");
+        assertThat(records.get(0).getDuration()).isEqualTo(1500L);
+        assertThat(records.get(1).getMethod()).isEqualTo("POST");
+        assertThat(new String(records.get(1).getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"Ann\"}");
+        assertThat(records.get(1).getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    public void testEndpoint() {
+        // given
+        TrafficRecord record = new TrafficRecord(0L, "DELETE",
+            "/api/users/42/roles/3f2504e0-4f89-11d3-9a0c-0305e82c3301?force=true",
+            Collections.emptyList(), new byte[0], 204, 0L);
+
+        // when
+        String endpoint = record.getEndpoint();
+
+        // then
+        assertThat(endpoint).isEqualTo("DELETE /api/users/{id}/roles/{id}");
+    }
+}